@@ -2,8 +2,10 @@ package com.jitech.mindsync;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MindSyncApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package com.jitech.mindsync.config;
+
+import com.jitech.mindsync.security.ForwardAuthFilter;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Registers the forward-auth endpoint as a plain servlet filter in front of
+ * Spring Security, so reverse proxies can check a token without going through
+ * the security chain, the guest session filter or the DispatcherServlet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mindsync.forward-auth.enabled", havingValue = "true", matchIfMissing = true)
+public class ForwardAuthConfig {
+
+    public static final String FORWARD_AUTH_PATH = "/auth/verify";
+
+    @Bean
+    public FilterRegistrationBean<ForwardAuthFilter> forwardAuthFilter(JwtProvider jwtProvider,
+            VerifiedTokenCache verifiedTokenCache, TokenRevocationService tokenRevocationService,
+            MeterRegistry meterRegistry,
+            @Value("${mindsync.forward-auth.cache-seconds:5}") long cacheSeconds) {
+        ForwardAuthFilter filter = new ForwardAuthFilter(jwtProvider, verifiedTokenCache, tokenRevocationService,
+                meterRegistry, Duration.ofSeconds(cacheSeconds));
+        FilterRegistrationBean<ForwardAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(FORWARD_AUTH_PATH);
+        // Ahead of Spring Security's DelegatingFilterProxy (order -100)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
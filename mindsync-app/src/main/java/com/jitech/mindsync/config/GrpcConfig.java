@@ -0,0 +1,84 @@
+package com.jitech.mindsync.config;
+
+import com.jitech.mindsync.grpc.GrpcMetricsInterceptor;
+import com.jitech.mindsync.grpc.GrpcServerLifecycle;
+import com.jitech.mindsync.grpc.GrpcServerSecurity;
+import com.jitech.mindsync.grpc.MindSyncAuthGrpcService;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.ProfileService;
+import com.jitech.mindsync.service.TokenRevocationService;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional gRPC server (mindsync.grpc.enabled) for internal services: token
+ * introspection and profile lookups without the HTTP and security filter
+ * stack. Calls run on their own bounded executor so a burst of gRPC traffic
+ * cannot take threads from the HTTP side. The server binds to loopback
+ * unless mindsync.grpc.address says otherwise, and every caller has to
+ * authenticate, see GrpcServerSecurity.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mindsync.grpc.enabled", havingValue = "true")
+public class GrpcConfig {
+
+    @Bean
+    public MindSyncAuthGrpcService mindSyncAuthGrpcService(JwtProvider jwtProvider,
+            VerifiedTokenCache verifiedTokenCache, TokenRevocationService tokenRevocationService,
+            ProfileService profileService,
+            @Value("${mindsync.grpc.max-batch-size:500}") int maxBatchSize) {
+        return new MindSyncAuthGrpcService(jwtProvider, verifiedTokenCache, tokenRevocationService, profileService,
+                maxBatchSize);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor grpcExecutor(MeterRegistry meterRegistry,
+            @Value("${mindsync.grpc.threads:16}") int threads,
+            @Value("${mindsync.grpc.queue-capacity:1000}") int queueCapacity) {
+        Counter rejected = Counter.builder("mindsync.grpc.executor.rejected").register(meterRegistry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("grpc-"),
+                (task, pool) -> {
+                    // The call fails on the client side; clients are expected to back off and retry
+                    rejected.increment();
+                    throw new RejectedExecutionException("gRPC executor saturated");
+                });
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "grpc", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServer(MindSyncAuthGrpcService mindSyncAuthGrpcService,
+            ThreadPoolExecutor grpcExecutor, MeterRegistry meterRegistry, GrpcServerSecurity grpcServerSecurity,
+            @Value("${mindsync.grpc.address:127.0.0.1}") String address,
+            @Value("${mindsync.grpc.port:9090}") int port,
+            @Value("${mindsync.grpc.max-inbound-message-bytes:4194304}") int maxInboundMessageBytes) {
+        return new GrpcServerLifecycle(
+                NettyServerBuilder.forAddress(new InetSocketAddress(address, port), grpcServerSecurity.credentials())
+                        .executor(grpcExecutor)
+                        .maxInboundMessageSize(maxInboundMessageBytes)
+                        // The metrics interceptor runs first, so rejected calls are counted too
+                        .addService(ServerInterceptors.intercept(mindSyncAuthGrpcService,
+                                grpcServerSecurity, new GrpcMetricsInterceptor(meterRegistry)))
+                        .build(),
+                Duration.ofSeconds(10));
+    }
+}
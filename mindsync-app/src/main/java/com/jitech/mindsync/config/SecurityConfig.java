@@ -2,6 +2,7 @@ package com.jitech.mindsync.config;
 
 import com.jitech.mindsync.security.GuestSessionFilter;
 import com.jitech.mindsync.security.JwtAuthenticationFilter;
+import com.jitech.mindsync.security.RouteClassifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -59,21 +60,11 @@ public class SecurityConfig {
                                                 .requestMatchers(request -> "OPTIONS".equals(request.getMethod()))
                                                 .permitAll() // Allow CORS preflight
                                                 // Allow auth endpoints
-                                                .requestMatchers("/register", "/login", "/logout").permitAll()
-                                                .requestMatchers(
-                                                                "/profile/request-otp",
-                                                                "/profile/request-signup-otp",
-                                                                "/profile/verify-otp",
-                                                                "/profile/reset-password")
-                                                .permitAll() // Public OTP endpoints
-                                                .requestMatchers("/test-email").permitAll() // test email endpoint
-                                                .requestMatchers("/test-otp").permitAll() // test otp endpoint
-                                                .requestMatchers("/test-verify-otp").permitAll() // test verify otp
-                                                                                                 // endpoint
-                                                .requestMatchers("/h2-console/**").permitAll()
-                                                .requestMatchers("/actuator/**").permitAll() // Izinkan akses ke
-                                                                                             // actuator untuk
-                                                                                             // monitoring
+                                                .requestMatchers(RouteClassifier.AUTH_FLOW_PATHS).permitAll()
+                                                // Public OTP, test email/OTP and JWKS endpoints
+                                                .requestMatchers(RouteClassifier.STATELESS_PUBLIC_PATHS).permitAll()
+                                                // Izinkan akses ke actuator untuk monitoring (and the H2 console)
+                                                .requestMatchers(RouteClassifier.MONITORING_PATTERNS).permitAll()
                                                 .anyRequest().authenticated());
 
                 http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
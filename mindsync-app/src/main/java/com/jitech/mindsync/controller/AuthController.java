@@ -0,0 +1,280 @@
+package com.jitech.mindsync.controller;
+
+import com.jitech.mindsync.dto.RegisterRequest;
+import com.jitech.mindsync.model.Users;
+import com.jitech.mindsync.service.AuthService;
+import com.jitech.mindsync.service.GuestIdService;
+import com.jitech.mindsync.service.ProfileService;
+import com.jitech.mindsync.service.RefreshTokenService;
+import com.jitech.mindsync.service.RefreshTokenService.ConcurrentRotationException;
+import com.jitech.mindsync.service.RefreshTokenService.IssuedRefreshToken;
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.dto.LoginRequest;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.ProfileClaims;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import com.jitech.mindsync.util.CookieUtils;
+import com.jitech.mindsync.util.RequestCookies;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/")
+public class AuthController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+    private static final String GUEST_ID_COOKIE_NAME = CookieUtils.GUEST_ID_COOKIE_NAME;
+    private static final String REFRESH_TOKEN_COOKIE_NAME = CookieUtils.REFRESH_TOKEN_COOKIE_NAME;
+    // Refresh cookie is only sent to the refresh and logout endpoints, never on regular API calls;
+    // one cookie per path, since a cookie has a single path
+    private static final String[] REFRESH_TOKEN_COOKIE_PATHS = { "/token/refresh", "/logout" };
+
+    private final AuthService authService;
+    private final JwtProvider jwtProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ProfileService profileService;
+    private final GuestIdService guestIdService;
+
+    @Autowired
+    public AuthController(AuthService authService, JwtProvider jwtProvider,
+            RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+            ProfileService profileService, GuestIdService guestIdService) {
+        this.authService = authService;
+        this.jwtProvider = jwtProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.profileService = profileService;
+        this.guestIdService = guestIdService;
+    }
+
+    @PostMapping("/register")
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+        logger.info("POST /register - Registration request received for email: {}", request.getEmail());
+        try {
+            // Extract guest_id from cookies if present
+            String guestId = RequestCookies.of(httpRequest).guestId();
+
+            // Only a genuine guest_id is handed over; the event is stored with the user
+            // and sent to Valkey by HandoverOutboxRelay
+            if (guestId != null) {
+                GuestIdService.Verification guestIdCheck = guestIdService.verify(guestId);
+                if (!guestIdCheck.isAccepted()) {
+                    logger.warn("Skipping handover for rejected guest_id ({}) for email: {}",
+                            guestIdCheck, request.getEmail());
+                    guestId = null;
+                }
+            }
+
+            Users user = authService.registerUser(request, guestId);
+            if (guestId != null) {
+                logger.info("Handover event recorded for guest_id={} to user_id={}", guestId, user.getUserId());
+            }
+
+            // Generate JWT token + refresh token for the new user
+            issueSession(user, httpResponse);
+            logger.debug("JWT cookie set for newly registered userId: {}", user.getUserId());
+
+            // Clear guest_id cookie after handover and JWT set
+            clearGuestIdCookie(httpResponse);
+            logger.debug("Guest ID cookie cleared for registered user: {}", user.getEmail());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Registration successful");
+
+            Map<String, Object> userData = new HashMap<>();
+            userData.put("email", user.getEmail());
+            userData.put("name", user.getName());
+
+            response.put("data", userData);
+            logger.info("POST /register - Registration successful for userId: {}, email: {}",
+                    user.getUserId(), user.getEmail());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("POST /register - Registration failed for email: {}. Reason: {}",
+                    request.getEmail(), e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletResponse httpResponse) {
+        logger.info("POST /login - Login request received for email: {}", loginRequest.getEmail());
+        Users user = authService.login(loginRequest.getEmail(), loginRequest.getPassword());
+
+        if (user != null) {
+            // Set short-lived JWT + refresh token as httponly cookies
+            issueSession(user, httpResponse);
+            logger.debug("JWT cookie set for userId: {}", user.getUserId());
+
+            // Clear guest_id cookie upon successful login
+            clearGuestIdCookie(httpResponse);
+            logger.debug("Guest ID cookie cleared for logged in user: {}", user.getEmail());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Login successful");
+
+            Map<String, Object> userData = new HashMap<>();
+            userData.put("userId", user.getUserId());
+            userData.put("email", user.getEmail());
+            userData.put("name", user.getName());
+
+            userData.put("dob", user.getDob());
+            userData.put("gender", user.getGender() != null ? user.getGender().getGenderName() : null);
+            userData.put("occupation", user.getOccupation() != null ? user.getOccupation().getOccupationName() : null);
+
+            response.put("user", userData);
+
+            logger.info("POST /login - Login successful for userId: {}, email: {}",
+                    user.getUserId(), user.getEmail());
+            return ResponseEntity.ok(response);
+        } else {
+            logger.warn("POST /login - Login failed for email: {} - Invalid credentials", loginRequest.getEmail());
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "message", "Invalid email or password"));
+        }
+    }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        logger.info("POST /token/refresh - Refresh request received");
+        try {
+            IssuedRefreshToken rotated = refreshTokenService.rotate(
+                    RequestCookies.of(httpRequest).refreshToken());
+            // Profile claims are reloaded so profile updates reach the next access token
+            ProfileClaims profile = jwtProvider.isProfileClaimsEnabled()
+                    ? profileService.getProfileClaims(rotated.userId())
+                    : null;
+            setJwtCookie(httpResponse, jwtProvider.generateToken(rotated.userId().toString(),
+                    rotated.familyId().toString(), profile));
+            setRefreshTokenCookie(httpResponse, rotated.token(), refreshTokenService.getExpirationSeconds());
+
+            logger.info("POST /token/refresh - Tokens refreshed for userId: {}", rotated.userId());
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "Token refreshed"));
+        } catch (ConcurrentRotationException e) {
+            // The concurrent request that won sets the new cookies; clearing them here could undo that
+            logger.info("POST /token/refresh - Lost a race with a concurrent refresh");
+            return ResponseEntity.status(409).body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("POST /token/refresh - Refresh failed. Reason: {}", e.getMessage());
+            setRefreshTokenCookie(httpResponse, null, 0);
+            return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        logger.info("POST /logout - Logout request received");
+        // Revoke the access token and end the refresh token family it belongs to. The
+        // refresh cookie ends its family too, also when the access token has expired
+        RequestCookies cookies = RequestCookies.of(httpRequest);
+        revokeSession(cookies.jwt());
+        refreshTokenService.revokeFamilyOf(cookies.refreshToken());
+        setRefreshTokenCookie(httpResponse, null, 0);
+
+        // Clear the JWT cookie
+        Cookie jwtCookie = new Cookie("jwt", null);
+        jwtCookie.setHttpOnly(true);
+        jwtCookie.setSecure(true); // HTTPS only
+        jwtCookie.setPath("/");
+        jwtCookie.setMaxAge(0); // Expire immediately
+        jwtCookie.setAttribute("SameSite", "Strict");
+        httpResponse.addCookie(jwtCookie);
+
+        // Generate and set a new guest_id cookie immediately upon logout
+        String newGuestId = guestIdService.issue();
+        CookieUtils.setGuestIdCookie(httpResponse, newGuestId);
+        logger.info("POST /logout - Logout successful, JWT cookie cleared, new guest_id set: {}", newGuestId);
+
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Logout successful"));
+    }
+
+    /**
+     * Start a new session: a refresh token family plus a short-lived access
+     * token linked to it, both set as httponly cookies.
+     */
+    private void issueSession(Users user, HttpServletResponse httpResponse) {
+        IssuedRefreshToken refreshToken = refreshTokenService.issue(user.getUserId());
+        ProfileClaims profile = jwtProvider.isProfileClaimsEnabled() ? ProfileClaims.of(user) : null;
+        setJwtCookie(httpResponse, jwtProvider.generateToken(user.getUserId().toString(),
+                refreshToken.familyId().toString(), profile));
+        setRefreshTokenCookie(httpResponse, refreshToken.token(), refreshTokenService.getExpirationSeconds());
+    }
+
+    private void revokeSession(String accessToken) {
+        if (accessToken == null) {
+            return;
+        }
+        VerifiedToken verified = jwtProvider.verify(accessToken);
+        if (verified == null || !verified.isValid()) {
+            return;
+        }
+        tokenRevocationService.revokeToken(verified.getTokenId(), verified.getExpiresAt());
+        if (verified.getSessionId() != null) {
+            refreshTokenService.revokeFamily(UUID.fromString(verified.getSessionId()));
+        }
+    }
+
+    private void setJwtCookie(HttpServletResponse httpResponse, String token) {
+        Cookie jwtCookie = new Cookie("jwt", token);
+        jwtCookie.setHttpOnly(true);
+        jwtCookie.setSecure(true); // HTTPS only
+        jwtCookie.setPath("/");
+        jwtCookie.setMaxAge(jwtProvider.getExpirationSeconds()); // Same lifetime as the access token
+        jwtCookie.setAttribute("SameSite", "Strict"); // CSRF protection
+        httpResponse.addCookie(jwtCookie);
+    }
+
+    private void setRefreshTokenCookie(HttpServletResponse httpResponse, String token, int maxAge) {
+        for (String path : REFRESH_TOKEN_COOKIE_PATHS) {
+            Cookie refreshCookie = new Cookie(REFRESH_TOKEN_COOKIE_NAME, token);
+            refreshCookie.setHttpOnly(true);
+            refreshCookie.setSecure(true);
+            refreshCookie.setPath(path);
+            refreshCookie.setMaxAge(maxAge); // 0 clears the cookie
+            refreshCookie.setAttribute("SameSite", "Strict");
+            httpResponse.addCookie(refreshCookie);
+        }
+    }
+
+    /**
+     * Helper method to clear the guest_id cookie.
+     * Called on successful login and registration.
+     */
+    private void clearGuestIdCookie(HttpServletResponse httpResponse) {
+        Cookie guestIdCookie = new Cookie(GUEST_ID_COOKIE_NAME, null);
+        guestIdCookie.setHttpOnly(true);
+        guestIdCookie.setSecure(true);
+        guestIdCookie.setPath("/");
+        guestIdCookie.setMaxAge(0); // Expire immediately
+        guestIdCookie.setAttribute("SameSite", "Strict");
+        httpResponse.addCookie(guestIdCookie);
+    }
+
+}
\ No newline at end of file
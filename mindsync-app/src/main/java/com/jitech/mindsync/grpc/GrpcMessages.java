@@ -0,0 +1,105 @@
+package com.jitech.mindsync.grpc;
+
+import com.jitech.mindsync.dto.ProfileResponse;
+import com.jitech.mindsync.grpc.proto.FailureReason;
+import com.jitech.mindsync.grpc.proto.IntrospectResponse;
+import com.jitech.mindsync.grpc.proto.Profile;
+import com.jitech.mindsync.verifier.VerifiedToken;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Conversions between the service's types and the gRPC messages.
+ */
+final class GrpcMessages {
+
+    private GrpcMessages() {
+    }
+
+    static IntrospectResponse active(VerifiedToken verified) {
+        IntrospectResponse.Builder response = IntrospectResponse.newBuilder()
+                .setActive(true)
+                .setUserId(verified.getSubject());
+        if (verified.getSessionId() != null) {
+            response.setSessionId(verified.getSessionId());
+        }
+        if (verified.getTokenId() != null) {
+            response.setTokenId(verified.getTokenId());
+        }
+        if (verified.getIssuedAt() != null) {
+            response.setIssuedAt(verified.getIssuedAt().getEpochSecond());
+        }
+        if (verified.getExpiresAt() != null) {
+            response.setExpiresAt(verified.getExpiresAt().getEpochSecond());
+        }
+        return response.build();
+    }
+
+    static IntrospectResponse inactive(FailureReason reason) {
+        return IntrospectResponse.newBuilder()
+                .setActive(false)
+                .setFailureReason(reason)
+                .build();
+    }
+
+    static FailureReason toProto(VerifiedToken.FailureReason reason) {
+        return switch (reason) {
+            case NONE -> FailureReason.FAILURE_REASON_NONE;
+            case EXPIRED -> FailureReason.FAILURE_REASON_EXPIRED;
+            case MALFORMED -> FailureReason.FAILURE_REASON_MALFORMED;
+            case UNSUPPORTED -> FailureReason.FAILURE_REASON_UNSUPPORTED;
+            case INVALID_SIGNATURE -> FailureReason.FAILURE_REASON_INVALID_SIGNATURE;
+            case ILLEGAL_ARGUMENT -> FailureReason.FAILURE_REASON_ILLEGAL_ARGUMENT;
+            case INVALID -> FailureReason.FAILURE_REASON_INVALID;
+        };
+    }
+
+    static Profile toProto(ProfileResponse profile) {
+        Profile.Builder builder = Profile.newBuilder().setUserId(profile.getUserId().toString());
+        if (profile.getEmail() != null) {
+            builder.setEmail(profile.getEmail());
+        }
+        if (profile.getName() != null) {
+            builder.setName(profile.getName());
+        }
+        if (profile.getDob() != null) {
+            builder.setDob(profile.getDob().toString());
+        }
+        if (profile.getGender() != null) {
+            builder.setGender(profile.getGender());
+        }
+        if (profile.getOccupation() != null) {
+            builder.setOccupation(profile.getOccupation());
+        }
+        if (profile.getWorkRmt() != null) {
+            builder.setWorkRmt(profile.getWorkRmt());
+        }
+        return builder.build();
+    }
+
+    static UUID parseUserId(String raw) {
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The distinct well-formed user ids of a request, in request order.
+     */
+    static List<UUID> distinctUserIds(List<String> rawIds) {
+        Set<UUID> distinct = new LinkedHashSet<>();
+        for (String raw : rawIds) {
+            UUID userId = parseUserId(raw);
+            if (userId != null) {
+                distinct.add(userId);
+            }
+        }
+        return new ArrayList<>(distinct);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jitech.mindsync.grpc;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the duration of every gRPC call as mindsync.grpc.server.calls,
+ * tagged with the method and the final status code.
+ */
+public class GrpcMetricsInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String method = call.getMethodDescriptor().getBareMethodName();
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                sample.stop(Timer.builder("mindsync.grpc.server.calls")
+                        .tag("method", method)
+                        .tag("status", status.getCode().name())
+                        .register(meterRegistry));
+                super.close(status, trailers);
+            }
+        }, headers);
+    }
+}
@@ -0,0 +1,105 @@
+package com.jitech.mindsync.grpc;
+
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.TlsServerCredentials;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * How the gRPC server authenticates its callers. With a client CA
+ * (mindsync.grpc.tls.client-ca) callers need a certificate signed by it
+ * (mutual TLS); with a shared secret (mindsync.grpc.auth-token) every call
+ * must carry "authorization: Bearer &lt;secret&gt;", compared in constant
+ * time, or it is closed with UNAUTHENTICATED. Either or both can be set;
+ * with neither the server refuses to start.
+ */
+@Component
+@ConditionalOnProperty(name = "mindsync.grpc.enabled", havingValue = "true")
+public class GrpcServerSecurity implements ServerInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // null when callers are only authenticated by their TLS certificate
+    private final byte[] expectedAuthorization;
+    private final String certChain;
+    private final String privateKey;
+    private final String clientCa;
+
+    @Autowired
+    public GrpcServerSecurity(@Value("${mindsync.grpc.auth-token:}") String authToken,
+            @Value("${mindsync.grpc.tls.cert-chain:}") String certChain,
+            @Value("${mindsync.grpc.tls.private-key:}") String privateKey,
+            @Value("${mindsync.grpc.tls.client-ca:}") String clientCa) {
+        if (isBlank(authToken) && isBlank(clientCa)) {
+            throw new IllegalArgumentException(
+                    "gRPC needs mindsync.grpc.auth-token or mutual TLS (mindsync.grpc.tls.client-ca)");
+        }
+        if (isBlank(certChain) != isBlank(privateKey)) {
+            throw new IllegalArgumentException(
+                    "gRPC TLS needs both mindsync.grpc.tls.cert-chain and mindsync.grpc.tls.private-key");
+        }
+        if (!isBlank(clientCa) && isBlank(certChain)) {
+            throw new IllegalArgumentException("gRPC mutual TLS needs a server certificate (mindsync.grpc.tls.*)");
+        }
+        this.expectedAuthorization = isBlank(authToken) ? null
+                : (BEARER_PREFIX + authToken).getBytes(StandardCharsets.UTF_8);
+        this.certChain = certChain;
+        this.privateKey = privateKey;
+        this.clientCa = clientCa;
+    }
+
+    /**
+     * Plaintext without a certificate, TLS with one, and TLS requiring a
+     * client certificate when a client CA is set.
+     */
+    public ServerCredentials credentials() {
+        if (isBlank(certChain)) {
+            return InsecureServerCredentials.create();
+        }
+        try {
+            TlsServerCredentials.Builder builder = TlsServerCredentials.newBuilder()
+                    .keyManager(new File(certChain), new File(privateKey));
+            if (!isBlank(clientCa)) {
+                builder.trustManager(new File(clientCa))
+                        .clientAuth(TlsServerCredentials.ClientAuth.REQUIRE);
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the gRPC TLS files", e);
+        }
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (expectedAuthorization != null) {
+            String authorization = headers.get(AUTHORIZATION);
+            if (authorization == null || !MessageDigest.isEqual(expectedAuthorization,
+                    authorization.getBytes(StandardCharsets.UTF_8))) {
+                call.close(Status.UNAUTHENTICATED.withDescription("Missing or invalid credentials"), new Metadata());
+                return new ServerCall.Listener<>() {
+                };
+            }
+        }
+        return next.startCall(call, headers);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
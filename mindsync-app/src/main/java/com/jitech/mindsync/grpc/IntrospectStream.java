@@ -0,0 +1,57 @@
+package com.jitech.mindsync.grpc;
+
+import com.jitech.mindsync.grpc.proto.IntrospectRequest;
+import com.jitech.mindsync.grpc.proto.IntrospectResponse;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The requests of one IntrospectStream call. Manual flow control: the next
+ * request is only read once the client can take another response, so a slow
+ * reader cannot pile up responses in memory.
+ */
+final class IntrospectStream implements StreamObserver<IntrospectRequest> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntrospectStream.class);
+
+    private final ServerCallStreamObserver<IntrospectResponse> observer;
+    private final Function<String, IntrospectResponse> introspector;
+    private final AtomicBoolean wasReady = new AtomicBoolean(false);
+
+    IntrospectStream(StreamObserver<IntrospectResponse> responseObserver,
+            Function<String, IntrospectResponse> introspector) {
+        this.observer = (ServerCallStreamObserver<IntrospectResponse>) responseObserver;
+        this.introspector = introspector;
+        observer.disableAutoRequest();
+        observer.setOnReadyHandler(() -> {
+            if (observer.isReady() && wasReady.compareAndSet(false, true)) {
+                observer.request(1);
+            }
+        });
+    }
+
+    @Override
+    public void onNext(IntrospectRequest request) {
+        observer.onNext(introspector.apply(request.getToken()));
+        if (observer.isReady()) {
+            observer.request(1);
+        } else {
+            wasReady.set(false);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        logger.debug("Introspect stream ended by client: {}", t.getMessage());
+    }
+
+    @Override
+    public void onCompleted() {
+        observer.onCompleted();
+    }
+}
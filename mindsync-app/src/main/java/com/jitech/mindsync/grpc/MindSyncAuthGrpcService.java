@@ -0,0 +1,123 @@
+package com.jitech.mindsync.grpc;
+
+import com.jitech.mindsync.dto.ProfileResponse;
+import com.jitech.mindsync.grpc.proto.FailureReason;
+import com.jitech.mindsync.grpc.proto.GetProfilesRequest;
+import com.jitech.mindsync.grpc.proto.GetProfilesResponse;
+import com.jitech.mindsync.grpc.proto.IntrospectRequest;
+import com.jitech.mindsync.grpc.proto.IntrospectResponse;
+import com.jitech.mindsync.grpc.proto.MindSyncAuthGrpc;
+import com.jitech.mindsync.grpc.proto.Profile;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.ProfileService;
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * gRPC side of the auth service for internal callers: token introspection
+ * and batched profile lookups, built on the same JwtProvider, verified-token
+ * cache, revocation check and ProfileService as the HTTP endpoints.
+ */
+public class MindSyncAuthGrpcService extends MindSyncAuthGrpc.MindSyncAuthImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(MindSyncAuthGrpcService.class);
+
+    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final ProfileService profileService;
+    private final int maxBatchSize;
+
+    public MindSyncAuthGrpcService(JwtProvider jwtProvider, VerifiedTokenCache verifiedTokenCache,
+            TokenRevocationService tokenRevocationService, ProfileService profileService, int maxBatchSize) {
+        this.jwtProvider = jwtProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.profileService = profileService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void introspect(IntrospectRequest request, StreamObserver<IntrospectResponse> responseObserver) {
+        responseObserver.onNext(introspect(request.getToken()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<IntrospectRequest> introspectStream(StreamObserver<IntrospectResponse> responseObserver) {
+        return new IntrospectStream(responseObserver, this::introspect);
+    }
+
+    @Override
+    public void getProfiles(GetProfilesRequest request, StreamObserver<GetProfilesResponse> responseObserver) {
+        if (request.getUserIdsCount() > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("At most " + maxBatchSize + " user ids per request")
+                    .asRuntimeException());
+            return;
+        }
+        // Distinct well-formed ids in request order, mapped to the string the caller sent
+        Map<UUID, String> userIds = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String raw : request.getUserIdsList()) {
+            UUID userId = GrpcMessages.parseUserId(raw);
+            if (userId == null) {
+                missing.add(raw);
+            } else {
+                userIds.putIfAbsent(userId, raw);
+            }
+        }
+
+        GetProfilesResponse.Builder response = GetProfilesResponse.newBuilder();
+        try {
+            for (ProfileResponse profile : profileService.getProfiles(List.copyOf(userIds.keySet()))) {
+                response.addProfiles(GrpcMessages.toProto(profile));
+                userIds.remove(profile.getUserId());
+            }
+            // Whatever is left was not found
+            missing.addAll(userIds.values());
+        } catch (RuntimeException e) {
+            logger.error("gRPC profile lookup failed for {} user ids", userIds.size(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Profile lookup failed").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response.addAllMissingUserIds(missing).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void streamProfiles(GetProfilesRequest request, StreamObserver<Profile> responseObserver) {
+        ProfileStream.start(responseObserver, profileService, GrpcMessages.distinctUserIds(request.getUserIdsList()),
+                maxBatchSize);
+    }
+
+    IntrospectResponse introspect(String token) {
+        if (token.isEmpty()) {
+            return GrpcMessages.inactive(FailureReason.FAILURE_REASON_ILLEGAL_ARGUMENT);
+        }
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null) {
+            verified = jwtProvider.verify(token);
+            verifiedTokenCache.put(token, verified);
+        }
+        if (!verified.isValid()) {
+            return GrpcMessages.inactive(GrpcMessages.toProto(verified.getFailureReason()));
+        }
+        if (tokenRevocationService.isRevoked(verified)) {
+            return GrpcMessages.inactive(FailureReason.FAILURE_REASON_REVOKED);
+        }
+
+        return GrpcMessages.active(verified);
+    }
+}
@@ -0,0 +1,81 @@
+package com.jitech.mindsync.grpc;
+
+import com.jitech.mindsync.dto.ProfileResponse;
+import com.jitech.mindsync.grpc.proto.Profile;
+import com.jitech.mindsync.service.ProfileService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The profiles of one StreamProfiles call, sent only while the client can
+ * take more. The next batch is loaded (one query) once the previous one
+ * went out, so a slow reader holds at most one batch in memory instead of
+ * every profile it has not read yet. gRPC runs onReady handlers one at a
+ * time, so the state needs no locking.
+ */
+final class ProfileStream implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileStream.class);
+
+    private final ServerCallStreamObserver<Profile> observer;
+    private final ProfileService profileService;
+    private final List<UUID> userIds;
+    private final int batchSize;
+    private Iterator<ProfileResponse> batch = Collections.emptyIterator();
+    private int loaded;
+    private boolean done;
+
+    private ProfileStream(ServerCallStreamObserver<Profile> observer, ProfileService profileService, List<UUID> userIds,
+            int batchSize) {
+        this.observer = observer;
+        this.profileService = profileService;
+        this.userIds = userIds;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Send the profiles of these users on a StreamProfiles call as the client
+     * reads them.
+     */
+    static void start(StreamObserver<Profile> responseObserver, ProfileService profileService, List<UUID> userIds,
+            int batchSize) {
+        ServerCallStreamObserver<Profile> observer = (ServerCallStreamObserver<Profile>) responseObserver;
+        // Sends on onReady; gRPC also runs it once the service method returns if the call is ready
+        observer.setOnReadyHandler(new ProfileStream(observer, profileService, userIds, batchSize));
+    }
+
+    @Override
+    public void run() {
+        // isReady() is false once the call is cancelled, which ends the loop too
+        while (!done && observer.isReady()) {
+            if (batch.hasNext()) {
+                observer.onNext(GrpcMessages.toProto(batch.next()));
+            } else if (loaded < userIds.size()) {
+                loadNextBatch();
+            } else {
+                done = true;
+                observer.onCompleted();
+            }
+        }
+    }
+
+    private void loadNextBatch() {
+        List<UUID> ids = userIds.subList(loaded, Math.min(loaded + batchSize, userIds.size()));
+        try {
+            batch = profileService.getProfiles(ids).iterator();
+            loaded += ids.size();
+        } catch (RuntimeException e) {
+            logger.error("gRPC profile stream failed for {} user ids", userIds.size(), e);
+            done = true;
+            observer.onError(Status.INTERNAL.withDescription("Profile lookup failed").asRuntimeException());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.jitech.mindsync.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback turbo filter that samples repetitive per-request log lines.
+ * <p>
+ * Events from the configured logger prefixes are grouped by logger and
+ * message pattern (the "{}" template, not the formatted text). Each group
+ * lets maxPerWindow events through per window and drops the rest before a
+ * logging event is even built. WARN and ERROR are never sampled. Dropped
+ * lines are counted per logger as mindsync.logging.suppressed once
+ * LoggingMetrics has bound the filter to the meter registry.
+ * <p>
+ * Configured from logback-spring.xml, so it is created before the Spring
+ * context and must not depend on any bean.
+ */
+public class HotPathSamplingFilter extends TurboFilter implements MeterBinder {
+
+    // Hard cap on tracked patterns; anything beyond it is logged unsampled
+    static final int MAX_TRACKED_EVENTS = 1000;
+
+    private String[] loggerPrefixes = new String[0];
+    private int maxPerWindow = 20;
+    private long windowNanos = 1_000_000_000L;
+    private boolean enabled = true;
+
+    private final Map<EventKey, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> suppressedByLogger = new ConcurrentHashMap<>();
+    private final AtomicReference<MeterRegistry> meterRegistry = new AtomicReference<>();
+
+    /**
+     * Comma-separated logger name prefixes to sample, e.g.
+     * "com.jitech.mindsync.security.JwtAuthenticationFilter".
+     */
+    public void setLoggerPrefixes(String loggerPrefixes) {
+        this.loggerPrefixes = Arrays.stream(loggerPrefixes.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setMaxPerWindow(int maxPerWindow) {
+        this.maxPerWindow = Math.max(0, maxPerWindow);
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowNanos = Math.max(1, windowMillis) * 1_000_000L;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // format is null for isXxxEnabled() checks; below-threshold events are denied by logback anyway
+        if (!enabled || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windowFor(logger.getName(), format);
+        if (window == null || window.tryAcquire(System.nanoTime(), windowNanos, maxPerWindow)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressedCounter(logger.getName()).increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Lines dropped so far for a logger.
+     */
+    long suppressed(String loggerName) {
+        LongAdder adder = suppressedByLogger.get(loggerName);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry.set(registry);
+        suppressedByLogger.forEach((loggerName, adder) -> register(registry, loggerName, adder));
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Window windowFor(String loggerName, String format) {
+        EventKey key = new EventKey(loggerName, format);
+        Window window = windows.get(key);
+        if (window != null || windows.size() >= MAX_TRACKED_EVENTS) {
+            return window;
+        }
+        return windows.computeIfAbsent(key, k -> new Window(System.nanoTime()));
+    }
+
+    private LongAdder suppressedCounter(String loggerName) {
+        LongAdder adder = suppressedByLogger.get(loggerName);
+        if (adder != null) {
+            return adder;
+        }
+        return suppressedByLogger.computeIfAbsent(loggerName, name -> {
+            LongAdder created = new LongAdder();
+            MeterRegistry registry = meterRegistry.get();
+            if (registry != null) {
+                register(registry, name, created);
+            }
+            return created;
+        });
+    }
+
+    private static void register(MeterRegistry registry, String loggerName, LongAdder adder) {
+        FunctionCounter.builder("mindsync.logging.suppressed", adder, LongAdder::sum)
+                .description("Log lines dropped by hot-path sampling")
+                .tag("logger", loggerName)
+                .register(registry);
+    }
+
+    private record EventKey(String loggerName, String format) {
+    }
+
+    /**
+     * Fixed window counter. Resets are racy by design: a few extra lines
+     * around a window boundary are cheaper than a lock on every log call.
+     */
+    private static final class Window {
+
+        private final AtomicLong start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long now) {
+            this.start = new AtomicLong(now);
+        }
+
+        boolean tryAcquire(long now, long windowNanos, int limit) {
+            long windowStart = start.get();
+            if (now - windowStart >= windowNanos && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jitech.mindsync.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback AsyncAppender that counts the events it drops.
+ * <p>
+ * Drop policy is the stock one: once fewer than discardingThreshold slots
+ * are free, TRACE/DEBUG/INFO events are discarded and WARN/ERROR still
+ * queue; with neverBlock a full queue drops any event instead of stalling
+ * the request thread. Both cases are counted as
+ * mindsync.logging.async.dropped{appender}; the full-queue count is
+ * approximate because the queue can drain between the check and the offer.
+ */
+public class MeteredAsyncAppender extends AsyncAppender implements MeterBinder {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only called while the queue is below the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            overflowed.increment();
+        }
+        super.preprocess(event);
+    }
+
+    long discarded() {
+        return discarded.sum();
+    }
+
+    long overflowed() {
+        return overflowed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mindsync.logging.async.dropped", discarded, LongAdder::sum)
+                .description("Log events dropped by the async appender")
+                .tag("appender", getName())
+                .tag("cause", "threshold")
+                .register(registry);
+        FunctionCounter.builder("mindsync.logging.async.dropped", overflowed, LongAdder::sum)
+                .description("Log events dropped by the async appender")
+                .tag("appender", getName())
+                .tag("cause", "queue_full")
+                .register(registry);
+        Gauge.builder("mindsync.logging.async.queued", this, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting to be written")
+                .tag("appender", getName())
+                .register(registry);
+    }
+}
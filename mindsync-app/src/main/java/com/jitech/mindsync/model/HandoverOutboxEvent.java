@@ -0,0 +1,80 @@
+package com.jitech.mindsync.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "handover_outbox")
+public class HandoverOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "guest_id", nullable = false)
+    private String guestId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Failed sends so far; the row stays until one succeeds
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    public HandoverOutboxEvent() {
+    }
+
+    public HandoverOutboxEvent(String guestId, UUID userId, LocalDateTime createdAt) {
+        this.guestId = guestId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.attempts = 0;
+    }
+
+    // Getters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getGuestId() {
+        return guestId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    // Setters
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public void setGuestId(String guestId) {
+        this.guestId = guestId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jitech.mindsync.model;
+
+import com.jitech.mindsync.util.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Hibernate UUID algorithm for time-ordered (version 7) primary keys.
+ * Used via {@code @UuidGenerator(algorithm = UuidV7IdGenerator.class)}.
+ */
+public class UuidV7IdGenerator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.generate();
+    }
+}
@@ -0,0 +1,37 @@
+package com.jitech.mindsync.repository;
+
+import com.jitech.mindsync.model.HandoverOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HandoverOutboxRepository extends JpaRepository<HandoverOutboxEvent, Long> {
+
+    // Oldest unclaimed rows that have not used up their attempts; lock timeout -2 is Hibernate's
+    // SKIP_LOCKED, so PostgreSQL runs "FOR UPDATE SKIP LOCKED" and concurrent relays never get the same row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM HandoverOutboxEvent e WHERE e.attempts < :maxAttempts ORDER BY e.eventId")
+    List<HandoverOutboxEvent> claimBatch(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE HandoverOutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.eventId IN :eventIds")
+    int incrementAttempts(@Param("eventIds") Collection<Long> eventIds);
+
+    long countByAttemptsGreaterThanEqual(int attempts);
+
+    @Query("SELECT MIN(e.createdAt) FROM HandoverOutboxEvent e WHERE e.attempts < :maxAttempts")
+    LocalDateTime findOldestCreatedAt(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,27 @@
+package com.jitech.mindsync.repository;
+
+import com.jitech.mindsync.model.Users;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserRepository extends JpaRepository<Users, UUID> {
+    Optional<Users> findByEmail(String email);
+    Optional<Users> findByUsername(String username);
+
+    // Loads the lookup tables in the same query instead of three lazy loads
+    @Query("SELECT u FROM Users u LEFT JOIN FETCH u.gender LEFT JOIN FETCH u.occupation "
+            + "LEFT JOIN FETCH u.workRmt WHERE u.userId = :userId")
+    Optional<Users> findWithProfileById(@Param("userId") UUID userId);
+
+    // Batch variant for the gRPC profile lookup: one query for the whole batch
+    @Query("SELECT u FROM Users u LEFT JOIN FETCH u.gender LEFT JOIN FETCH u.occupation "
+            + "LEFT JOIN FETCH u.workRmt WHERE u.userId IN :userIds")
+    List<Users> findAllWithProfileByIdIn(@Param("userIds") Collection<UUID> userIds);
+}
\ No newline at end of file
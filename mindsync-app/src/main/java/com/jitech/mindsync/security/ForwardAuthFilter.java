@@ -0,0 +1,122 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.util.RequestCookies;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Forward-auth check for reverse proxies (nginx auth_request, Traefik
+ * ForwardAuth, ...): answers 200 with X-User-Id for a valid access token and
+ * 401 otherwise.
+ * <p>
+ * Registered ahead of the Spring Security chain for /auth/verify only (see
+ * ForwardAuthConfig) and never calls the rest of the chain, so the guest
+ * session filter and the MVC stack don't run. Successful responses carry a
+ * short max-age the proxy can micro-cache; it is capped at the token's
+ * remaining lifetime and is also how long a revocation may take to reach the
+ * proxy.
+ */
+public class ForwardAuthFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForwardAuthFilter.class);
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String SESSION_ID_HEADER = "X-Session-Id";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    // The answer depends on these request headers; keeps shared caches from mixing up users
+    private static final String VARY = "Cookie, Authorization";
+
+    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final long cacheSeconds;
+
+    private final Counter allowed;
+    private final Counter denied;
+
+    public ForwardAuthFilter(JwtProvider jwtProvider, VerifiedTokenCache verifiedTokenCache,
+            TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry, Duration cacheTtl) {
+        this.jwtProvider = jwtProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.cacheSeconds = Math.max(0, cacheTtl.toSeconds());
+        this.allowed = Counter.builder("mindsync.forward_auth.requests")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.denied = Counter.builder("mindsync.forward_auth.requests")
+                .tag("result", "denied")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        VerifiedToken verified = verify(resolveToken(request));
+        response.setHeader("Vary", VARY);
+
+        if (verified == null || !verified.isValid()) {
+            denied.increment();
+            logger.debug("Forward auth denied: {}", verified == null ? "no token" : verified.getFailureReason());
+            response.setHeader("Cache-Control", "no-store");
+            response.setHeader("WWW-Authenticate", "Bearer");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        allowed.increment();
+        response.setHeader(USER_ID_HEADER, verified.getSubject());
+        if (verified.getSessionId() != null) {
+            response.setHeader(SESSION_ID_HEADER, verified.getSessionId());
+        }
+        response.setHeader("Cache-Control", cacheControl(verified.getExpiresAt()));
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    private VerifiedToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null) {
+            verified = jwtProvider.verify(token);
+            verifiedTokenCache.put(token, verified);
+        }
+        if (verified.isValid() && tokenRevocationService.isRevoked(verified)) {
+            return null;
+        }
+        return verified;
+    }
+
+    private String cacheControl(Instant expiresAt) {
+        long remaining = expiresAt != null ? Duration.between(Instant.now(), expiresAt).getSeconds() : 0;
+        long maxAge = Math.min(cacheSeconds, Math.max(0, remaining));
+        return maxAge > 0 ? "max-age=" + maxAge : "no-store";
+    }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String cookie = RequestCookies.of(request).jwt();
+        if (cookie != null) {
+            return cookie;
+        }
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            return authHeader.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
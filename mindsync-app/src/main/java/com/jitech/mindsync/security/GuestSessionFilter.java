@@ -1,9 +1,10 @@
 package com.jitech.mindsync.security;
 
+import com.jitech.mindsync.service.GuestIdService;
 import com.jitech.mindsync.util.CookieUtils;
+import com.jitech.mindsync.util.RequestCookies;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -22,8 +23,21 @@ import java.io.IOException;
 public class GuestSessionFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(GuestSessionFilter.class);
-    private static final String GUEST_ID_COOKIE_NAME = CookieUtils.GUEST_ID_COOKIE_NAME;
-    private static final String JWT_COOKIE_NAME = "jwt";
+
+    private final GuestIdService guestIdService;
+
+    public GuestSessionFilter(GuestIdService guestIdService) {
+        this.guestIdService = guestIdService;
+    }
+
+    /**
+     * Preflight, monitoring and stateless public routes never use a guest id,
+     * so they don't get one minted.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RouteClassifier.classify(request).skipsSessionFilters();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,28 +47,14 @@ public class GuestSessionFilter extends OncePerRequestFilter {
         logger.debug("Processing guest session filter for request: {} {}", request.getMethod(), requestUri);
 
         // Check if cookies exist
-        boolean hasJwtCookie = false;
-        boolean hasGuestIdCookie = false;
-
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (JWT_COOKIE_NAME.equals(cookie.getName())) {
-                    hasJwtCookie = true;
-                } else if (GUEST_ID_COOKIE_NAME.equals(cookie.getName())) {
-                    hasGuestIdCookie = true;
-                }
-
-                // Early exit if both cookies are found
-                if (hasJwtCookie && hasGuestIdCookie) {
-                    break;
-                }
-            }
-        }
+        RequestCookies cookies = RequestCookies.of(request);
+        boolean hasJwtCookie = cookies.jwt() != null;
+        boolean hasGuestIdCookie = cookies.guestId() != null;
 
         // Create guest_id cookie only if neither jwt nor guest_id cookie exists
         if (!hasJwtCookie && !hasGuestIdCookie) {
-            String guestId = CookieUtils.createAndSetGuestIdCookie(response);
+            String guestId = guestIdService.issue();
+            CookieUtils.setGuestIdCookie(response, guestId);
             logger.info("Created guest_id cookie with value: {} for request: {} {}",
                     guestId, request.getMethod(), requestUri);
         } else {
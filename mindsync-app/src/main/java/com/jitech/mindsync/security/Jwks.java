@@ -0,0 +1,123 @@
+package com.jitech.mindsync.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON Web Key helpers (RFC 7517 / RFC 7638) for the public keys in the key
+ * ring. Only the key types JwtKeyRing can hold are supported: RSA and EC P-256.
+ */
+final class Jwks {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int P256_COORDINATE_LENGTH = 32;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private Jwks() {
+    }
+
+    /**
+     * Render the JWKS document served for a set of verification keys, with a
+     * strong ETag derived from its content.
+     */
+    static JwtKeyRing.JwksDocument render(Collection<JwtKeyRing.VerificationKey> keys) {
+        List<Map<String, Object>> jwkList = new ArrayList<>();
+        for (JwtKeyRing.VerificationKey key : keys) {
+            jwkList.add(toJwk(key));
+        }
+        try {
+            String json = OBJECT_MAPPER.writeValueAsString(Map.of("keys", jwkList));
+            String etag = "\"" + base64Url(sha256(json.getBytes(StandardCharsets.UTF_8))).substring(0, 22) + "\"";
+            return new JwtKeyRing.JwksDocument(json, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render JWKS", e);
+        }
+    }
+
+    /**
+     * Build the public JWK members for a verification key.
+     */
+    static Map<String, Object> toJwk(JwtKeyRing.VerificationKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        PublicKey publicKey = key.publicKey();
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", encodeUnsigned(rsa.getModulus()));
+            jwk.put("e", encodeUnsigned(rsa.getPublicExponent()));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", encodeCoordinate(ec.getW().getAffineX()));
+            jwk.put("y", encodeCoordinate(ec.getW().getAffineY()));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + publicKey.getAlgorithm());
+        }
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getValue());
+        return jwk;
+    }
+
+    /**
+     * RFC 7638 thumbprint: SHA-256 over the required members in lexicographic
+     * order, base64url encoded. Used as the kid of keys that come without one.
+     */
+    static String thumbprint(PublicKey publicKey) {
+        String canonical;
+        if (publicKey instanceof RSAPublicKey rsa) {
+            canonical = "{\"e\":\"" + encodeUnsigned(rsa.getPublicExponent())
+                    + "\",\"kty\":\"RSA\",\"n\":\"" + encodeUnsigned(rsa.getModulus()) + "\"}";
+        } else if (publicKey instanceof ECPublicKey ec) {
+            canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + encodeCoordinate(ec.getW().getAffineX())
+                    + "\",\"y\":\"" + encodeCoordinate(ec.getW().getAffineY()) + "\"}";
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + publicKey.getAlgorithm());
+        }
+        return BASE64_URL.encodeToString(sha256(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String base64Url(byte[] bytes) {
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    // Big-endian without the sign byte BigInteger adds for values with the top bit set
+    private static String encodeUnsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    // EC coordinates are always the full field size, left-padded with zeros
+    private static String encodeCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, padded, P256_COORDINATE_LENGTH - length, length);
+        return BASE64_URL.encodeToString(padded);
+    }
+}
@@ -1,8 +1,10 @@
 package com.jitech.mindsync.security;
 
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.util.RequestCookies;
+import com.jitech.mindsync.verifier.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -23,6 +25,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtProvider jwtProvider;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    /**
+     * Routes that are public and never read the authenticated user skip token
+     * parsing entirely (preflight, actuator scrapes, OTP and JWKS endpoints).
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RouteClassifier.classify(request).skipsSessionFilters();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -30,18 +47,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String requestUri = request.getRequestURI();
         logger.debug("Processing authentication filter for request: {} {}", request.getMethod(), requestUri);
 
-        String token = null;
-
         // 1. Try to get token from httponly cookie first
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if ("jwt".equals(cookie.getName())) {
-                    token = cookie.getValue();
-                    logger.debug("JWT token found in cookie for request: {}", requestUri);
-                    break;
-                }
-            }
+        String token = RequestCookies.of(request).jwt();
+        if (token != null) {
+            logger.debug("JWT token found in cookie for request: {}", requestUri);
         }
 
         // 2. If no cookie, fall back to Authorization header (for backwards
@@ -54,9 +63,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        // 3. Validate token if found
-        if (token != null && jwtProvider.validateToken(token)) {
-            String userId = jwtProvider.getUserIdFromToken(token);
+        // 3. Verify token if found
+        VerifiedToken verified = token != null ? verify(token, request) : null;
+        if (verified != null && verified.isValid()) {
+            String userId = verified.getSubject();
             logger.debug("JWT token validated successfully. Authenticating userId: {} for request: {}",
                     userId, requestUri);
 
@@ -67,11 +77,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             logger.info("User authenticated successfully: userId={} for request: {} {}", userId, request.getMethod(),
                     requestUri);
-        } else if (token != null) {
-            logger.warn("Invalid JWT token provided for request: {} {}", request.getMethod(), requestUri);
+        } else if (verified != null) {
+            logger.warn("Invalid JWT token provided for request: {} {} - reason: {}", request.getMethod(), requestUri,
+                    verified.getFailureReason());
         }
 
         // 5. Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Cache first, then a single parse + signature check.
+     *
+     * @return The verified token, or null if it has been revoked
+     */
+    private VerifiedToken verify(String token, HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null) {
+            verified = jwtProvider.verify(token);
+            verifiedTokenCache.put(token, verified);
+        } else {
+            logger.debug("JWT token served from verified token cache for request: {}", requestUri);
+        }
+        // Revocation is checked after the cache, so a cached token can still be revoked
+        if (verified.isValid() && tokenRevocationService.isRevoked(verified)) {
+            logger.warn("Revoked JWT token provided for request: {} {} - userId: {}", request.getMethod(), requestUri,
+                    verified.getSubject());
+            return null;
+        }
+        return verified;
+    }
 }
\ No newline at end of file
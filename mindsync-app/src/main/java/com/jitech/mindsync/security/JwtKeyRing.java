@@ -0,0 +1,299 @@
+package com.jitech.mindsync.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the JWT signing key and every key that is still accepted for
+ * verification, indexed by kid.
+ * Keys come from the mindsync.jwt.* properties and, optionally, from a
+ * mounted key directory that is re-read periodically so keys can be rotated
+ * without a restart. Each reload swaps in an immutable snapshot, so readers
+ * on the request path never lock.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final String PRIVATE_KEY_SUFFIX = ".private.pem";
+    private static final String PUBLIC_KEY_SUFFIX = ".public.pem";
+
+    // Signing algorithm: RS256 or ES256 (keys must belong to the same family)
+    @Value("${mindsync.jwt.algorithm:RS256}")
+    private String algorithmName;
+
+    // Base64 encoded private key (env var)
+    @Value("${mindsync.jwt.private-key:#{null}}")
+    private String privateKeyBase64;
+
+    // Base64 encoded public key (env var)
+    @Value("${mindsync.jwt.public-key:#{null}}")
+    private String publicKeyBase64;
+
+    // Optional: algorithm + public key of the previous signing key, still
+    // accepted for verification while tokens signed with it are live
+    @Value("${mindsync.jwt.previous-algorithm:#{null}}")
+    private String previousAlgorithmName;
+
+    @Value("${mindsync.jwt.previous-public-key:#{null}}")
+    private String previousPublicKeyBase64;
+
+    // Optional mounted directory with <kid>.private.pem / <kid>.public.pem files
+    @Value("${mindsync.jwt.key-dir:#{null}}")
+    private String keyDir;
+
+    // Kid from the key directory to sign with; defaults to the greatest kid that has a private key
+    @Value("${mindsync.jwt.active-kid:#{null}}")
+    private String activeKid;
+
+    private final List<VerificationKey> configuredKeys = new ArrayList<>();
+    private SigningKey configuredSigningKey;
+    private String keyDirFingerprint = "";
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Key used to sign new tokens.
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey) {
+    }
+
+    /**
+     * Public key accepted for verification.
+     */
+    public record VerificationKey(String kid, SignatureAlgorithm algorithm, PublicKey publicKey) {
+    }
+
+    /**
+     * Pre-rendered JWKS document and its ETag.
+     */
+    public record JwksDocument(String json, String etag) {
+    }
+
+    private record Snapshot(SigningKey signingKey, Map<String, VerificationKey> byKid,
+            Map<String, VerificationKey> byAlgorithm, JwksDocument jwks) {
+    }
+
+    @PostConstruct
+    public void init() throws Exception {
+        configuredKeys.clear();
+        configuredSigningKey = null;
+        boolean hasKeyDir = keyDir != null && !keyDir.isBlank();
+
+        if (hasKeyDir && (privateKeyBase64 == null || privateKeyBase64.isBlank())) {
+            logger.info("No JWT key configured in properties, using key directory only");
+        } else {
+            SignatureAlgorithm algorithm = resolveAlgorithm(algorithmName);
+            PrivateKey privateKey = PemKeys.loadPrivateKey(privateKeyBase64, algorithm);
+            PublicKey publicKey = PemKeys.loadPublicKey(publicKeyBase64, algorithm, "mindsync.jwt.public-key");
+            PemKeys.requireMatchingPair(privateKey, publicKey, algorithm, "mindsync.jwt.private-key");
+            String kid = Jwks.thumbprint(publicKey);
+            configuredSigningKey = new SigningKey(kid, algorithm, privateKey);
+            configuredKeys.add(new VerificationKey(kid, algorithm, publicKey));
+        }
+
+        if (previousPublicKeyBase64 != null && !previousPublicKeyBase64.isBlank()) {
+            SignatureAlgorithm previousAlgorithm = resolveAlgorithm(previousAlgorithmName);
+            PublicKey previousKey = PemKeys.loadPublicKey(previousPublicKeyBase64, previousAlgorithm,
+                    "mindsync.jwt.previous-public-key");
+            configuredKeys.add(new VerificationKey(Jwks.thumbprint(previousKey), previousAlgorithm, previousKey));
+            logger.info("Previous {} public key accepted for verification during migration",
+                    previousAlgorithm.getValue());
+        }
+
+        keyDirFingerprint = "";
+        rebuild(hasKeyDir ? readKeyDirectory(Paths.get(keyDir)) : new DirectoryKeys());
+    }
+
+    /**
+     * Re-read the key directory and swap in a new snapshot when its contents
+     * changed. A broken directory keeps the previous snapshot in place.
+     */
+    @Scheduled(fixedDelayString = "${mindsync.jwt.key-dir-refresh-ms:30000}",
+            initialDelayString = "${mindsync.jwt.key-dir-refresh-ms:30000}")
+    public void refresh() {
+        if (keyDir == null || keyDir.isBlank()) {
+            return;
+        }
+        try {
+            Path dir = Paths.get(keyDir);
+            if (fingerprint(dir).equals(keyDirFingerprint)) {
+                return;
+            }
+            logger.info("JWT key directory changed, reloading keys from {}", dir);
+            rebuild(readKeyDirectory(dir));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to reload JWT keys from {}, keeping current keys: {}", keyDir, e.getMessage());
+        }
+    }
+
+    public SigningKey getSigningKey() {
+        return snapshot.get().signingKey();
+    }
+
+    public Collection<VerificationKey> getVerificationKeys() {
+        return snapshot.get().byKid().values();
+    }
+
+    public JwksDocument getJwks() {
+        return snapshot.get().jwks();
+    }
+
+    /**
+     * Pick the verification key for a token header. Tokens carry a kid since
+     * key rotation was introduced; older tokens without one are matched by
+     * their alg against the keys configured in properties.
+     */
+    public PublicKey resolveVerificationKey(String kid, String algorithm) {
+        Snapshot current = snapshot.get();
+        VerificationKey key = kid != null ? current.byKid().get(kid) : current.byAlgorithm().get(algorithm);
+        if (key == null) {
+            throw new UnsupportedJwtException(kid != null
+                    ? "Unknown JWT key id: " + kid
+                    : "Unexpected JWT signing algorithm: " + algorithm);
+        }
+        if (!key.algorithm().getValue().equals(algorithm)) {
+            throw new UnsupportedJwtException("JWT algorithm " + algorithm + " does not match key " + key.kid());
+        }
+        return key.publicKey();
+    }
+
+    private void rebuild(DirectoryKeys directoryKeys) {
+        Map<String, VerificationKey> byKid = new LinkedHashMap<>();
+        Map<String, VerificationKey> byAlgorithm = new HashMap<>();
+        for (VerificationKey key : configuredKeys) {
+            byKid.put(key.kid(), key);
+            byAlgorithm.putIfAbsent(key.algorithm().getValue(), key);
+        }
+        byKid.putAll(directoryKeys.publicKeys);
+
+        SigningKey signingKey = selectSigningKey(directoryKeys);
+        if (signingKey == null) {
+            throw new IllegalStateException("No JWT signing key available. Set mindsync.jwt.private-key "
+                    + "or add <kid>" + PRIVATE_KEY_SUFFIX + " to mindsync.jwt.key-dir.");
+        }
+
+        this.snapshot.set(new Snapshot(signingKey, Collections.unmodifiableMap(byKid),
+                Collections.unmodifiableMap(byAlgorithm), Jwks.render(byKid.values())));
+        this.keyDirFingerprint = directoryKeys.fingerprint;
+        logger.info("JWT key ring loaded: signing kid={} ({}), {} verification key(s)",
+                signingKey.kid(), signingKey.algorithm().getValue(), byKid.size());
+    }
+
+    private SigningKey selectSigningKey(DirectoryKeys directoryKeys) {
+        if (directoryKeys.signingKeys.isEmpty()) {
+            return configuredSigningKey;
+        }
+        if (activeKid != null && !activeKid.isBlank()) {
+            SigningKey active = directoryKeys.signingKeys.get(activeKid);
+            if (active != null) {
+                return active;
+            }
+            logger.warn("Active JWT kid {} not found in key directory, using newest key instead", activeKid);
+        }
+        // TreeMap: the last entry is the greatest kid, e.g. the newest date-stamped key
+        return directoryKeys.signingKeys.lastEntry().getValue();
+    }
+
+    /**
+     * Keys found in the key directory, keyed by kid (file name prefix).
+     */
+    private static final class DirectoryKeys {
+        private final Map<String, VerificationKey> publicKeys = new TreeMap<>();
+        private final TreeMap<String, SigningKey> signingKeys = new TreeMap<>();
+        private String fingerprint = "";
+    }
+
+    private DirectoryKeys readKeyDirectory(Path dir) throws IOException {
+        DirectoryKeys keys = new DirectoryKeys();
+        keys.fingerprint = fingerprint(dir);
+
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.pem")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String pem = Files.readString(file, StandardCharsets.US_ASCII);
+                if (name.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    String kid = name.substring(0, name.length() - PUBLIC_KEY_SUFFIX.length());
+                    PublicKey publicKey = PemKeys.parsePublicKey(pem);
+                    keys.publicKeys.put(kid, new VerificationKey(kid, PemKeys.algorithmFor(publicKey), publicKey));
+                } else if (name.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    String kid = name.substring(0, name.length() - PRIVATE_KEY_SUFFIX.length());
+                    privateKeys.put(kid, PemKeys.parsePrivateKey(pem));
+                }
+            }
+        }
+
+        for (Map.Entry<String, PrivateKey> entry : privateKeys.entrySet()) {
+            VerificationKey publicKey = keys.publicKeys.get(entry.getKey());
+            if (publicKey == null) {
+                // Every signing key must be published, otherwise nobody could verify its tokens
+                logger.warn("Ignoring JWT private key {} without matching {}", entry.getKey(), PUBLIC_KEY_SUFFIX);
+                continue;
+            }
+            // A private key that does not match its public key would sign tokens nobody can verify
+            PemKeys.requireMatchingPair(entry.getValue(), publicKey.publicKey(), publicKey.algorithm(),
+                    entry.getKey() + PRIVATE_KEY_SUFFIX);
+            keys.signingKeys.put(entry.getKey(),
+                    new SigningKey(entry.getKey(), publicKey.algorithm(), entry.getValue()));
+        }
+        return keys;
+    }
+
+    // Cheap change detection: names, sizes and modification times of the key files
+    private static String fingerprint(Path dir) throws IOException {
+        StringBuilder fingerprint = new StringBuilder();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.pem")) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        for (Path file : files) {
+            fingerprint.append(file.getFileName()).append(':')
+                    .append(Files.size(file)).append(':')
+                    .append(Files.getLastModifiedTime(file).toMillis()).append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    static SignatureAlgorithm resolveAlgorithm(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalStateException("No JWT algorithm configured. Set mindsync.jwt.algorithm.");
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        if ("EDDSA".equals(normalized) || "ED25519".equals(normalized)) {
+            // jjwt 0.11.x has no EdDSA support; fail fast instead of signing with something else
+            throw new IllegalStateException("EdDSA is not supported by the JWT library in use. Use RS256 or ES256.");
+        }
+        if (!"RS256".equals(normalized) && !"ES256".equals(normalized)) {
+            throw new IllegalStateException("Unsupported JWT algorithm: " + name + ". Use RS256 or ES256.");
+        }
+        return SignatureAlgorithm.forName(normalized);
+    }
+}
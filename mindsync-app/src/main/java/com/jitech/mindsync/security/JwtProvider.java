@@ -0,0 +1,158 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.jsonwebtoken.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.security.Key;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class JwtProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtProvider.class);
+
+    // Claim linking an access token to its refresh token family
+    static final String SESSION_ID_CLAIM = "sid";
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    // Mengambil waktu expired dari application.properties
+    @Value("${mindsync.jwt.expiration}")
+    private int jwtExpiration;
+
+    // Optional profile claims (prf), capped at max-bytes of JSON
+    @Value("${mindsync.jwt.profile-claims.enabled:false}")
+    private boolean profileClaimsEnabled;
+
+    @Value("${mindsync.jwt.profile-claims.max-bytes:256}")
+    private int profileClaimsMaxBytes;
+
+    // JwtParser is immutable and thread-safe, so it is built once and shared
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        initParser();
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        logger.info("JWT Provider initialized successfully with {} algorithm (kid={})",
+                signingKey.algorithm().getValue(), signingKey.kid());
+    }
+
+    void initParser() {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        // Looked up per token, so keys rotated into the ring apply immediately
+                        return keyRing.resolveVerificationKey(header.getKeyId(), header.getAlgorithm());
+                    }
+                })
+                .build();
+    }
+
+    // 1. FUNGSI MEMBUAT TOKEN (Digunakan saat user berhasil login)
+    // Uses PRIVATE KEY for signing
+    public String generateToken(String userId) {
+        return generateToken(userId, null);
+    }
+
+    // sessionId is the refresh token family the access token belongs to (sid claim), may be null
+    public String generateToken(String userId, String sessionId) {
+        return generateToken(userId, sessionId, null);
+    }
+
+    // profile is embedded as the prf claim when profile claims are enabled, may be null
+    public String generateToken(String userId, String sessionId, ProfileClaims profile) {
+        logger.debug("Generating JWT token for userId: {}", userId);
+
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid()); // kid, untuk memilih public key saat verifikasi
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_CLAIM, sessionId);
+        }
+        if (profileClaimsEnabled && profile != null) {
+            Map<String, Object> profileClaim = profile.toClaim(profileClaimsMaxBytes);
+            if (!profileClaim.isEmpty()) {
+                builder.claim(ProfileClaims.CLAIM, profileClaim);
+            }
+        }
+        String token = builder
+                .setSubject(userId) // Menyimpan userId di dalam token
+                .setId(UUID.randomUUID().toString()) // jti, dipakai untuk revocation
+                .setIssuedAt(new Date()) // Waktu token dibuat
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration)) // Waktu expired
+                .signWith(signingKey.privateKey(), signingKey.algorithm()) // Tanda tangan digital (RS256 / ES256)
+                .compact();
+
+        logger.info("JWT token generated successfully for userId: {}", userId);
+        return token;
+    }
+
+    // Callers only need to load profile claims when they will be embedded
+    public boolean isProfileClaimsEnabled() {
+        return profileClaimsEnabled;
+    }
+
+    // Access token lifetime in seconds, used for the jwt cookie Max-Age
+    public int getExpirationSeconds() {
+        return jwtExpiration / 1000;
+    }
+
+    // 2. FUNGSI VERIFIKASI (Satu kali parse + cek signature untuk semua claim)
+    // Uses PUBLIC KEY for verification
+    public VerifiedToken verify(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            logger.debug("JWT token verification successful");
+            return VerifiedToken.valid(
+                    claims.getSubject(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    claims.getId(),
+                    claims.get(SESSION_ID_CLAIM, String.class),
+                    VerifiedToken.Profile.fromClaim(claims.get(ProfileClaims.CLAIM)));
+        } catch (ExpiredJwtException e) {
+            logger.warn("JWT token validation failed - Token expired: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.EXPIRED);
+        } catch (MalformedJwtException e) {
+            logger.warn("JWT token validation failed - Malformed token: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            logger.warn("JWT token validation failed - Unsupported token: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.UNSUPPORTED);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            logger.warn("JWT token validation failed - Invalid signature: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.INVALID_SIGNATURE);
+        } catch (IllegalArgumentException e) {
+            logger.warn("JWT token validation failed - Illegal argument: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.ILLEGAL_ARGUMENT);
+        } catch (JwtException e) {
+            logger.warn("JWT token validation failed - JWT exception: {}", e.getMessage());
+            return VerifiedToken.failed(VerifiedToken.FailureReason.INVALID);
+        }
+    }
+
+    // 3. FUNGSI VALIDASI (Mengecek apakah token palsu atau sudah kadaluarsa)
+    public boolean validateToken(String token) {
+        return verify(token).isValid();
+    }
+
+    // 4. FUNGSI MENGAMBIL USER ID (Membaca siapa pemilik token ini)
+    // Returns null when the token does not verify
+    public String getUserIdFromToken(String token) {
+        logger.debug("Extracting userId from JWT token");
+        String userId = verify(token).getSubject();
+        logger.debug("UserId extracted from JWT token: {}", userId);
+        return userId;
+    }
+}
@@ -0,0 +1,181 @@
+package com.jitech.mindsync.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Parsing and sanity checks for the PEM keys JwtKeyRing loads. Only RSA and
+ * EC P-256 keys are accepted, as ES256 is defined on P-256 and the JWKS
+ * publishes EC keys as P-256.
+ */
+final class PemKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(PemKeys.class);
+
+    // Strips any "-----BEGIN ... KEY-----" / "-----END ... KEY-----" PEM armour
+    private static final String PEM_ARMOUR = "-----(BEGIN|END) [A-Z ]+-----";
+    private static final String[] KEY_FAMILIES = { "RSA", "EC" };
+    private static final ECParameterSpec P256 = p256();
+    private static final byte[] PAIR_CHALLENGE = "mindsync-jwt-key-pair-check".getBytes(StandardCharsets.US_ASCII);
+
+    private PemKeys() {
+    }
+
+    static byte[] decode(String pem) {
+        // Strip PEM headers/footers and whitespace, then decode the Base64 body
+        String keyBody = pem.replaceAll(PEM_ARMOUR, "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(keyBody);
+    }
+
+    static String keyFactoryAlgorithm(SignatureAlgorithm algorithm) {
+        return algorithm.isEllipticCurve() ? "EC" : "RSA";
+    }
+
+    /**
+     * The algorithm a key from the key directory signs with.
+     */
+    static SignatureAlgorithm algorithmFor(PublicKey key) {
+        requireP256(key);
+        return "EC".equals(key.getAlgorithm()) ? SignatureAlgorithm.ES256 : SignatureAlgorithm.RS256;
+    }
+
+    /**
+     * Reject EC keys on any curve but P-256; other keys pass.
+     */
+    static void requireP256(Key key) {
+        if (key instanceof ECKey ec && !isP256(ec.getParams())) {
+            throw new IllegalArgumentException("Unsupported EC curve, JWT keys must use P-256");
+        }
+    }
+
+    /**
+     * Sign a fixed challenge with the private key and verify it with the
+     * public key, so a pair that was mixed up fails at load time rather than
+     * on every token.
+     */
+    static void requireMatchingPair(PrivateKey privateKey, PublicKey publicKey, SignatureAlgorithm algorithm,
+            String name) {
+        try {
+            Signature signer = Signature.getInstance(algorithm.getJcaName());
+            signer.initSign(privateKey);
+            signer.update(PAIR_CHALLENGE);
+            byte[] signature = signer.sign();
+            Signature verifier = Signature.getInstance(algorithm.getJcaName());
+            verifier.initVerify(publicKey);
+            verifier.update(PAIR_CHALLENGE);
+            if (verifier.verify(signature)) {
+                return;
+            }
+        } catch (GeneralSecurityException e) {
+            logger.debug("Key pair check for {} failed: {}", name, e.getMessage());
+        }
+        throw new IllegalArgumentException("JWT private key " + name + " does not match its public key");
+    }
+
+    static PrivateKey loadPrivateKey(String encodedKey, SignatureAlgorithm algorithm) {
+        if (encodedKey == null || encodedKey.isEmpty()) {
+            logger.error("No private key configured");
+            throw new IllegalStateException("No private key configured. Set mindsync.jwt.private-key.");
+        }
+
+        logger.debug("Loading {} private key", keyFactoryAlgorithm(algorithm));
+
+        try {
+            PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decode(encodedKey));
+            PrivateKey key = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm)).generatePrivate(keySpec);
+            algorithm.assertValidSigningKey(key);
+            requireP256(key);
+
+            logger.info("Private key loaded successfully");
+            return key;
+
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            logger.error("Failed to load private key: {}", e.getMessage(), e);
+            throw new IllegalStateException("Failed to load private key", e);
+        }
+    }
+
+    static PublicKey loadPublicKey(String encodedKey, SignatureAlgorithm algorithm, String property) {
+        if (encodedKey == null || encodedKey.isEmpty()) {
+            logger.error("No public key configured for {}", property);
+            throw new IllegalStateException("No public key configured. Set " + property + ".");
+        }
+
+        logger.debug("Loading {} public key from {}", keyFactoryAlgorithm(algorithm), property);
+
+        try {
+            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decode(encodedKey));
+            PublicKey key = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm)).generatePublic(keySpec);
+            algorithm.assertValidVerificationKey(key);
+            requireP256(key);
+
+            logger.info("Public key loaded successfully from {}", property);
+            return key;
+
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            logger.error("Failed to load public key: {}", e.getMessage(), e);
+            throw new IllegalStateException("Failed to load public key", e);
+        }
+    }
+
+    // Key files do not say whether they hold RSA or EC keys, so try both
+    static PublicKey parsePublicKey(String pem) {
+        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decode(pem));
+        for (String family : KEY_FAMILIES) {
+            try {
+                return KeyFactory.getInstance(family).generatePublic(keySpec);
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                logger.trace("Public key is not {}: {}", family, e.getMessage());
+            }
+        }
+        throw new IllegalArgumentException("Unsupported public key, expected RSA or EC P-256");
+    }
+
+    static PrivateKey parsePrivateKey(String pem) {
+        PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decode(pem));
+        for (String family : KEY_FAMILIES) {
+            try {
+                return KeyFactory.getInstance(family).generatePrivate(keySpec);
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                logger.trace("Private key is not {}: {}", family, e.getMessage());
+            }
+        }
+        throw new IllegalArgumentException("Unsupported private key, expected RSA or EC P-256");
+    }
+
+    private static boolean isP256(ECParameterSpec params) {
+        return params != null
+                && P256.getCurve().equals(params.getCurve())
+                && P256.getGenerator().equals(params.getGenerator())
+                && P256.getOrder().equals(params.getOrder())
+                && P256.getCofactor() == params.getCofactor();
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC P-256 is not available in this JVM", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jitech.mindsync.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jitech.mindsync.model.Users;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Profile fields embedded in access tokens (the "prf" claim), so downstream
+ * services don't have to call back for them.
+ * <p>
+ * Claim layout: {@code {"v":1,"name":..,"gender":..,"occupation":..,"work_rmt":..}}.
+ * Null fields are left out. When the claim would exceed its size budget, fields
+ * are dropped from the end of that list and {@code "partial":true} is set, so
+ * consumers know to fetch the full profile. Bump {@link #VERSION} whenever the
+ * meaning of a field changes.
+ */
+public record ProfileClaims(String name, String gender, String occupation, String workRmt) {
+
+    public static final String CLAIM = "prf";
+    public static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static ProfileClaims of(Users user) {
+        return new ProfileClaims(
+                user.getName(),
+                user.getGender() != null ? user.getGender().getGenderName() : null,
+                user.getOccupation() != null ? user.getOccupation().getOccupationName() : null,
+                user.getWorkRmt() != null ? user.getWorkRmt().getWorkRmtName() : null);
+    }
+
+    /**
+     * Build the claim value, dropping the lowest priority fields until its
+     * JSON form fits in maxBytes.
+     *
+     * @return The claim value, or an empty map if not even the version fits
+     */
+    public Map<String, Object> toClaim(int maxBytes) {
+        Map<String, Object> claim = new LinkedHashMap<>();
+        claim.put("v", VERSION);
+        putIfPresent(claim, "name", name);
+        putIfPresent(claim, "gender", gender);
+        putIfPresent(claim, "occupation", occupation);
+        putIfPresent(claim, "work_rmt", workRmt);
+
+        String[] dropOrder = { "work_rmt", "occupation", "gender", "name" };
+        int next = 0;
+        while (size(claim) > maxBytes) {
+            while (next < dropOrder.length && !claim.containsKey(dropOrder[next])) {
+                next++;
+            }
+            if (next == dropOrder.length) {
+                return Map.of();
+            }
+            claim.remove(dropOrder[next]);
+            claim.put("partial", true);
+        }
+        return claim;
+    }
+
+    /**
+     * Read the claim back, e.g. in a consumer.
+     *
+     * @return The profile claims, or null if absent or of an unknown version
+     */
+    public static ProfileClaims fromClaim(Object value) {
+        if (!(value instanceof Map<?, ?> claim) || !(claim.get("v") instanceof Number version)
+                || version.intValue() != VERSION) {
+            return null;
+        }
+        return new ProfileClaims(
+                asString(claim.get("name")),
+                asString(claim.get("gender")),
+                asString(claim.get("occupation")),
+                asString(claim.get("work_rmt")));
+    }
+
+    private static void putIfPresent(Map<String, Object> claim, String key, String value) {
+        if (value != null) {
+            claim.put(key, value);
+        }
+    }
+
+    private static String asString(Object value) {
+        return value instanceof String s ? s : null;
+    }
+
+    private static int size(Map<String, Object> claim) {
+        try {
+            return MAPPER.writeValueAsString(claim).getBytes(StandardCharsets.UTF_8).length;
+        } catch (JsonProcessingException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
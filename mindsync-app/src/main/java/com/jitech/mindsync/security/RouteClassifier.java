@@ -0,0 +1,121 @@
+package com.jitech.mindsync.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * Which kind of endpoint a request targets, decided once from precompiled
+ * path tables. SecurityConfig builds its permitAll rules from the same
+ * tables, and the JWT and guest session filters skip every route that needs
+ * neither a user nor a guest id (see {@link Route#skipsSessionFilters()}).
+ */
+public final class RouteClassifier {
+
+    /**
+     * Public auth flow endpoints. They read the jwt / guest_id / refresh
+     * cookies themselves and keep the guest session, so the filters still run.
+     */
+    public static final String[] AUTH_FLOW_PATHS = {
+            "/register", "/login", "/logout", "/token/refresh"
+    };
+
+    /**
+     * Public endpoints that use neither the authenticated user nor a guest id.
+     */
+    public static final String[] STATELESS_PUBLIC_PATHS = {
+            "/profile/request-otp",
+            "/profile/request-signup-otp",
+            "/profile/verify-otp",
+            "/profile/reset-password",
+            "/test-email",
+            "/test-otp",
+            "/test-verify-otp",
+            "/.well-known/jwks.json"
+    };
+
+    /**
+     * Monitoring and tooling prefixes (Prometheus scrapes, health checks, H2 console).
+     */
+    public static final String[] MONITORING_PATTERNS = {
+            "/actuator/**", "/h2-console/**"
+    };
+
+    private static final Set<String> AUTH_FLOW = Set.of(AUTH_FLOW_PATHS);
+    private static final Set<String> STATELESS_PUBLIC = Set.of(STATELESS_PUBLIC_PATHS);
+    private static final String[] MONITORING_PREFIXES = toPrefixes(MONITORING_PATTERNS);
+
+    public enum Route {
+        /** CORS preflight (OPTIONS) */
+        PREFLIGHT(true),
+        /** Actuator and other tooling */
+        MONITORING(true),
+        /** permitAll endpoints without user or guest state */
+        STATELESS_PUBLIC(true),
+        /** permitAll login / register / logout / refresh */
+        AUTH_FLOW(false),
+        /** Everything else: requires an authenticated user */
+        PROTECTED(false);
+
+        private final boolean skipsSessionFilters;
+
+        Route(boolean skipsSessionFilters) {
+            this.skipsSessionFilters = skipsSessionFilters;
+        }
+
+        /**
+         * Whether JwtAuthenticationFilter and GuestSessionFilter can be skipped:
+         * no token parsing, no guest_id cookie.
+         */
+        public boolean skipsSessionFilters() {
+            return skipsSessionFilters;
+        }
+    }
+
+    private RouteClassifier() {
+    }
+
+    public static Route classify(HttpServletRequest request) {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return Route.PREFLIGHT;
+        }
+        String path = pathWithinApplication(request);
+        if (AUTH_FLOW.contains(path)) {
+            return Route.AUTH_FLOW;
+        }
+        if (STATELESS_PUBLIC.contains(path)) {
+            return Route.STATELESS_PUBLIC;
+        }
+        for (String prefix : MONITORING_PREFIXES) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return Route.MONITORING;
+            }
+        }
+        return Route.PROTECTED;
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri == null) {
+            return "";
+        }
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+
+    /**
+     * "/actuator/**" becomes "/actuator", matching "/actuator" and everything below it.
+     */
+    private static String[] toPrefixes(String... patterns) {
+        String[] prefixes = new String[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            String pattern = patterns[i];
+            prefixes[i] = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,111 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Bounded in-memory cache of successfully verified JWTs, so a cache hit lets
+ * JwtAuthenticationFilter skip the signature check entirely. The cache
+ * itself is the token verifier module's; this component adds the
+ * mindsync.jwt.cache.* metrics and the on/off switch.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final boolean enabled;
+    private final com.jitech.mindsync.verifier.VerifiedTokenCache cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+            @Value("${mindsync.jwt.cache.enabled:false}") boolean enabled,
+            @Value("${mindsync.jwt.cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.cache = new com.jitech.mindsync.verifier.VerifiedTokenCache(maxEntries, Clock.systemUTC(),
+                new CacheMetrics(meterRegistry));
+        meterRegistry.gauge("mindsync.jwt.cache.size", cache,
+                com.jitech.mindsync.verifier.VerifiedTokenCache::size);
+        logger.info("Verified token cache {} (max entries: {})", enabled ? "enabled" : "disabled",
+                Math.max(1, maxEntries));
+    }
+
+    /**
+     * Look up a previously verified token.
+     *
+     * @param token The raw JWT
+     * @return The cached verification result, or null on a miss or when disabled
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        return cache.get(token);
+    }
+
+    /**
+     * Remember a verification result. Only valid tokens with an expiry are
+     * cached; failures always go back through full verification.
+     *
+     * @param token    The raw JWT
+     * @param verified The result of JwtProvider.verify for that token
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (!enabled || token == null || verified == null) {
+            return;
+        }
+        cache.put(token, verified);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static final class CacheMetrics implements com.jitech.mindsync.verifier.VerifiedTokenCache.Listener {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter expiredEvictions;
+        private final Counter sizeEvictions;
+
+        CacheMetrics(MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("mindsync.jwt.cache.requests")
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("mindsync.jwt.cache.requests")
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            this.expiredEvictions = Counter.builder("mindsync.jwt.cache.evictions")
+                    .tag("cause", "expired")
+                    .register(meterRegistry);
+            this.sizeEvictions = Counter.builder("mindsync.jwt.cache.evictions")
+                    .tag("cause", "size")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void onHit() {
+            hits.increment();
+        }
+
+        @Override
+        public void onMiss() {
+            misses.increment();
+        }
+
+        @Override
+        public void onEviction(boolean expired) {
+            (expired ? expiredEvictions : sizeEvictions).increment();
+        }
+    }
+}
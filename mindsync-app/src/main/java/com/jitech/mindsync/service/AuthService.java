@@ -2,11 +2,13 @@ package com.jitech.mindsync.service;
 
 import com.jitech.mindsync.dto.RegisterRequest;
 import com.jitech.mindsync.model.Genders;
+import com.jitech.mindsync.model.HandoverOutboxEvent;
 import com.jitech.mindsync.model.Occupations;
 import com.jitech.mindsync.model.OtpType;
 import com.jitech.mindsync.model.Users;
 import com.jitech.mindsync.model.WorkRemotes;
 import com.jitech.mindsync.repository.GendersRepository;
+import com.jitech.mindsync.repository.HandoverOutboxRepository;
 import com.jitech.mindsync.repository.UserRepository;
 import com.jitech.mindsync.repository.OccupationsRepository;
 import com.jitech.mindsync.repository.WorkRemotesRepository;
@@ -15,6 +17,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
@@ -28,6 +33,7 @@ public class AuthService {
     private final OccupationsRepository occupationsRepository;
     private final WorkRemotesRepository workRemotesRepository;
     private final OtpService otpService;
+    private final HandoverOutboxRepository handoverOutboxRepository;
 
     @Autowired
     public AuthService(
@@ -36,26 +42,44 @@ public class AuthService {
             OccupationsRepository occupationsRepository,
             WorkRemotesRepository workRemotesRepository,
             BCryptPasswordEncoder passwordEncoder,
-            OtpService otpService) {
+            OtpService otpService,
+            HandoverOutboxRepository handoverOutboxRepository) {
         this.userRepository = userRepository;
         this.gendersRepository = gendersRepository;
         this.occupationsRepository = occupationsRepository;
         this.workRemotesRepository = workRemotesRepository;
         this.passwordEncoder = passwordEncoder;
         this.otpService = otpService;
+        this.handoverOutboxRepository = handoverOutboxRepository;
     }
 
+    @Transactional
     public Users registerUser(RegisterRequest request) {
+        return registerUser(request, null);
+    }
+
+    /**
+     * Register a user and, when the visitor had a guest session, record the
+     * guest-to-user handover in the outbox in the same transaction.
+     * HandoverOutboxRelay sends it to handover_stream afterwards.
+     * The OTP is checked first, so a wrong code is rejected before anything
+     * else is looked up, but only used up last, after the user row is
+     * flushed, so a failed registration leaves it valid whichever OtpStore
+     * is configured.
+     *
+     * @param guestId A verified guest_id, or null for no handover
+     */
+    @Transactional
+    public Users registerUser(RegisterRequest request, String guestId) {
         logger.info("Starting user registration process for email: {}", request.getEmail());
 
-        // 1. Validate OTP
-        logger.debug("Validating OTP for email: {}", request.getEmail());
-        boolean otpValid = otpService.validateAndUseOtp(request.getEmail(), request.getOtp(), OtpType.SIGNUP);
-        if (!otpValid) {
+        // 1. Check the OTP without using it up yet; wrong codes count towards the attempt limit
+        logger.debug("Verifying OTP for email: {}", request.getEmail());
+        if (!"valid".equals(otpService.verifyOtpWithoutConsuming(request.getEmail(), request.getOtp(),
+                OtpType.SIGNUP))) {
             logger.warn("Registration failed - Invalid or expired OTP for email: {}", request.getEmail());
             throw new IllegalArgumentException("Invalid or expired OTP");
         }
-        logger.debug("OTP validated successfully for email: {}", request.getEmail());
 
         // 2. Cek duplikasi email
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -100,7 +124,24 @@ public class AuthService {
         user.setOccupation(occupation);
         user.setWorkRmt(workRmt);
 
-        Users savedUser = userRepository.save(user);
+        Users savedUser = userRepository.saveAndFlush(user);
+
+        // 7. Catat handover guest -> user (dikirim ke Valkey oleh HandoverOutboxRelay)
+        if (guestId != null) {
+            handoverOutboxRepository.save(new HandoverOutboxEvent(guestId, savedUser.getUserId(), LocalDateTime.now()));
+            logger.debug("Handover event recorded for guest_id={} to user_id={}", guestId, savedUser.getUserId());
+        }
+
+        // 8. Use up the OTP last, so it is only consumed once the user row is written.
+        // With the JPA store this runs in the same transaction; the Valkey and
+        // in-memory stores cannot roll back, so nothing that can fail comes after it.
+        // It only fails here if a concurrent request used the same code first.
+        boolean otpValid = otpService.validateAndUseOtp(request.getEmail(), request.getOtp(), OtpType.SIGNUP);
+        if (!otpValid) {
+            logger.warn("Registration failed - OTP already used for email: {}", request.getEmail());
+            throw new IllegalArgumentException("Invalid or expired OTP");
+        }
+        logger.debug("OTP validated successfully for email: {}", request.getEmail());
         logger.info("User registration successful - userId: {}, email: {}", savedUser.getUserId(),
                 savedUser.getEmail());
 
@@ -0,0 +1,211 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.CookieUtils;
+import com.jitech.mindsync.util.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues and verifies guest_id values.
+ * <p>
+ * With mindsync.guest-id.secret set, a guest id is "&lt;uuid&gt;.&lt;tag&gt;": a
+ * version 7 UUID, whose first 48 bits are the issue time in milliseconds,
+ * followed by a truncated HMAC-SHA256 of that UUID (base64url, 96 bits).
+ * Anyone holding the secret, including the handover_stream consumer, can
+ * then reject forged or stale ids without remembering the ids it issued.
+ * Without a secret, guest ids are plain UUIDs as before and only their
+ * syntax is checked.
+ */
+@Service
+public class GuestIdService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestIdService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    static final int TAG_BYTES = 12;
+    private static final char SEPARATOR = '.';
+    private static final int UUID_LENGTH = 36;
+
+    private static final Base64.Encoder TAG_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder TAG_DECODER = Base64.getUrlDecoder();
+
+    public enum Verification {
+        /** Signed, untampered and within its lifetime */
+        VALID(true),
+        /** A plain UUID; accepted when signing is off or while unsigned ids are still allowed */
+        UNSIGNED(true),
+        /** A plain UUID, but signed ids are required */
+        UNSIGNED_REJECTED(false),
+        /** Not a guest id at all */
+        MALFORMED(false),
+        /** Tag does not match: forged or signed with another secret */
+        FORGED(false),
+        /** Issued longer ago than the guest cookie lifetime, or in the future */
+        EXPIRED(false);
+
+        private final boolean accepted;
+
+        Verification(boolean accepted) {
+            this.accepted = accepted;
+        }
+
+        public boolean isAccepted() {
+            return accepted;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final boolean acceptUnsigned;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final ThreadLocal<Mac> mac;
+    private final Map<Verification, Counter> verifications = new EnumMap<>(Verification.class);
+
+    @Autowired
+    public GuestIdService(MeterRegistry meterRegistry,
+            @Value("${mindsync.guest-id.secret:}") String secret,
+            @Value("${mindsync.guest-id.accept-unsigned:true}") boolean acceptUnsigned) {
+        this(meterRegistry, secret, acceptUnsigned, Duration.ofSeconds(CookieUtils.GUEST_COOKIE_MAX_AGE),
+                Clock.systemUTC());
+    }
+
+    GuestIdService(MeterRegistry meterRegistry, String secret, boolean acceptUnsigned, Duration maxAge,
+            Clock clock) {
+        this.key = secret == null || secret.isBlank()
+                ? null
+                : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.acceptUnsigned = acceptUnsigned;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        for (Verification result : Verification.values()) {
+            verifications.put(result, Counter.builder("mindsync.guest_id.verifications")
+                    .tag("result", result.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        logger.info("Guest ids {}", key != null
+                ? "signed (unsigned ids " + (acceptUnsigned ? "still accepted)" : "rejected)")
+                : "unsigned");
+    }
+
+    /**
+     * Whether issued guest ids carry a signature.
+     */
+    public boolean isSigning() {
+        return key != null;
+    }
+
+    /**
+     * A new guest id: a version 7 UUID, signed when a secret is configured.
+     */
+    public String issue() {
+        String uuid = UuidV7.generate().toString();
+        return key != null ? uuid + SEPARATOR + tag(uuid) : uuid;
+    }
+
+    /**
+     * Check a guest_id cookie value before trusting it, e.g. before a handover.
+     *
+     * @param guestId The guest_id cookie value
+     * @return The outcome; {@link Verification#isAccepted()} tells whether to use it
+     */
+    public Verification verify(String guestId) {
+        Verification result = check(guestId);
+        verifications.get(result).increment();
+        return result;
+    }
+
+    private Verification check(String guestId) {
+        if (guestId == null || guestId.length() < UUID_LENGTH) {
+            return Verification.MALFORMED;
+        }
+        if (guestId.length() == UUID_LENGTH) {
+            return checkUnsigned(guestId);
+        }
+        if (guestId.charAt(UUID_LENGTH) != SEPARATOR || key == null) {
+            return Verification.MALFORMED;
+        }
+        return checkSigned(guestId.substring(0, UUID_LENGTH), guestId.substring(UUID_LENGTH + 1));
+    }
+
+    private Verification checkUnsigned(String guestId) {
+        if (parseUuid(guestId) == null) {
+            return Verification.MALFORMED;
+        }
+        return key == null || acceptUnsigned ? Verification.UNSIGNED : Verification.UNSIGNED_REJECTED;
+    }
+
+    private Verification checkSigned(String uuidPart, String tagPart) {
+        UUID uuid = parseUuid(uuidPart);
+        byte[] presented = decodeTag(tagPart);
+        if (uuid == null || uuid.version() != 7 || presented.length != TAG_BYTES) {
+            return Verification.MALFORMED;
+        }
+        if (!MessageDigest.isEqual(presented, tagBytes(uuidPart))) {
+            return Verification.FORGED;
+        }
+        long ageMillis = clock.millis() - UuidV7.timestampMillis(uuid);
+        // Allow a little clock skew between nodes for ids from the future
+        if (ageMillis > maxAge.toMillis() || ageMillis < -Duration.ofMinutes(1).toMillis()) {
+            return Verification.EXPIRED;
+        }
+        return Verification.VALID;
+    }
+
+    private String tag(String uuid) {
+        return TAG_ENCODER.encodeToString(tagBytes(uuid));
+    }
+
+    private byte[] tagBytes(String uuid) {
+        byte[] full = mac.get().doFinal(uuid.getBytes(StandardCharsets.US_ASCII));
+        byte[] truncated = new byte[TAG_BYTES];
+        System.arraycopy(full, 0, truncated, 0, TAG_BYTES);
+        return truncated;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            UUID uuid = UUID.fromString(value);
+            // fromString accepts non-canonical forms like "1-1-1-1-1"
+            return uuid.toString().equalsIgnoreCase(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] decodeTag(String value) {
+        try {
+            return TAG_DECODER.decode(value);
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+}
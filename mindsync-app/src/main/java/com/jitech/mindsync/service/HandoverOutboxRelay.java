@@ -0,0 +1,233 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.model.HandoverOutboxEvent;
+import com.jitech.mindsync.repository.HandoverOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves handover events from the handover_outbox table to handover_stream.
+ * <p>
+ * AuthService writes the event in the same transaction as the new user, so
+ * a handover is never lost when Valkey is down; it just waits here. Every
+ * node runs this relay. Each batch is claimed with FOR UPDATE SKIP LOCKED,
+ * so nodes work on disjoint rows, sent with one pipelined round trip, and
+ * deleted in the same transaction.
+ * <p>
+ * While the Valkey circuit breaker is open nothing is claimed. After a
+ * failed batch the relay backs off, doubling the pause up to
+ * retry-backoff-max-ms. A row whose own XADD failed while Valkey answered
+ * has its attempts bumped; at max-attempts it is parked: left in the table
+ * for an operator, no longer claimed, and counted in the parked gauge. A
+ * batch Valkey did not answer at all costs no attempts.
+ * <p>
+ * Delivery is at-least-once: if the commit fails after Valkey accepted the
+ * batch, or an XADD timed out but was applied, the event is sent again
+ * under a new stream entry ID. Every entry therefore carries the row's
+ * event_id, which HandoverConsumer uses to drop the repeat.
+ * <p>
+ * The backlog gauges need a count and a MIN(created_at) over the table, so
+ * they are refreshed on their own, slower schedule rather than every poll.
+ */
+@Service
+public class HandoverOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandoverOutboxRelay.class);
+
+    private final HandoverOutboxRepository outboxRepository;
+    private final ValkeyService valkeyService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final long maxBackoffMs;
+
+    // Only the scheduler thread touches these
+    private int failedRuns;
+    private long pausedUntilMs;
+
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter parked;
+    private final Timer lag;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestAgeMs = new AtomicLong();
+    private final AtomicLong parkedCount = new AtomicLong();
+
+    @Autowired
+    public HandoverOutboxRelay(HandoverOutboxRepository outboxRepository, ValkeyService valkeyService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${mindsync.handover.batch-size:100}") int batchSize,
+            @Value("${mindsync.handover.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${mindsync.handover.send-timeout-ms:2000}") long sendTimeoutMs,
+            @Value("${mindsync.handover.max-attempts:10}") int maxAttempts,
+            @Value("${mindsync.handover.retry-backoff-max-ms:60000}") long maxBackoffMs) {
+        this.outboxRepository = outboxRepository;
+        this.valkeyService = valkeyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxBackoffMs = maxBackoffMs;
+        this.relayed = Counter.builder("mindsync.handover.outbox.relayed")
+                .description("Handover events sent to handover_stream")
+                .register(meterRegistry);
+        this.failed = Counter.builder("mindsync.handover.outbox.failed")
+                .description("Handover sends that failed and will be retried")
+                .register(meterRegistry);
+        this.parked = Counter.builder("mindsync.handover.outbox.parked.total")
+                .description("Handover events that used up their attempts and were parked")
+                .register(meterRegistry);
+        this.lag = Timer.builder("mindsync.handover.outbox.lag")
+                .description("Time from registration to the event reaching handover_stream")
+                .register(meterRegistry);
+        Gauge.builder("mindsync.handover.outbox.backlog", backlog, AtomicLong::get)
+                .description("Handover events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("mindsync.handover.outbox.parked", parkedCount, AtomicLong::get)
+                .description("Handover events parked in the outbox after max-attempts failures")
+                .register(meterRegistry);
+        Gauge.builder("mindsync.handover.outbox.oldest.age", oldestAgeMs, value -> value.get() / 1000.0)
+                .description("Age of the oldest waiting handover event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox, one transaction per batch, until it is empty, a send
+     * fails, or max-batches-per-run is reached. Skipped while Valkey is known
+     * to be down or the relay is backing off after a failed batch.
+     */
+    @Scheduled(fixedDelayString = "${mindsync.handover.poll-interval-ms:500}")
+    public void relay() {
+        if (System.currentTimeMillis() < pausedUntilMs || !valkeyService.isAvailable()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer claimed = transactionTemplate.execute(status -> relayBatch());
+                if (claimed == null || claimed < 0) {
+                    backOff();
+                    return;
+                }
+                failedRuns = 0;
+                if (claimed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Handover outbox relay failed: {}", e.getMessage());
+            backOff();
+        }
+    }
+
+    /**
+     * Claim, send and settle one batch. Must run inside a transaction so the
+     * row locks are held until the sent rows are deleted.
+     *
+     * @return The number of rows claimed, or -1 if any send failed
+     */
+    int relayBatch() {
+        List<HandoverOutboxEvent> events = outboxRepository.claimBatch(maxAttempts, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Map<String, String>> bodies = new ArrayList<>(events.size());
+        for (HandoverOutboxEvent event : events) {
+            Map<String, String> body = new HashMap<>(4);
+            body.put("event_id", event.getEventId().toString());
+            body.put("guest_id", event.getGuestId());
+            body.put("user_id", event.getUserId().toString());
+            bodies.add(body);
+        }
+
+        List<String> messageIds = valkeyService.sendHandoverMessages(bodies, sendTimeoutMs);
+        // Without any reply Valkey is down, which must not use up the events' attempts
+        boolean answered = !messageIds.isEmpty();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>(events.size());
+        List<HandoverOutboxEvent> failedEvents = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            HandoverOutboxEvent event = events.get(i);
+            if (answered && messageIds.get(i) != null) {
+                sentIds.add(event.getEventId());
+                lag.record(Duration.between(event.getCreatedAt(), now));
+            } else {
+                failedEvents.add(event);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(sentIds);
+            relayed.increment(sentIds.size());
+        }
+        if (!failedEvents.isEmpty()) {
+            failed.increment(failedEvents.size());
+            logger.warn("Failed to relay {} of {} handover events, will retry", failedEvents.size(), events.size());
+            if (answered) {
+                countFailedAttempts(failedEvents);
+            }
+            // Valkey is struggling; leave the rest for a later run
+            return -1;
+        }
+        logger.debug("Relayed {} handover events", sentIds.size());
+        return events.size();
+    }
+
+    private void countFailedAttempts(List<HandoverOutboxEvent> failedEvents) {
+        outboxRepository.incrementAttempts(failedEvents.stream().map(HandoverOutboxEvent::getEventId).toList());
+        for (HandoverOutboxEvent event : failedEvents) {
+            if (event.getAttempts() + 1 >= maxAttempts) {
+                parked.increment();
+                logger.error("Handover event {} (guest_id={}, user_id={}) failed {} times and is parked in the outbox",
+                        event.getEventId(), event.getGuestId(), event.getUserId(), maxAttempts);
+            }
+        }
+    }
+
+    private void backOff() {
+        // 1 s, 2 s, 4 s ... up to retry-backoff-max-ms
+        failedRuns = Math.min(failedRuns + 1, 20);
+        long pauseMs = Math.min(maxBackoffMs, 1000L << (failedRuns - 1));
+        pausedUntilMs = System.currentTimeMillis() + pauseMs;
+        logger.debug("Handover outbox relay paused for {} ms", pauseMs);
+    }
+
+    /**
+     * Publish the outbox size, the age of its oldest event and the number of
+     * parked events. Runs every 30 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${mindsync.handover.backlog-refresh-ms:30000}")
+    public void refreshBacklog() {
+        try {
+            long parkedEvents = outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+            parkedCount.set(parkedEvents);
+            backlog.set(outboxRepository.count() - parkedEvents);
+            LocalDateTime oldest = outboxRepository.findOldestCreatedAt(maxAttempts);
+            oldestAgeMs.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0);
+        } catch (Exception e) {
+            logger.debug("Could not read handover outbox backlog: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.jitech.mindsync.service;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes handover entries for ValkeyService in one pipelined round trip:
+ * every XADD is written before any reply is awaited. Batches go out one at
+ * a time, as the pipeline connection is flushed by hand.
+ */
+@Component
+public class HandoverPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandoverPipeline.class);
+    private static final String HANDOVER_STREAM = "handover_stream";
+    private static final int MAX_STREAM_LENGTH = 1000;
+
+    private final ValkeyConnections connections;
+    private final Object lock = new Object();
+
+    @Autowired
+    public HandoverPipeline(ValkeyConnections connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * @param bodies    Stream entries (event_id, guest_id, user_id)
+     * @param timeoutMs How long to wait for all replies
+     * @return The stream entry ID per entry, null where that XADD failed or
+     *         timed out; empty if none of them got a reply
+     */
+    List<String> send(List<Map<String, String>> bodies, long timeoutMs) {
+        synchronized (lock) {
+            RedisClusterAsyncCommands<String, String> async = ValkeyTopology.async(connections.pipelineConnection());
+            XAddArgs args = XAddArgs.Builder.maxlen(MAX_STREAM_LENGTH).approximateTrimming();
+            List<RedisFuture<String>> futures = new ArrayList<>(bodies.size());
+            for (Map<String, String> body : bodies) {
+                futures.add(async.xadd(HANDOVER_STREAM, args, body));
+            }
+            connections.pipelineConnection().flushCommands();
+            return awaitReplies(futures, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        }
+    }
+
+    /**
+     * Wait for every reply until the deadline. An error reply is specific to
+     * its entry and still shows Valkey is up; a timeout does not.
+     *
+     * @return The entry ID per future, null where it failed or timed out;
+     *         empty if none of them got a reply
+     */
+    private static List<String> awaitReplies(List<RedisFuture<String>> futures, long deadlineNanos) {
+        List<String> messageIds = new ArrayList<>(futures.size());
+        boolean answered = false;
+        for (RedisFuture<String> future : futures) {
+            String messageId = null;
+            try {
+                messageId = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                answered = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                answered |= e.getCause() instanceof RedisCommandExecutionException;
+            } catch (TimeoutException e) {
+                // Unknown outcome: the XADD may still be applied, which is why entries carry event_id
+                logger.debug("Timed out waiting for a handover XADD reply");
+            }
+            messageIds.add(messageId);
+        }
+        return answered ? messageIds : List.of();
+    }
+}
@@ -11,6 +11,7 @@ import com.jitech.mindsync.repository.GendersRepository;
 import com.jitech.mindsync.repository.OccupationsRepository;
 import com.jitech.mindsync.repository.UserRepository;
 import com.jitech.mindsync.repository.WorkRemotesRepository;
+import com.jitech.mindsync.security.ProfileClaims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +19,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -33,6 +35,8 @@ public class ProfileService {
     private final OtpService otpService;
     private final EmailService emailService;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Autowired
     public ProfileService(
@@ -42,7 +46,9 @@ public class ProfileService {
             WorkRemotesRepository workRemotesRepository,
             OtpService otpService,
             EmailService emailService,
-            BCryptPasswordEncoder passwordEncoder) {
+            BCryptPasswordEncoder passwordEncoder,
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.gendersRepository = gendersRepository;
         this.occupationsRepository = occupationsRepository;
@@ -50,6 +56,8 @@ public class ProfileService {
         this.otpService = otpService;
         this.emailService = emailService;
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public ProfileResponse getProfile(String userId) {
@@ -61,14 +69,33 @@ public class ProfileService {
                 });
 
         logger.debug("Profile retrieved successfully for userId: {}", user.getUserId());
-        return new ProfileResponse(
-                user.getUserId(),
-                user.getEmail(),
-                user.getName(),
-                user.getDob(),
-                user.getGender() != null ? user.getGender().getGenderName() : null,
-                user.getOccupation() != null ? user.getOccupation().getOccupationName() : null,
-                user.getWorkRmt() != null ? user.getWorkRmt().getWorkRmtName() : null);
+        return toProfileResponse(user);
+    }
+
+    /**
+     * Load several profiles with a single query. Ids without a user are
+     * skipped, so the result may be shorter than the input.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileResponse> getProfiles(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        logger.debug("Fetching {} profiles", userIds.size());
+        return userRepository.findAllWithProfileByIdIn(userIds).stream()
+                .map(ProfileService::toProfileResponse)
+                .toList();
+    }
+
+    /**
+     * Load the profile fields embedded in access tokens. Called on every token
+     * issue, so changes from updateProfile show up in the next token.
+     */
+    @Transactional(readOnly = true)
+    public ProfileClaims getProfileClaims(UUID userId) {
+        return userRepository.findWithProfileById(userId)
+                .map(ProfileClaims::of)
+                .orElse(null);
     }
 
     @Transactional
@@ -130,21 +157,13 @@ public class ProfileService {
         Users savedUser = userRepository.save(user);
         logger.info("Profile updated successfully for userId: {}", savedUser.getUserId());
 
-        return new ProfileResponse(
-                savedUser.getUserId(),
-                savedUser.getEmail(),
-                savedUser.getName(),
-                savedUser.getDob(),
-                savedUser.getGender() != null ? savedUser.getGender().getGenderName() : null,
-                savedUser.getOccupation() != null ? savedUser.getOccupation().getOccupationName() : null,
-                savedUser.getWorkRmt() != null ? savedUser.getWorkRmt().getWorkRmtName() : null);
+        return toProfileResponse(savedUser);
     }
 
     public void requestPasswordReset(String email) {
         logger.info("Password reset requested for email: {}", email);
         // Verify user exists - silently return if not found to prevent user enumeration
-        Optional<Users> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty()) {
+        if (userRepository.findByEmail(email).isEmpty()) {
             // Don't reveal whether user exists - just return silently
             logger.warn("Password reset requested for non-existent email (user enumeration attack prevention): {}",
                     email);
@@ -185,6 +204,9 @@ public class ProfileService {
         userRepository.save(user);
         logger.info("Password reset successfully for userId: {}, email: {}", user.getUserId(), email);
 
+        // Sign out every session that used the old password
+        revokeAllSessions(user.getUserId());
+
         // Send confirmation email
         emailService.sendPasswordChangedEmail(email);
 
@@ -219,9 +241,28 @@ public class ProfileService {
         userRepository.save(user);
         logger.info("Password changed successfully for userId: {}", user.getUserId());
 
+        // Sign out every session that used the old password
+        revokeAllSessions(user.getUserId());
+
         // Send confirmation email
         emailService.sendPasswordChangedEmail(user.getEmail());
 
         return true;
     }
+
+    private void revokeAllSessions(UUID userId) {
+        refreshTokenService.revokeAllForUser(userId);
+        tokenRevocationService.revokeAllForUser(userId.toString());
+    }
+
+    private static ProfileResponse toProfileResponse(Users user) {
+        return new ProfileResponse(
+                user.getUserId(),
+                user.getEmail(),
+                user.getName(),
+                user.getDob(),
+                user.getGender() != null ? user.getGender().getGenderName() : null,
+                user.getOccupation() != null ? user.getOccupation().getOccupationName() : null,
+                user.getWorkRmt() != null ? user.getWorkRmt().getWorkRmtName() : null);
+    }
 }
@@ -0,0 +1,206 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.model.RefreshToken;
+import com.jitech.mindsync.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * Every refresh consumes the presented token and returns a new one from the
+ * same family. Presenting a token that was already rotated means it leaked,
+ * so the whole family is revoked and the user has to log in again. Two
+ * requests racing to rotate the same valid token are not reuse: the loser
+ * gets a ConcurrentRotationException and the family stays valid.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final long refreshExpirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * A freshly issued refresh token. The raw token only exists here and in
+     * the client's cookie.
+     */
+    public record IssuedRefreshToken(String token, UUID userId, UUID familyId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Another request rotated the same token between this request's read and
+     * its update, e.g. two tabs refreshing at once. The winner's response
+     * carries the new token, so the client should retry rather than log out.
+     */
+    public static class ConcurrentRotationException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public ConcurrentRotationException() {
+            super("Refresh token was rotated by a concurrent request");
+        }
+    }
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationService tokenRevocationService,
+            @Value("${mindsync.jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Start a new refresh token family, e.g. on login or registration.
+     */
+    @Transactional
+    public IssuedRefreshToken issue(UUID userId) {
+        UUID familyId = UUID.randomUUID();
+        IssuedRefreshToken issued = newToken(userId, familyId);
+        save(issued);
+        logger.info("Refresh token family {} started for userId: {}", familyId, userId);
+        return issued;
+    }
+
+    /**
+     * Exchange a refresh token for a new one from the same family.
+     * Rejected tokens throw IllegalArgumentException; a reused token also
+     * revokes its family, which is committed despite the exception. Losing a
+     * race with a concurrent rotation of the same token throws
+     * ConcurrentRotationException and revokes nothing.
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public IssuedRefreshToken rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new IllegalArgumentException("Refresh token is missing");
+        }
+
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (found.isEmpty()) {
+            logger.warn("Refresh failed - Unknown refresh token");
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        RefreshToken current = found.get();
+
+        if (current.isRevoked()) {
+            if (current.getReplacedBy() != null) {
+                revokeReusedFamily(current);
+            }
+            logger.warn("Refresh failed - Revoked refresh token for userId: {}", current.getUserId());
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+        if (current.isExpired()) {
+            logger.warn("Refresh failed - Expired refresh token for userId: {}", current.getUserId());
+            throw new IllegalArgumentException("Refresh token has expired");
+        }
+
+        IssuedRefreshToken next = newToken(current.getUserId(), current.getFamilyId());
+        if (refreshTokenRepository.markRotated(current.getTokenId(), hash(next.token())) != 1) {
+            // Someone else rotated it between our read and the update. It was valid when we read
+            // it, so this is a concurrent refresh, not reuse of a leaked token.
+            logger.info("Refresh token for userId: {} was rotated by a concurrent request", current.getUserId());
+            throw new ConcurrentRotationException();
+        }
+        save(next);
+        logger.debug("Refresh token rotated for userId: {}, family: {}", current.getUserId(), current.getFamilyId());
+        return next;
+    }
+
+    /**
+     * Revoke every token of one family (a single login session), e.g. on logout.
+     * Access tokens already issued for the session are revoked as well.
+     */
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        int revoked = refreshTokenRepository.revokeFamily(familyId);
+        tokenRevocationService.revokeSession(familyId.toString());
+        logger.info("Revoked {} refresh token(s) of family {}", revoked, familyId);
+    }
+
+    /**
+     * Revoke the family a refresh token belongs to, e.g. on logout when the
+     * access token is missing or expired. Unknown tokens and families that
+     * were already revoked are ignored.
+     */
+    @Transactional
+    public void revokeFamilyOf(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                // Revoked without a successor means its family was revoked already
+                .filter(token -> !token.isRevoked() || token.getReplacedBy() != null)
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Revoke every refresh token of a user, ending all sessions at their next refresh.
+     */
+    @Transactional
+    public void revokeAllForUser(UUID userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId);
+        logger.info("Revoked {} refresh token(s) for userId: {}", revoked, userId);
+    }
+
+    /**
+     * Delete expired rows. Runs once a day by default.
+     */
+    @Scheduled(cron = "${mindsync.jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        logger.info("Purged {} expired refresh token(s)", deleted);
+    }
+
+    public int getExpirationSeconds() {
+        return (int) (refreshExpirationMs / 1000);
+    }
+
+    private void revokeReusedFamily(RefreshToken reused) {
+        logger.warn("Refresh token reuse detected for userId: {}, revoking family {}",
+                reused.getUserId(), reused.getFamilyId());
+        refreshTokenRepository.revokeFamily(reused.getFamilyId());
+        tokenRevocationService.revokeSession(reused.getFamilyId().toString());
+    }
+
+    private IssuedRefreshToken newToken(UUID userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs));
+        return new IssuedRefreshToken(token, userId, familyId, expiresAt);
+    }
+
+    private void save(IssuedRefreshToken issued) {
+        refreshTokenRepository.save(new RefreshToken(hash(issued.token()), issued.userId(), issued.familyId(),
+                LocalDateTime.now(), issued.expiresAt()));
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
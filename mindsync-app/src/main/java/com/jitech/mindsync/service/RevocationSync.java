@@ -0,0 +1,134 @@
+package com.jitech.mindsync.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps TokenRevocationService's entries in Valkey, where they outlive a
+ * restart, and in step with the other nodes over pub/sub. An entry whose
+ * write or broadcast fails while Valkey is down stays pending: this node
+ * rejects it without asking Valkey, and it is written and published again
+ * once Valkey is back, so the revocation is not lost.
+ */
+class RevocationSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationSync.class);
+
+    private final ValkeyService valkeyService;
+    private final String keyPrefix;
+    private final String channel;
+    private final BiConsumer<String, String> applier;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    // entry -> write that has not reached Valkey yet
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    private record PendingWrite(String value, Instant expiresAt) {
+    }
+
+    /**
+     * @param applier Applies an entry and its value to the local state
+     */
+    RevocationSync(ValkeyService valkeyService, String keyPrefix, String channel,
+            BiConsumer<String, String> applier) {
+        this.valkeyService = valkeyService;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.applier = applier;
+    }
+
+    /**
+     * Start listening for entries from the other nodes, unless already listening.
+     *
+     * @return true if this call established the subscription
+     */
+    boolean subscribe() {
+        if (subscribed.get()) {
+            return false;
+        }
+        boolean established = valkeyService.subscribe(channel, this::onMessage);
+        subscribed.set(established);
+        return established;
+    }
+
+    /**
+     * Apply every entry still stored in Valkey.
+     *
+     * @return The number of entries loaded
+     */
+    int load() {
+        Map<String, String> stored = valkeyService.scanValues(keyPrefix + "*");
+        stored.forEach((key, value) -> applier.accept(key.substring(keyPrefix.length()), value));
+        return stored.size();
+    }
+
+    /**
+     * Store an entry in Valkey and announce it to the other nodes, or keep
+     * it pending if either fails.
+     */
+    void write(String entry, String value, long ttlSeconds) {
+        if (send(entry, value, ttlSeconds)) {
+            pendingWrites.remove(entry);
+            return;
+        }
+        pendingWrites.put(entry, new PendingWrite(value, Instant.now().plusSeconds(ttlSeconds)));
+        logger.warn("Revocation {} not written to Valkey, kept locally until it is", entry);
+    }
+
+    /**
+     * Whether an entry was revoked here but is not in Valkey yet.
+     */
+    boolean isPending(String entry) {
+        PendingWrite pending = pendingWrites.get(entry);
+        return pending != null && pending.expiresAt().isAfter(Instant.now());
+    }
+
+    /**
+     * Write pending entries again, dropping those that have expired. Stops at
+     * the first failure, as Valkey is then still unavailable.
+     *
+     * @return The number of entries still pending
+     */
+    int retryPendingWrites() {
+        Instant now = Instant.now();
+        pendingWrites.values().removeIf(pending -> !pending.expiresAt().isAfter(now));
+        int written = 0;
+        for (Map.Entry<String, PendingWrite> pending : pendingWrites.entrySet()) {
+            PendingWrite write = pending.getValue();
+            if (!send(pending.getKey(), write.value(), Duration.between(now, write.expiresAt()).toSeconds() + 1)) {
+                break;
+            }
+            pendingWrites.remove(pending.getKey(), write);
+            written++;
+        }
+        if (written > 0) {
+            logger.info("Wrote {} pending revocation(s) to Valkey, {} left", written, pendingWrites.size());
+        }
+        return pendingWrites.size();
+    }
+
+    int pendingCount() {
+        return pendingWrites.size();
+    }
+
+    void onMessage(String message) {
+        int separator = message.lastIndexOf('=');
+        if (separator <= 0) {
+            logger.warn("Ignoring malformed revocation message: {}", message);
+            return;
+        }
+        applier.accept(message.substring(0, separator), message.substring(separator + 1));
+    }
+
+    private boolean send(String entry, String value, long ttlSeconds) {
+        return valkeyService.setWithExpiry(keyPrefix + entry, value, ttlSeconds)
+                && valkeyService.publish(channel, entry + "=" + value);
+    }
+}
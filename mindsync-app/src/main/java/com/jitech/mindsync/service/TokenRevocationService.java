@@ -0,0 +1,222 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.BloomFilter;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Revokes access tokens before they expire without a lookup per request.
+ * Two mechanisms, both checked in memory by JwtAuthenticationFilter:
+ * <ul>
+ * <li>a per-user epoch: tokens issued up to and including its second are rejected
+ * (password change / reset)</li>
+ * <li>a denylist of jti and sid values (logout, refresh token reuse), held in a
+ * two-generation Bloom filter; a hit is confirmed against Valkey before rejecting</li>
+ * </ul>
+ * Entries are written to Valkey with a TTL of one access token lifetime, loaded
+ * on startup (and again once a failed subscription is established) and
+ * broadcast to the other nodes over pub/sub. Entries revoked while Valkey is
+ * down are trusted locally and written once it is back (see RevocationSync).
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    static final String CHANNEL = "token_revocations";
+    static final String KEY_PREFIX = "revocation:";
+    private static final String EPOCH = "epoch";
+    private static final String JTI = "jti";
+    private static final String SID = "sid";
+
+    private final ValkeyService valkeyService;
+    private final RevocationSync sync;
+    private final Duration accessTokenLifetime;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    // userId -> tokens issued up to and including this second are revoked
+    private final Map<String, Instant> userEpochs = new ConcurrentHashMap<>();
+
+    // Entries live at least one lifetime: added to current, dropped two rotations later
+    private final AtomicReference<BloomFilter> currentDenylist = new AtomicReference<>();
+    private final AtomicReference<BloomFilter> previousDenylist = new AtomicReference<>();
+
+    private final Counter epochRejections;
+    private final Counter denylistRejections;
+    private final Counter falsePositives;
+
+    @Autowired
+    public TokenRevocationService(ValkeyService valkeyService, MeterRegistry meterRegistry,
+            @Value("${mindsync.jwt.expiration}") long accessTokenLifetimeMs,
+            @Value("${mindsync.jwt.revocation.expected-entries:100000}") int expectedRevocations,
+            @Value("${mindsync.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.valkeyService = valkeyService;
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenLifetimeMs);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.sync = new RevocationSync(valkeyService, KEY_PREFIX, CHANNEL, this::apply);
+        this.currentDenylist.set(new BloomFilter(expectedRevocations, falsePositiveRate));
+        this.previousDenylist.set(new BloomFilter(expectedRevocations, falsePositiveRate));
+        this.epochRejections = Counter.builder("mindsync.jwt.revocation.rejections")
+                .tag("type", EPOCH)
+                .register(meterRegistry);
+        this.denylistRejections = Counter.builder("mindsync.jwt.revocation.rejections")
+                .tag("type", "denylist")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("mindsync.jwt.revocation.false-positives")
+                .register(meterRegistry);
+        meterRegistry.gauge("mindsync.jwt.revocation.user-epochs", userEpochs, Map::size);
+        meterRegistry.gauge("mindsync.jwt.revocation.pending-writes", sync, RevocationSync::pendingCount);
+    }
+
+    /**
+     * Load revocations that are still live and start listening for new ones.
+     */
+    @PostConstruct
+    public void init() {
+        // Subscribe first, so nothing published between the scan and the subscription is missed
+        sync.subscribe();
+        int loaded = sync.load();
+        BloomFilter denylist = currentDenylist.get();
+        logger.info("Token revocation initialized: {} entries loaded, denylist {} bits / {} hashes",
+                loaded, denylist.bitSize(), denylist.hashCount());
+    }
+
+    /**
+     * Reject every token of a user issued up to now, e.g. after a password change.
+     * The user has to log in again afterwards.
+     */
+    public void revokeAllForUser(String userId) {
+        // iat has second precision, so the epoch does too. Tokens issued within the
+        // epoch's second are rejected as well, since they may predate the change.
+        String epoch = Long.toString(Instant.now().truncatedTo(ChronoUnit.SECONDS).getEpochSecond());
+        store(EPOCH + ":" + userId, epoch, accessTokenLifetime.toSeconds());
+        logger.info("All tokens revoked for userId: {}", userId);
+    }
+
+    /**
+     * Reject a single token by its jti until it expires, e.g. on logout.
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long ttl = expiresAt != null
+                ? Duration.between(Instant.now(), expiresAt).toSeconds() + 1
+                : accessTokenLifetime.toSeconds();
+        if (ttl <= 0) {
+            return; // already expired
+        }
+        store(JTI + ":" + tokenId, "1", ttl);
+        logger.debug("Token revoked: jti={}", tokenId);
+    }
+
+    /**
+     * Reject every access token of one session (refresh token family).
+     */
+    public void revokeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        store(SID + ":" + sessionId, "1", accessTokenLifetime.toSeconds());
+        logger.debug("Session revoked: sid={}", sessionId);
+    }
+
+    /**
+     * Check a verified token against the revocation state. Only a denylist hit,
+     * which is rare, costs a Valkey round trip.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token == null || !token.isValid()) {
+            return false;
+        }
+        Instant epoch = userEpochs.get(token.getSubject());
+        if (epoch != null && (token.getIssuedAt() == null || !token.getIssuedAt().isAfter(epoch))) {
+            epochRejections.increment();
+            return true;
+        }
+        if ((token.getTokenId() != null && isDenied(JTI + ":" + token.getTokenId()))
+                || (token.getSessionId() != null && isDenied(SID + ":" + token.getSessionId()))) {
+            denylistRejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Age out old state: swap denylist generations and drop epochs older than
+     * any token that could still be valid. Also retries the subscription if
+     * Valkey was down at startup, and once it succeeds reloads the stored
+     * revocations, since whatever was published in the meantime was missed.
+     */
+    @Scheduled(fixedDelayString = "${mindsync.jwt.expiration}", initialDelayString = "${mindsync.jwt.expiration}")
+    public void rotate() {
+        previousDenylist.set(currentDenylist.getAndSet(new BloomFilter(expectedRevocations, falsePositiveRate)));
+        Instant cutoff = Instant.now().minus(accessTokenLifetime);
+        userEpochs.values().removeIf(epoch -> epoch.isBefore(cutoff));
+        if (sync.subscribe()) {
+            logger.info("Token revocation subscribed late: {} entries reloaded", sync.load());
+        }
+    }
+
+    /**
+     * Write revocations that could not be written while Valkey was down.
+     * Runs every 5 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${mindsync.jwt.revocation.retry-interval-ms:5000}")
+    public void retryPendingWrites() {
+        sync.retryPendingWrites();
+    }
+
+    private boolean isDenied(String entry) {
+        if (!currentDenylist.get().mightContain(entry) && !previousDenylist.get().mightContain(entry)) {
+            return false;
+        }
+        // Revoked here while Valkey was down, so Valkey cannot confirm it yet
+        if (sync.isPending(entry)) {
+            return true;
+        }
+        Boolean stored = valkeyService.exists(KEY_PREFIX + entry);
+        if (Boolean.FALSE.equals(stored)) {
+            falsePositives.increment();
+            return false;
+        }
+        // Confirmed, or Valkey is unavailable: fail closed
+        return true;
+    }
+
+    private void store(String entry, String value, long ttlSeconds) {
+        apply(entry, value);
+        sync.write(entry, value, ttlSeconds);
+    }
+
+    private void apply(String entry, String value) {
+        if (entry.startsWith(EPOCH + ":")) {
+            try {
+                Instant epoch = Instant.ofEpochSecond(Long.parseLong(value));
+                userEpochs.merge(entry.substring(EPOCH.length() + 1), epoch,
+                        (existing, incoming) -> incoming.isAfter(existing) ? incoming : existing);
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring revocation epoch with invalid value: {}={}", entry, value);
+            }
+        } else {
+            currentDenylist.get().put(entry);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.service.ValkeyService.Mode;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The connections behind ValkeyService, for the topology selected by
+ * valkey.mode (see {@link ValkeyTopology}). If Valkey is unreachable at startup a background
+ * task keeps reconnecting with exponential backoff; once connected, Lettuce
+ * reconnects dropped connections itself with the same backoff.
+ * <p>
+ * valkey.mode selects the topology:
+ * <ul>
+ * <li>standalone: valkey.url is one node.</li>
+ * <li>sentinel: valkey.url is a redis-sentinel:// URI naming the master
+ * (e.g. redis-sentinel://s1:26379,s2:26379#mymaster); connections follow
+ * Sentinel's switch-master events, so a failover needs no restart.</li>
+ * <li>cluster: valkey.url is a comma-separated list of seed nodes; the slot
+ * map is refreshed every valkey.topology-refresh-ms and on MOVED/ASK
+ * redirects and reconnects.</li>
+ * </ul>
+ */
+@Component
+public class ValkeyConnections {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValkeyConnections.class);
+
+    private final Mode mode;
+    private final String valkeyUrl;
+    private final ValkeyTopology topology;
+    // Null when every read goes to the primary
+    private final ReadFrom replicaReadFrom;
+    private final Duration commandTimeout;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter reconnectAttempts;
+    private final AtomicReference<StatefulConnection<String, String>> connection = new AtomicReference<>();
+    private final AtomicBoolean shuttingDown = new AtomicBoolean();
+    // Guards the lazily opened connections below and the reconnect executor
+    private final Object lock = new Object();
+
+    // Auto-flush is off on this one, so it is only used for pipelined batches
+    private StatefulConnection<String, String> pipelineConnection;
+    // Reads from replicas per valkey.read-from; opened on first use
+    private StatefulConnection<String, String> replicaReadConnection;
+    // Subscriptions need their own connection; opened on the first subscribe
+    private StatefulRedisPubSubConnection<String, String> pubSubConnection;
+    private ScheduledExecutorService reconnectExecutor;
+
+    @Autowired
+    public ValkeyConnections(MeterRegistry meterRegistry,
+            @Value("${valkey.mode:standalone}") String mode,
+            @Value("${valkey.url:redis://localhost:6379}") String valkeyUrl,
+            @Value("${valkey.read-from:upstream}") String readFrom,
+            @Value("${valkey.topology-refresh-ms:60000}") long topologyRefreshMs,
+            @Value("${valkey.command-timeout-ms:1000}") long commandTimeoutMs,
+            @Value("${valkey.reconnect.initial-backoff-ms:500}") long initialBackoffMs,
+            @Value("${valkey.reconnect.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.valkeyUrl = valkeyUrl;
+        // Lettuce names are camelCase ("replicaPreferred"); also accept "replica-preferred"
+        ReadFrom parsedReadFrom = ReadFrom.valueOf(readFrom.trim().replace("-", ""));
+        this.replicaReadFrom = parsedReadFrom == ReadFrom.UPSTREAM ? null : parsedReadFrom;
+        if (this.replicaReadFrom != null && this.mode == Mode.STANDALONE) {
+            logger.warn("valkey.read-from={} has no effect in standalone mode", readFrom);
+        }
+        this.commandTimeout = Duration.ofMillis(Math.max(1, commandTimeoutMs));
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.topology = new ValkeyTopology(this.mode, valkeyUrl, Duration.ofMillis(Math.max(1000, topologyRefreshMs)),
+                commandTimeout, Duration.ofMillis(this.initialBackoffMs), Duration.ofMillis(this.maxBackoffMs));
+        this.reconnectAttempts = Counter.builder("mindsync.valkey.reconnect.attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create the client and connect, or keep retrying in the background if
+     * Valkey is unreachable. An invalid configuration is logged, not thrown,
+     * so the app still starts without Valkey.
+     */
+    void connect() {
+        try {
+            topology.createClient();
+        } catch (Exception e) {
+            logger.error("Invalid Valkey configuration for {}. Error: {}. Handover messages will not be sent.",
+                    maskUrl(valkeyUrl), e.getMessage());
+            return;
+        }
+        if (!tryConnect(initialBackoffMs)) {
+            scheduleReconnect(initialBackoffMs);
+        }
+    }
+
+    void disconnect() {
+        shuttingDown.set(true);
+        synchronized (lock) {
+            if (reconnectExecutor != null) {
+                reconnectExecutor.shutdownNow();
+            }
+            if (pubSubConnection != null) {
+                pubSubConnection.close();
+                logger.info("Closed Valkey pub/sub connection");
+            }
+            if (pipelineConnection != null) {
+                pipelineConnection.close();
+            }
+            if (replicaReadConnection != null) {
+                replicaReadConnection.close();
+            }
+        }
+        if (connection.get() != null) {
+            connection.get().close();
+            logger.info("Closed Valkey connection");
+        }
+        topology.shutdown();
+    }
+
+    private boolean tryConnect(long retryDelayMs) {
+        try {
+            connection.set(topology.connect(null));
+            logger.info("Successfully connected to Valkey ({}) at: {}", mode.name().toLowerCase(Locale.ROOT),
+                    maskUrl(valkeyUrl));
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to connect to Valkey at: {}. Error: {}. Retrying in ~{} ms.",
+                    maskUrl(valkeyUrl), e.getMessage(), retryDelayMs);
+            return false;
+        }
+    }
+
+    /**
+     * Retry the initial connection in the background, doubling the delay up
+     * to valkey.reconnect.max-backoff-ms. Jittered by ±20% so nodes that
+     * lost Valkey together do not all reconnect at the same instant.
+     */
+    private void scheduleReconnect(long delayMs) {
+        synchronized (lock) {
+            if (shuttingDown.get()) {
+                return;
+            }
+            if (reconnectExecutor == null) {
+                reconnectExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "valkey-reconnect");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            long jitteredMs = (long) (delayMs * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+            long nextDelayMs = Math.min(delayMs * 2, maxBackoffMs);
+            reconnectExecutor.schedule(() -> {
+                reconnectAttempts.increment();
+                if (!shuttingDown.get() && !tryConnect(nextDelayMs)) {
+                    scheduleReconnect(nextDelayMs);
+                }
+            }, jitteredMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The shared connection to the primary, or null while not connected.
+     */
+    StatefulConnection<String, String> getConnection() {
+        return connection.get();
+    }
+
+    /**
+     * The connection for pipelined batches, with auto-flush off, opened on
+     * first use. Callers must not share it between concurrent batches.
+     */
+    StatefulConnection<String, String> pipelineConnection() {
+        synchronized (lock) {
+            if (pipelineConnection == null) {
+                pipelineConnection = topology.connect(null);
+                pipelineConnection.setAutoFlushCommands(false);
+            }
+            return pipelineConnection;
+        }
+    }
+
+    /**
+     * The connection for reads that tolerate replica lag, or the shared one
+     * when replica reads are off or not possible.
+     */
+    StatefulConnection<String, String> replicaReadConnection() {
+        if (replicaReadFrom == null || mode == Mode.STANDALONE || connection.get() == null) {
+            return connection.get();
+        }
+        synchronized (lock) {
+            if (replicaReadConnection == null) {
+                try {
+                    replicaReadConnection = topology.connect(replicaReadFrom);
+                } catch (Exception e) {
+                    logger.warn("Could not open Valkey replica connection, reading from the primary. error={}",
+                            e.getMessage());
+                    return connection.get();
+                }
+            }
+            return replicaReadConnection;
+        }
+    }
+
+    /**
+     * The pub/sub connection, opened on first use.
+     */
+    StatefulRedisPubSubConnection<String, String> pubSubConnection() {
+        synchronized (lock) {
+            if (pubSubConnection == null) {
+                pubSubConnection = topology.connectPubSub();
+            }
+            return pubSubConnection;
+        }
+    }
+
+    boolean isConnected() {
+        try {
+            return connection.get() != null && connection.get().isOpen();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    Duration getCommandTimeout() {
+        return commandTimeout;
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Mask sensitive parts of the URL for logging.
+     */
+    private static String maskUrl(String url) {
+        if (url.contains("@")) {
+            return url.replaceAll("://([^:]+):([^@]+)@", "://$1:***@");
+        }
+        return url;
+    }
+}
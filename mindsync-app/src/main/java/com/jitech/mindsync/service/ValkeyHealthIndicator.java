@@ -0,0 +1,81 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Valkey entry of /actuator/health, also exported as the mindsync.valkey.up
+ * gauge. The result is cached for valkey.health.cache-ttl-ms, so health
+ * checks and Prometheus scrapes share one PING instead of sending one each.
+ * While the circuit breaker is open it reports DOWN without touching Valkey.
+ */
+@Component
+public class ValkeyHealthIndicator implements HealthIndicator {
+
+    private final ValkeyService valkeyService;
+    private final long cacheTtlNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<CachedHealth> cached = new AtomicReference<>();
+
+    private record CachedHealth(Health health, long checkedAt) {
+    }
+
+    @Autowired
+    public ValkeyHealthIndicator(ValkeyService valkeyService, MeterRegistry meterRegistry,
+            @Value("${valkey.health.cache-ttl-ms:10000}") long cacheTtlMs) {
+        this(valkeyService, meterRegistry, cacheTtlMs, System::nanoTime);
+    }
+
+    ValkeyHealthIndicator(ValkeyService valkeyService, MeterRegistry meterRegistry, long cacheTtlMs,
+            LongSupplier nanoClock) {
+        this.valkeyService = valkeyService;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cacheTtlMs));
+        this.nanoClock = nanoClock;
+        Gauge.builder("mindsync.valkey.up", this, indicator -> Status.UP.equals(indicator.health().getStatus()) ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Health health() {
+        long now = nanoClock.getAsLong();
+        CachedHealth current = cached.get();
+        if (current != null && now - current.checkedAt() < cacheTtlNanos) {
+            return current.health();
+        }
+        Health health = check();
+        cached.set(new CachedHealth(health, now));
+        return health;
+    }
+
+    private Health check() {
+        CircuitBreaker.State circuit = valkeyService.getCircuitState();
+        Health.Builder builder;
+        if (!valkeyService.isConnected()) {
+            builder = Health.down().withDetail("reason", "not connected");
+        } else if (circuit == CircuitBreaker.State.OPEN) {
+            builder = Health.down().withDetail("reason", "circuit breaker open");
+        } else {
+            Duration latency = valkeyService.ping();
+            builder = latency != null
+                    ? Health.up().withDetail("latencyMs", latency.toNanos() / 1_000_000.0)
+                    : Health.down().withDetail("reason", "ping failed");
+        }
+        return builder.withDetail("mode", valkeyService.getMode().name().toLowerCase(Locale.ROOT))
+                .withDetail("circuit", circuit.name().toLowerCase(Locale.ROOT))
+                .build();
+    }
+}
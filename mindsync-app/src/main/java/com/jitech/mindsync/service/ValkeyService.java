@@ -0,0 +1,333 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.CircuitBreaker;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service for interacting with Valkey (Redis-compatible) streams.
+ * Handles guest-to-user handover messages via streams, plus the small
+ * key/value and pub/sub operations used to share state between nodes.
+ * <p>
+ * Valkey is optional at runtime: the app still starts without it and
+ * {@link ValkeyConnections} keeps reconnecting in the background. Commands
+ * time out after valkey.command-timeout-ms and go through a circuit breaker,
+ * so while Valkey is down callers get their "unavailable" result at once
+ * instead of waiting for a timeout. Command latency is recorded as
+ * mindsync.valkey.command{command,outcome}.
+ * <p>
+ * Writes and consistency-sensitive reads (revocation checks) always go to
+ * the primary. valkey.read-from (e.g. replica-preferred) only applies to
+ * the bulk startup scan, where a slightly stale replica is harmless.
+ */
+@Service
+@SuppressWarnings("PMD.TooManyMethods") // one method per Valkey command
+public class ValkeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValkeyService.class);
+
+    public enum Mode {
+        STANDALONE, SENTINEL, CLUSTER
+    }
+
+    private final ValkeyConnections connections;
+    private final HandoverPipeline handoverPipeline;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> commandTimers = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    @Autowired
+    public ValkeyService(MeterRegistry meterRegistry, ValkeyConnections connections, HandoverPipeline handoverPipeline,
+            @Value("${valkey.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${valkey.circuit-breaker.open-ms:5000}") long openMs) {
+        this.meterRegistry = meterRegistry;
+        this.connections = connections;
+        this.handoverPipeline = handoverPipeline;
+        this.circuitBreaker = new CircuitBreaker("valkey", failureThreshold, openMs);
+        this.rejected = Counter.builder("mindsync.valkey.rejected")
+                .description("Commands refused while the circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("mindsync.valkey.connected", this, service -> service.isConnected() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("mindsync.valkey.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Initialize Valkey connection on startup.
+     */
+    @PostConstruct
+    public void connect() {
+        connections.connect();
+    }
+
+    /**
+     * Close Valkey connection on shutdown.
+     */
+    @PreDestroy
+    public void disconnect() {
+        connections.disconnect();
+    }
+
+    /**
+     * Run one command on the shared connection through the circuit breaker
+     * and record its latency.
+     *
+     * @throws ValkeyUnavailableException if not connected or the breaker is open;
+     *                                    nothing is sent in that case
+     */
+    private <T> T execute(String command, Function<RedisClusterCommands<String, String>, T> action) {
+        return execute(command, connections.getConnection(), action);
+    }
+
+    private <T> T execute(String command, StatefulConnection<String, String> current,
+            Function<RedisClusterCommands<String, String>, T> action) {
+        if (current == null) {
+            throw new ValkeyUnavailableException("not connected");
+        }
+        if (!circuitBreaker.allowRequest()) {
+            rejected.increment();
+            throw new ValkeyUnavailableException("circuit breaker open");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = action.apply(ValkeyTopology.sync(current));
+            circuitBreaker.recordSuccess();
+            recordLatency(command, "success", start);
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            recordLatency(command, "error", start);
+            throw e;
+        }
+    }
+
+    private void recordLatency(String command, String outcome, long startNanos) {
+        commandTimers.computeIfAbsent(command + ':' + outcome, key -> Timer.builder("mindsync.valkey.command")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(connections.getCommandTimeout().multipliedBy(2))
+                .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Send several handover messages in one pipelined round trip. Used by
+     * HandoverOutboxRelay.
+     *
+     * @param bodies    Stream entries (event_id, guest_id, user_id)
+     * @param timeoutMs How long to wait for all replies
+     * @return The stream entry ID per message, null where that XADD failed or
+     *         timed out; empty if Valkey is unavailable or answered none of them
+     */
+    public List<String> sendHandoverMessages(List<Map<String, String>> bodies, long timeoutMs) {
+        if (!circuitBreaker.allowRequest()) {
+            rejected.increment();
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            List<String> messageIds = handoverPipeline.send(bodies, timeoutMs);
+            // One reply shows Valkey is up; per-entry failures are the caller's to retry
+            if (messageIds.isEmpty()) {
+                circuitBreaker.recordFailure();
+                recordLatency("xadd_batch", "error", start);
+            } else {
+                circuitBreaker.recordSuccess();
+                recordLatency("xadd_batch", "success", start);
+            }
+            return messageIds;
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            recordLatency("xadd_batch", "error", start);
+            logger.error("Failed to send {} handover messages to Valkey stream. error={}",
+                    bodies.size(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Set a key that expires after the given number of seconds.
+     *
+     * @return true if the value was written, false if Valkey is unavailable
+     */
+    public boolean setWithExpiry(String key, String value, long ttlSeconds) {
+        try {
+            execute("set", commands -> commands.set(key, value, SetArgs.Builder.ex(Math.max(1, ttlSeconds))));
+            return true;
+        } catch (ValkeyUnavailableException e) {
+            return false;
+        } catch (Exception e) {
+            logger.error("Failed to set key in Valkey. key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Check whether a key exists.
+     *
+     * @return true or false, or null if Valkey is unavailable
+     */
+    public Boolean exists(String key) {
+        try {
+            return execute("exists", commands -> commands.exists(key) > 0);
+        } catch (ValkeyUnavailableException e) {
+            return null;
+        } catch (Exception e) {
+            logger.error("Failed to check key in Valkey. key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read all keys matching a pattern with their values, using SCAN so the
+     * server is never blocked. Meant for startup, not the request path.
+     *
+     * @return Matching keys and values; empty if Valkey is unavailable
+     */
+    public Map<String, String> scanValues(String pattern) {
+        Map<String, String> values = new HashMap<>();
+        try {
+            execute("scan", connections.replicaReadConnection(), commands -> {
+                KeyScanCursor<String> cursor = commands.scan(ScanArgs.Builder.matches(pattern).limit(500));
+                while (true) {
+                    String[] keys = cursor.getKeys().toArray(new String[0]);
+                    if (keys.length > 0) {
+                        commands.mget(keys)
+                                .forEach(kv -> kv.ifHasValue(v -> values.put(kv.getKey(), v)));
+                    }
+                    if (cursor.isFinished()) {
+                        return values;
+                    }
+                    // Pass the cursor itself: in cluster mode it also tracks which node is being scanned
+                    cursor = commands.scan(cursor, ScanArgs.Builder.matches(pattern).limit(500));
+                }
+            });
+        } catch (ValkeyUnavailableException e) {
+            logger.warn("Valkey unavailable ({}), skipped scan of pattern={}", e.getMessage(), pattern);
+        } catch (Exception e) {
+            logger.error("Failed to scan Valkey keys. pattern={}, error={}", pattern, e.getMessage());
+        }
+        return values;
+    }
+
+    /**
+     * Publish a message to a pub/sub channel.
+     *
+     * @return true if the message was published, false if Valkey is unavailable
+     */
+    public boolean publish(String channel, String message) {
+        try {
+            execute("publish", commands -> commands.publish(channel, message));
+            return true;
+        } catch (ValkeyUnavailableException e) {
+            return false;
+        } catch (Exception e) {
+            logger.error("Failed to publish to Valkey channel '{}'. error={}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Subscribe to a pub/sub channel. The listener runs on the Valkey client's
+     * event loop, so it must not block. Lettuce re-subscribes after a reconnect.
+     *
+     * @return true if subscribed, false if Valkey is unavailable
+     */
+    public boolean subscribe(String channel, Consumer<String> listener) {
+        try {
+            connections.pubSubConnection().addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String messageChannel, String message) {
+                    if (channel.equals(messageChannel)) {
+                        listener.accept(message);
+                    }
+                }
+            });
+            connections.pubSubConnection().sync().subscribe(channel);
+            logger.info("Subscribed to Valkey channel '{}'", channel);
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to subscribe to Valkey channel '{}'. error={}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Round-trip a PING through the circuit breaker.
+     *
+     * @return The round-trip time, or null if Valkey is unavailable
+     */
+    public Duration ping() {
+        long start = System.nanoTime();
+        try {
+            execute("ping", RedisClusterCommands::ping);
+            return Duration.ofNanos(System.nanoTime() - start);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if Valkey connection is active.
+     *
+     * @return true if connected, false otherwise
+     */
+    public boolean isConnected() {
+        return connections.isConnected();
+    }
+
+    /**
+     * Whether commands would currently be sent: the circuit breaker is closed
+     * or due to let a probe through. Lets background jobs skip work while
+     * Valkey is known to be down.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isAvailable();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public Mode getMode() {
+        return connections.getMode();
+    }
+
+    /**
+     * A command was not sent: no connection yet, or the circuit breaker is open.
+     */
+    private static final class ValkeyUnavailableException extends RuntimeException {
+
+        ValkeyUnavailableException(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
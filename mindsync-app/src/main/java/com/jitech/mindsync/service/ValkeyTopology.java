@@ -0,0 +1,176 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.service.ValkeyService.Mode;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.resource.Delay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Lettuce client for one valkey.mode, and how it opens connections.
+ * Clients reconnect dropped connections themselves, backing off from
+ * initialBackoff up to maxBackoff, and reject commands while disconnected
+ * instead of queueing them until the timeout.
+ */
+final class ValkeyTopology {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValkeyTopology.class);
+
+    private final Mode mode;
+    private final String valkeyUrl;
+    private final Duration topologyRefreshPeriod;
+    private final Duration commandTimeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private ClientResources clientResources;
+    private RedisURI redisUri;
+    // Standalone and Sentinel
+    private RedisClient redisClient;
+    // Cluster
+    private RedisClusterClient clusterClient;
+
+    ValkeyTopology(Mode mode, String valkeyUrl, Duration topologyRefreshPeriod, Duration commandTimeout,
+            Duration initialBackoff, Duration maxBackoff) {
+        this.mode = mode;
+        this.valkeyUrl = valkeyUrl;
+        this.topologyRefreshPeriod = topologyRefreshPeriod;
+        this.commandTimeout = commandTimeout;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Create the client. Nothing is connected yet.
+     *
+     * @throws IllegalArgumentException if valkey.url does not suit the mode
+     */
+    void createClient() {
+        clientResources = DefaultClientResources.builder()
+                .reconnectDelay(Delay.exponential(initialBackoff, maxBackoff, 2, TimeUnit.MILLISECONDS))
+                .build();
+        if (mode == Mode.CLUSTER) {
+            List<RedisURI> seeds = Arrays.stream(valkeyUrl.split(","))
+                    .map(String::trim)
+                    .filter(url -> !url.isEmpty())
+                    .map(this::toUri)
+                    .toList();
+            clusterClient = RedisClusterClient.create(clientResources, seeds);
+            clusterClient.setOptions(ClusterClientOptions.builder()
+                    .autoReconnect(true)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                    .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                            .enablePeriodicRefresh(topologyRefreshPeriod)
+                            // MOVED/ASK, reconnects, unknown nodes: refresh now, at most once per backoff cap
+                            .enableAllAdaptiveRefreshTriggers()
+                            .adaptiveRefreshTriggersTimeout(maxBackoff)
+                            .build())
+                    .build());
+            return;
+        }
+        redisUri = toUri(valkeyUrl);
+        if (mode == Mode.SENTINEL && redisUri.getSentinels().isEmpty()) {
+            throw new IllegalArgumentException(
+                    "sentinel mode needs a redis-sentinel://host:port[,host:port]#master URL");
+        }
+        redisClient = RedisClient.create(clientResources, redisUri);
+        redisClient.setOptions(ClientOptions.builder()
+                .autoReconnect(true)
+                // Fail at once while reconnecting instead of queueing until the timeout
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .build());
+    }
+
+    private RedisURI toUri(String url) {
+        RedisURI uri = RedisURI.create(url);
+        uri.setTimeout(commandTimeout);
+        return uri;
+    }
+
+    /**
+     * Open a connection. Sentinel connections go through MasterReplica so
+     * they follow failovers announced by Sentinel.
+     *
+     * @param readFrom Where reads go; null for the primary only
+     */
+    StatefulConnection<String, String> connect(ReadFrom readFrom) {
+        ReadFrom target = readFrom != null ? readFrom : ReadFrom.UPSTREAM;
+        switch (mode) {
+            case CLUSTER -> {
+                StatefulRedisClusterConnection<String, String> cluster = clusterClient.connect();
+                cluster.setReadFrom(target);
+                return cluster;
+            }
+            case SENTINEL -> {
+                StatefulRedisMasterReplicaConnection<String, String> masterReplica =
+                        MasterReplica.connect(redisClient, StringCodec.UTF8, redisUri);
+                masterReplica.setReadFrom(target);
+                return masterReplica;
+            }
+            default -> {
+                return redisClient.connect();
+            }
+        }
+    }
+
+    StatefulRedisPubSubConnection<String, String> connectPubSub() {
+        return mode == Mode.CLUSTER ? clusterClient.connectPubSub() : redisClient.connectPubSub();
+    }
+
+    /**
+     * Commands for a connection from {@link #connect(ReadFrom)}, whichever
+     * topology it belongs to.
+     */
+    static RedisClusterCommands<String, String> sync(StatefulConnection<String, String> connection) {
+        if (connection instanceof StatefulRedisClusterConnection) {
+            return ((StatefulRedisClusterConnection<String, String>) connection).sync();
+        }
+        return ((StatefulRedisConnection<String, String>) connection).sync();
+    }
+
+    static RedisClusterAsyncCommands<String, String> async(StatefulConnection<String, String> connection) {
+        if (connection instanceof StatefulRedisClusterConnection) {
+            return ((StatefulRedisClusterConnection<String, String>) connection).async();
+        }
+        return ((StatefulRedisConnection<String, String>) connection).async();
+    }
+
+    void shutdown() {
+        if (redisClient != null) {
+            redisClient.shutdown();
+            logger.info("Shut down Valkey client");
+        }
+        if (clusterClient != null) {
+            clusterClient.shutdown();
+            logger.info("Shut down Valkey cluster client");
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+    }
+}
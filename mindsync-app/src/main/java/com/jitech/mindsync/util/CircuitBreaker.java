@@ -0,0 +1,121 @@
+package com.jitech.mindsync.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * CLOSED: every call goes through; failureThreshold failures in a row open
+ * the breaker. OPEN: calls are refused without touching the dependency.
+ * After openDuration one call is let through as a probe (HALF_OPEN); its
+ * success closes the breaker, its failure opens it again. The closed path
+ * is a single atomic read, so checking the breaker costs nothing while
+ * the dependency is healthy.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    // Written under lock; atomic so the success fast path can read it
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Object lock = new Object();
+    private long stateChangedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openMillis));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call may go ahead. Every permitted call must be followed by
+     * {@link #recordSuccess()} or {@link #recordFailure()}.
+     */
+    public boolean allowRequest() {
+        if (state.get() == State.CLOSED) {
+            return true;
+        }
+        synchronized (lock) {
+            // A probe that never reported back does not keep the breaker stuck
+            if (nanoClock.getAsLong() - stateChangedAt < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            return true;
+        }
+    }
+
+    /**
+     * Whether {@link #allowRequest()} would let a call through now, without
+     * taking the probe.
+     */
+    public boolean isAvailable() {
+        if (state.get() == State.CLOSED) {
+            return true;
+        }
+        synchronized (lock) {
+            return nanoClock.getAsLong() - stateChangedAt >= openNanos;
+        }
+    }
+
+    public void recordSuccess() {
+        if (state.get() == State.CLOSED && consecutiveFailures.get() == 0) {
+            return;
+        }
+        synchronized (lock) {
+            consecutiveFailures.set(0);
+            transition(State.CLOSED);
+        }
+    }
+
+    public void recordFailure() {
+        synchronized (lock) {
+            int failures = consecutiveFailures.incrementAndGet();
+            if (state.get() == State.HALF_OPEN || failures >= failureThreshold) {
+                consecutiveFailures.set(0);
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void transition(State next) {
+        stateChangedAt = nanoClock.getAsLong();
+        if (state.get() != next) {
+            if (next == State.OPEN) {
+                logger.warn("Circuit breaker '{}' opened, failing fast for {} ms", name,
+                        TimeUnit.NANOSECONDS.toMillis(openNanos));
+            } else {
+                logger.info("Circuit breaker '{}' {}", name, next == State.CLOSED ? "closed" : "half-open, probing");
+            }
+            state.set(next);
+        }
+    }
+}
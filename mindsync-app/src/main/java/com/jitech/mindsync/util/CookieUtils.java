@@ -2,28 +2,28 @@ package com.jitech.mindsync.util;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.UUID;
 
 /**
  * Utility class for common cookie operations.
  */
 public final class CookieUtils {
 
+    public static final String JWT_COOKIE_NAME = "jwt";
     public static final String GUEST_ID_COOKIE_NAME = "guest_id";
+    public static final String REFRESH_TOKEN_COOKIE_NAME = "refresh_token";
     public static final int GUEST_COOKIE_MAX_AGE = 48 * 60 * 60; // 48 hours in seconds
 
     private CookieUtils() {
     }
 
     /**
-     * Generates a new guest ID, builds the guest_id cookie with standard security
-     * attributes, adds it to the response, and returns the generated ID.
+     * Builds the guest_id cookie with standard security attributes and adds it to
+     * the response. Guest IDs are issued by GuestIdService.
      *
      * @param response The HTTP response to add the cookie to
-     * @return The newly generated guest ID
+     * @param guestId  The guest ID to store
      */
-    public static String createAndSetGuestIdCookie(HttpServletResponse response) {
-        String guestId = UUID.randomUUID().toString();
+    public static void setGuestIdCookie(HttpServletResponse response, String guestId) {
         Cookie guestCookie = new Cookie(GUEST_ID_COOKIE_NAME, guestId);
         guestCookie.setHttpOnly(true);
         guestCookie.setSecure(true);
@@ -31,6 +31,5 @@ public final class CookieUtils {
         guestCookie.setMaxAge(GUEST_COOKIE_MAX_AGE);
         guestCookie.setAttribute("SameSite", "Strict");
         response.addCookie(guestCookie);
-        return guestId;
     }
 }
@@ -0,0 +1,167 @@
+package com.jitech.mindsync.util;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Enumeration;
+
+/**
+ * The cookies MindSync reads (jwt, guest_id, refresh_token), parsed once per
+ * request straight from the Cookie header.
+ * <p>
+ * request.getCookies() makes the container build a Cookie object for every
+ * cookie the browser sends; this scans the raw header in place and only
+ * creates strings for the three values above. The result is stored as a
+ * request attribute, so every filter and controller in the same request
+ * shares a single parse.
+ */
+public final class RequestCookies {
+
+    private static final String ATTRIBUTE = RequestCookies.class.getName();
+    private static final String COOKIE_HEADER = "Cookie";
+
+    private String jwt;
+    private String guestId;
+    private String refreshToken;
+
+    private RequestCookies() {
+    }
+
+    /**
+     * The cookies of this request, parsed on first use.
+     *
+     * @param request The HTTP request
+     * @return The parsed cookies; never null
+     */
+    public static RequestCookies of(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if (cached instanceof RequestCookies cookies) {
+            return cookies;
+        }
+        RequestCookies cookies = parse(request);
+        request.setAttribute(ATTRIBUTE, cookies);
+        return cookies;
+    }
+
+    /**
+     * The access token from the jwt cookie, or null.
+     */
+    public String jwt() {
+        return jwt;
+    }
+
+    /**
+     * The guest_id cookie, or null.
+     */
+    public String guestId() {
+        return guestId;
+    }
+
+    /**
+     * The refresh_token cookie, or null.
+     */
+    public String refreshToken() {
+        return refreshToken;
+    }
+
+    private static RequestCookies parse(HttpServletRequest request) {
+        RequestCookies cookies = new RequestCookies();
+        Enumeration<String> headers = request.getHeaders(COOKIE_HEADER);
+        boolean hasHeader = false;
+        if (headers != null) {
+            while (headers.hasMoreElements()) {
+                cookies.parseHeader(headers.nextElement());
+                hasHeader = true;
+            }
+        }
+        if (!hasHeader) {
+            // No raw header, e.g. a request wrapper that only exposes getCookies()
+            Cookie[] array = request.getCookies();
+            if (array != null) {
+                for (Cookie cookie : array) {
+                    cookies.accept(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+        return cookies;
+    }
+
+    /**
+     * Scan "name=value; name2=value2" without splitting the header. Only the
+     * values of known names are copied out; the first occurrence wins, like a
+     * scan over getCookies().
+     */
+    private void parseHeader(String header) {
+        int length = header.length();
+        int pos = 0;
+        while (pos < length) {
+            // Skip separators and whitespace before the name
+            char c = header.charAt(pos);
+            if (c == ';' || c == ',' || isWhitespace(c)) {
+                pos++;
+                continue;
+            }
+            int nameStart = pos;
+            while (pos < length && header.charAt(pos) != '=' && header.charAt(pos) != ';') {
+                pos++;
+            }
+            int nameEnd = trimEnd(header, nameStart, pos);
+            if (pos >= length || header.charAt(pos) == ';') {
+                continue; // attribute without a value
+            }
+            pos++; // '='
+            int valueStart = pos;
+            while (pos < length && header.charAt(pos) != ';') {
+                pos++;
+            }
+            acceptRegion(header, nameStart, nameEnd, valueStart, pos);
+        }
+    }
+
+    // Trims the value and drops the quotes of a quoted value before storing it
+    private void acceptRegion(String header, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        int start = valueStart;
+        int end = trimEnd(header, valueStart, valueEnd);
+        while (start < end && isWhitespace(header.charAt(start))) {
+            start++;
+        }
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+        int nameLength = nameEnd - nameStart;
+        if (jwt == null && matches(header, nameStart, nameLength, CookieUtils.JWT_COOKIE_NAME)) {
+            jwt = header.substring(start, end);
+        } else if (guestId == null && matches(header, nameStart, nameLength, CookieUtils.GUEST_ID_COOKIE_NAME)) {
+            guestId = header.substring(start, end);
+        } else if (refreshToken == null
+                && matches(header, nameStart, nameLength, CookieUtils.REFRESH_TOKEN_COOKIE_NAME)) {
+            refreshToken = header.substring(start, end);
+        }
+    }
+
+    private void accept(String name, String value) {
+        if (jwt == null && CookieUtils.JWT_COOKIE_NAME.equals(name)) {
+            jwt = value;
+        } else if (guestId == null && CookieUtils.GUEST_ID_COOKIE_NAME.equals(name)) {
+            guestId = value;
+        } else if (refreshToken == null && CookieUtils.REFRESH_TOKEN_COOKIE_NAME.equals(name)) {
+            refreshToken = value;
+        }
+    }
+
+    private static boolean matches(String header, int start, int length, String name) {
+        return length == name.length() && header.regionMatches(start, name, 0, length);
+    }
+
+    private static int trimEnd(String header, int start, int end) {
+        while (end > start && isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
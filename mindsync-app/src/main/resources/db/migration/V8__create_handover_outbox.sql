@@ -0,0 +1,11 @@
+-- Migration for table handover_outbox
+-- Guest-to-user handover events, written in the same transaction as the user insert.
+-- HandoverOutboxRelay claims rows with FOR UPDATE SKIP LOCKED, sends them to handover_stream and deletes them.
+CREATE TABLE IF NOT EXISTS handover_outbox (
+    event_id BIGSERIAL PRIMARY KEY,
+    guest_id VARCHAR(255) NOT NULL,
+    user_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_handover_outbox_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
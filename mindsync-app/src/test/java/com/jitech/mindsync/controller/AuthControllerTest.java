@@ -9,13 +9,21 @@ import com.jitech.mindsync.model.Occupations;
 import com.jitech.mindsync.model.Users;
 import com.jitech.mindsync.security.JwtAuthenticationFilter;
 import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.ProfileClaims;
 import com.jitech.mindsync.service.AuthService;
-import com.jitech.mindsync.service.ValkeyService;
+import com.jitech.mindsync.service.GuestIdService;
+import com.jitech.mindsync.service.ProfileService;
+import com.jitech.mindsync.service.RefreshTokenService;
+import com.jitech.mindsync.service.RefreshTokenService.ConcurrentRotationException;
+import com.jitech.mindsync.service.RefreshTokenService.IssuedRefreshToken;
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.verifier.VerifiedToken;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,12 +31,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,7 +66,19 @@ class AuthControllerTest {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @MockBean
-    private ValkeyService valkeyService;
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @MockBean
+    private GuestIdService guestIdService;
+
+    private static final int ACCESS_TOKEN_MAX_AGE = 15 * 60;
+    private static final int REFRESH_TOKEN_MAX_AGE = 14 * 24 * 60 * 60;
 
     private ObjectMapper objectMapper;
     private Users testUser;
@@ -85,6 +110,13 @@ class AuthControllerTest {
         testUser.setDob(LocalDate.of(2000, 1, 15));
         testUser.setGender(testGender);
         testUser.setOccupation(testOccupation);
+
+        // Setup session issuing: 15 minute access token, 14 day refresh token
+        when(jwtProvider.getExpirationSeconds()).thenReturn(ACCESS_TOKEN_MAX_AGE);
+        when(refreshTokenService.getExpirationSeconds()).thenReturn(REFRESH_TOKEN_MAX_AGE);
+        when(refreshTokenService.issue(any(UUID.class))).thenAnswer(invocation -> new IssuedRefreshToken(
+                "mock-refresh-token", invocation.getArgument(0), UUID.randomUUID(),
+                LocalDateTime.now().plusDays(14)));
     }
 
     @Nested
@@ -110,8 +142,8 @@ class AuthControllerTest {
             newUser.setEmail("newuser@example.com");
             newUser.setName("New User");
 
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(anyString())).thenReturn("mock.jwt.token");
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(anyString(), anyString(), any())).thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/register")
@@ -123,7 +155,7 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.data.email", is("newuser@example.com")))
                     .andExpect(jsonPath("$.data.name", is("New User")));
 
-            verify(authService, times(1)).registerUser(any(RegisterRequest.class));
+            verify(authService, times(1)).registerUser(any(RegisterRequest.class), any());
         }
 
         @Test
@@ -133,6 +165,7 @@ class AuthControllerTest {
             RegisterRequest request = new RegisterRequest();
             request.setEmail("newuser@example.com");
             request.setPassword("password123");
+            request.setOtp("123456");
             request.setName("New User");
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
@@ -144,8 +177,8 @@ class AuthControllerTest {
             newUser.setEmail("newuser@example.com");
             newUser.setName("New User");
 
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(anyString())).thenReturn("mock.jwt.token");
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(anyString(), anyString(), any())).thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/register")
@@ -159,12 +192,13 @@ class AuthControllerTest {
         }
 
         @Test
-        @DisplayName("Should send handover message when guest_id cookie exists")
-        void register_WithGuestIdCookie_ShouldSendHandoverMessage() throws Exception {
+        @DisplayName("Should record handover event when guest_id cookie exists")
+        void register_WithGuestIdCookie_ShouldRecordHandoverEvent() throws Exception {
             // Given
             RegisterRequest request = new RegisterRequest();
             request.setEmail("newuser@example.com");
             request.setPassword("password123");
+            request.setOtp("123456");
             request.setName("New User");
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
@@ -178,11 +212,10 @@ class AuthControllerTest {
             newUser.setName("New User");
 
             String guestId = "guest-abc-123";
-            String messageId = "1234567890123-0";
 
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(userId.toString())).thenReturn("mock.jwt.token");
-            when(valkeyService.sendHandoverMessage(guestId, userId.toString())).thenReturn(messageId);
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(eq(userId.toString()), anyString(), any())).thenReturn("mock.jwt.token");
+            when(guestIdService.verify(guestId)).thenReturn(GuestIdService.Verification.UNSIGNED);
 
             // When/Then
             mockMvc.perform(post("/register")
@@ -192,16 +225,21 @@ class AuthControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success", is(true)));
 
-            verify(valkeyService, times(1)).sendHandoverMessage(guestId, userId.toString());
+            ArgumentCaptor<RegisterRequest> requestCaptor = ArgumentCaptor.forClass(RegisterRequest.class);
+            verify(guestIdService).verify(guestId);
+            verify(authService, times(1)).registerUser(requestCaptor.capture(), eq(guestId));
+            assertEquals("newuser@example.com", requestCaptor.getValue().getEmail());
+            assertEquals("123456", requestCaptor.getValue().getOtp());
         }
 
         @Test
-        @DisplayName("Should not send handover message when no guest_id cookie")
-        void register_WithoutGuestIdCookie_ShouldNotSendHandoverMessage() throws Exception {
+        @DisplayName("Should not record handover event for a forged guest_id")
+        void register_WithForgedGuestId_ShouldNotRecordHandoverEvent() throws Exception {
             // Given
             RegisterRequest request = new RegisterRequest();
             request.setEmail("newuser@example.com");
             request.setPassword("password123");
+            request.setOtp("123456");
             request.setName("New User");
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
@@ -213,26 +251,32 @@ class AuthControllerTest {
             newUser.setEmail("newuser@example.com");
             newUser.setName("New User");
 
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(anyString())).thenReturn("mock.jwt.token");
+            String guestId = "0192f0c4-8e1a-7b3c-9d2e-1f2a3b4c5d6e.forgedtag";
+
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(anyString(), anyString(), any())).thenReturn("mock.jwt.token");
+            when(guestIdService.verify(guestId)).thenReturn(GuestIdService.Verification.FORGED);
 
             // When/Then
             mockMvc.perform(post("/register")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .cookie(new Cookie("guest_id", guestId))
                     .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success", is(true)));
 
-            verify(valkeyService, never()).sendHandoverMessage(anyString(), anyString());
+            verify(guestIdService).verify(guestId);
+            verify(authService, times(1)).registerUser(any(RegisterRequest.class), isNull());
         }
 
         @Test
-        @DisplayName("Should set JWT cookie on successful registration")
-        void register_WithValidRequest_ShouldSetJwtCookie() throws Exception {
+        @DisplayName("Should not record handover event when no guest_id cookie")
+        void register_WithoutGuestIdCookie_ShouldNotRecordHandoverEvent() throws Exception {
             // Given
             RegisterRequest request = new RegisterRequest();
             request.setEmail("newuser@example.com");
             request.setPassword("password123");
+            request.setOtp("123456");
             request.setName("New User");
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
@@ -244,28 +288,28 @@ class AuthControllerTest {
             newUser.setEmail("newuser@example.com");
             newUser.setName("New User");
 
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(anyString())).thenReturn("mock.jwt.token");
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(anyString(), anyString(), any())).thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/register")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isOk())
-                    .andExpect(cookie().exists("jwt"))
-                    .andExpect(cookie().httpOnly("jwt", true))
-                    .andExpect(cookie().maxAge("jwt", 24 * 60 * 60));
+                    .andExpect(jsonPath("$.success", is(true)));
 
-            verify(jwtProvider, times(1)).generateToken(anyString());
+            verify(guestIdService, never()).verify(anyString());
+            verify(authService, times(1)).registerUser(any(RegisterRequest.class), isNull());
         }
 
         @Test
-        @DisplayName("Should continue registration even if handover message fails")
-        void register_WhenHandoverFails_ShouldStillRegister() throws Exception {
+        @DisplayName("Should set JWT cookie on successful registration")
+        void register_WithValidRequest_ShouldSetJwtCookie() throws Exception {
             // Given
             RegisterRequest request = new RegisterRequest();
             request.setEmail("newuser@example.com");
             request.setPassword("password123");
+            request.setOtp("123456");
             request.setName("New User");
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
@@ -273,27 +317,31 @@ class AuthControllerTest {
             request.setWorkRmt("In-person");
 
             Users newUser = new Users();
-            UUID userId = UUID.randomUUID();
-            newUser.setUserId(userId);
+            newUser.setUserId(UUID.randomUUID());
             newUser.setEmail("newuser@example.com");
             newUser.setName("New User");
 
-            String guestId = "guest-abc-123";
-
-            when(authService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-            when(jwtProvider.generateToken(userId.toString())).thenReturn("mock.jwt.token");
-            when(valkeyService.sendHandoverMessage(guestId, userId.toString())).thenReturn(null); // Failure
+            when(authService.registerUser(any(RegisterRequest.class), any())).thenReturn(newUser);
+            when(jwtProvider.generateToken(anyString(), anyString(), any())).thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/register")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .cookie(new Cookie("guest_id", guestId))
                     .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.success", is(true)))
-                    .andExpect(cookie().exists("jwt"));
-
-            verify(valkeyService, times(1)).sendHandoverMessage(guestId, userId.toString());
+                    .andExpect(cookie().exists("jwt"))
+                    .andExpect(cookie().httpOnly("jwt", true))
+                    .andExpect(cookie().maxAge("jwt", ACCESS_TOKEN_MAX_AGE))
+                    .andExpect(cookie().value("refresh_token", "mock-refresh-token"))
+                    .andExpect(cookie().httpOnly("refresh_token", true))
+                    // One refresh cookie for the refresh endpoint and one for logout
+                    .andExpect(header().stringValues("Set-Cookie", hasItems(
+                            allOf(org.hamcrest.Matchers.startsWith("refresh_token=mock-refresh-token;"),
+                                    containsString("Path=/token/refresh")),
+                            allOf(org.hamcrest.Matchers.startsWith("refresh_token=mock-refresh-token;"),
+                                    containsString("Path=/logout")))));
+
+            verify(jwtProvider, times(1)).generateToken(anyString(), anyString(), any());
         }
 
         @Test
@@ -308,7 +356,7 @@ class AuthControllerTest {
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("Male");
 
-            when(authService.registerUser(any(RegisterRequest.class)))
+            when(authService.registerUser(any(RegisterRequest.class), any()))
                     .thenThrow(new IllegalArgumentException("Email already registered"));
 
             // When/Then
@@ -332,7 +380,7 @@ class AuthControllerTest {
             request.setDob(LocalDate.of(1995, 5, 20));
             request.setGender("InvalidGender");
 
-            when(authService.registerUser(any(RegisterRequest.class)))
+            when(authService.registerUser(any(RegisterRequest.class), any()))
                     .thenThrow(new IllegalArgumentException("Invalid gender"));
 
             // When/Then
@@ -358,7 +406,8 @@ class AuthControllerTest {
             request.setPassword("password123");
 
             when(authService.login("test@example.com", "password123")).thenReturn(testUser);
-            when(jwtProvider.generateToken(testUser.getUserId().toString())).thenReturn("mock.jwt.token");
+            when(jwtProvider.generateToken(eq(testUser.getUserId().toString()), anyString(), any()))
+                    .thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/login")
@@ -375,7 +424,31 @@ class AuthControllerTest {
                     .andExpect(cookie().httpOnly("jwt", true));
 
             verify(authService, times(1)).login("test@example.com", "password123");
-            verify(jwtProvider, times(1)).generateToken(testUser.getUserId().toString());
+            verify(jwtProvider, times(1)).generateToken(eq(testUser.getUserId().toString()), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should embed profile claims from the logged in user when enabled")
+        void login_WithProfileClaimsEnabled_ShouldEmbedProfileWithoutReload() throws Exception {
+            // Given
+            LoginRequest request = new LoginRequest();
+            request.setEmail("test@example.com");
+            request.setPassword("password123");
+
+            when(authService.login("test@example.com", "password123")).thenReturn(testUser);
+            when(jwtProvider.isProfileClaimsEnabled()).thenReturn(true);
+            when(jwtProvider.generateToken(eq(testUser.getUserId().toString()), anyString(),
+                    eq(new ProfileClaims("Test User", "Male", "Student", null))))
+                    .thenReturn("mock.jwt.token");
+
+            // When/Then
+            mockMvc.perform(post("/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(cookie().value("jwt", "mock.jwt.token"));
+
+            verify(profileService, never()).getProfileClaims(any());
         }
 
         @Test
@@ -387,7 +460,8 @@ class AuthControllerTest {
             request.setPassword("password123");
 
             when(authService.login("test@example.com", "password123")).thenReturn(testUser);
-            when(jwtProvider.generateToken(testUser.getUserId().toString())).thenReturn("mock.jwt.token");
+            when(jwtProvider.generateToken(eq(testUser.getUserId().toString()), anyString(), any()))
+                    .thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/login")
@@ -418,7 +492,7 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.success", is(false)))
                     .andExpect(jsonPath("$.message", is("Invalid email or password")));
 
-            verify(jwtProvider, never()).generateToken(anyString());
+            verify(jwtProvider, never()).generateToken(anyString(), anyString(), any());
         }
 
         @Test
@@ -457,7 +531,8 @@ class AuthControllerTest {
             userWithNullGender.setOccupation(null);
 
             when(authService.login("test@example.com", "password123")).thenReturn(userWithNullGender);
-            when(jwtProvider.generateToken(userWithNullGender.getUserId().toString())).thenReturn("mock.jwt.token");
+            when(jwtProvider.generateToken(eq(userWithNullGender.getUserId().toString()), anyString(), any()))
+                    .thenReturn("mock.jwt.token");
 
             // When/Then
             mockMvc.perform(post("/login")
@@ -469,4 +544,169 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.user.occupation").value(nullValue()));
         }
     }
+
+    @Nested
+    @DisplayName("Token Refresh Endpoint Tests")
+    class TokenRefreshEndpointTests {
+
+        @Test
+        @DisplayName("Should rotate refresh token and issue new access token")
+        void refresh_WithValidRefreshToken_ShouldSetNewCookies() throws Exception {
+            // Given
+            UUID familyId = UUID.randomUUID();
+            when(refreshTokenService.rotate("old-refresh-token")).thenReturn(new IssuedRefreshToken(
+                    "new-refresh-token", testUser.getUserId(), familyId, LocalDateTime.now().plusDays(14)));
+            when(jwtProvider.generateToken(eq(testUser.getUserId().toString()), eq(familyId.toString()), isNull()))
+                    .thenReturn("new.jwt.token");
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh")
+                    .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andExpect(cookie().value("jwt", "new.jwt.token"))
+                    .andExpect(cookie().maxAge("jwt", ACCESS_TOKEN_MAX_AGE))
+                    .andExpect(cookie().value("refresh_token", "new-refresh-token"))
+                    .andExpect(cookie().maxAge("refresh_token", REFRESH_TOKEN_MAX_AGE));
+        }
+
+        @Test
+        @DisplayName("Should reload profile claims for the new access token when enabled")
+        void refresh_WithProfileClaimsEnabled_ShouldEmbedFreshProfile() throws Exception {
+            // Given
+            UUID familyId = UUID.randomUUID();
+            ProfileClaims profile = new ProfileClaims("Updated Name", "Male", "Student", "Remote");
+            when(refreshTokenService.rotate("old-refresh-token")).thenReturn(new IssuedRefreshToken(
+                    "new-refresh-token", testUser.getUserId(), familyId, LocalDateTime.now().plusDays(14)));
+            when(jwtProvider.isProfileClaimsEnabled()).thenReturn(true);
+            when(profileService.getProfileClaims(testUser.getUserId())).thenReturn(profile);
+            when(jwtProvider.generateToken(testUser.getUserId().toString(), familyId.toString(), profile))
+                    .thenReturn("new.jwt.token");
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh")
+                    .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                    .andExpect(status().isOk())
+                    .andExpect(cookie().value("jwt", "new.jwt.token"));
+        }
+
+        @Test
+        @DisplayName("Should not load profile claims when disabled")
+        void refresh_WithProfileClaimsDisabled_ShouldNotLoadProfile() throws Exception {
+            // Given
+            when(refreshTokenService.rotate("old-refresh-token")).thenReturn(new IssuedRefreshToken(
+                    "new-refresh-token", testUser.getUserId(), UUID.randomUUID(), LocalDateTime.now().plusDays(14)));
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh")
+                    .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                    .andExpect(status().isOk());
+
+            verify(profileService, never()).getProfileClaims(any());
+        }
+
+        @Test
+        @DisplayName("Should return 401 and clear cookie when refresh token is rejected")
+        void refresh_WithReusedRefreshToken_ShouldReturnUnauthorized() throws Exception {
+            // Given
+            when(refreshTokenService.rotate("reused-refresh-token"))
+                    .thenThrow(new IllegalArgumentException("Refresh token has been revoked"));
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh")
+                    .cookie(new Cookie("refresh_token", "reused-refresh-token")))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.message", is("Refresh token has been revoked")))
+                    .andExpect(cookie().maxAge("refresh_token", 0))
+                    .andExpect(cookie().doesNotExist("jwt"));
+
+            verify(jwtProvider, never()).generateToken(anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 409 and keep the cookies when a concurrent refresh won the race")
+        void refresh_WhenRotatedConcurrently_ShouldReturnConflict() throws Exception {
+            // Given
+            when(refreshTokenService.rotate("racing-refresh-token"))
+                    .thenThrow(new ConcurrentRotationException());
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh")
+                    .cookie(new Cookie("refresh_token", "racing-refresh-token")))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(cookie().doesNotExist("refresh_token"))
+                    .andExpect(cookie().doesNotExist("jwt"));
+        }
+
+        @Test
+        @DisplayName("Should return 401 without refresh token cookie")
+        void refresh_WithoutCookie_ShouldReturnUnauthorized() throws Exception {
+            // Given
+            when(refreshTokenService.rotate(null))
+                    .thenThrow(new IllegalArgumentException("Refresh token is missing"));
+
+            // When/Then
+            mockMvc.perform(post("/token/refresh"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("Logout Endpoint Tests")
+    class LogoutEndpointTests {
+
+        @Test
+        @DisplayName("Should revoke the access token and its refresh token family on logout")
+        void logout_WithAccessToken_ShouldRevokeRefreshTokenFamily() throws Exception {
+            // Given
+            UUID familyId = UUID.randomUUID();
+            Instant expiresAt = Instant.now().plusSeconds(60);
+            when(jwtProvider.verify("mock.jwt.token")).thenReturn(VerifiedToken.valid(
+                    testUser.getUserId().toString(), Instant.now(), expiresAt, "jti", familyId.toString()));
+
+            // When/Then
+            mockMvc.perform(post("/logout")
+                    .cookie(new Cookie("jwt", "mock.jwt.token")))
+                    .andExpect(status().isOk())
+                    .andExpect(cookie().maxAge("jwt", 0))
+                    .andExpect(cookie().maxAge("refresh_token", 0));
+
+            verify(tokenRevocationService, times(1)).revokeToken("jti", expiresAt);
+            verify(refreshTokenService, times(1)).revokeFamily(familyId);
+        }
+
+        @Test
+        @DisplayName("Should revoke the refresh token family from the refresh cookie when the access token is gone")
+        void logout_WithRefreshCookieOnly_ShouldRevokeItsFamily() throws Exception {
+            // When/Then
+            mockMvc.perform(post("/logout")
+                    .cookie(new Cookie("refresh_token", "old-refresh-token")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues("Set-Cookie", hasItems(
+                            allOf(org.hamcrest.Matchers.startsWith("refresh_token=;"),
+                                    containsString("Path=/token/refresh")),
+                            allOf(org.hamcrest.Matchers.startsWith("refresh_token=;"),
+                                    containsString("Path=/logout")))));
+
+            verify(refreshTokenService, times(1)).revokeFamilyOf("old-refresh-token");
+            verify(tokenRevocationService, never()).revokeToken(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should still log out without access token")
+        void logout_WithoutAccessToken_ShouldClearCookies() throws Exception {
+            when(guestIdService.issue()).thenReturn("new-guest-id");
+
+            mockMvc.perform(post("/logout"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andExpect(cookie().maxAge("refresh_token", 0))
+                    .andExpect(cookie().value("guest_id", "new-guest-id"));
+
+            verify(refreshTokenService, never()).revokeFamily(any());
+            verify(tokenRevocationService, never()).revokeToken(any(), any());
+        }
+    }
 }
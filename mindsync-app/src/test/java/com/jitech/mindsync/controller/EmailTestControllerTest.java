@@ -2,8 +2,11 @@ package com.jitech.mindsync.controller;
 
 import com.jitech.mindsync.model.OtpType;
 import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
 import com.jitech.mindsync.service.EmailService;
+import com.jitech.mindsync.service.GuestIdService;
 import com.jitech.mindsync.service.OtpService;
+import com.jitech.mindsync.service.TokenRevocationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -35,6 +38,15 @@ class EmailTestControllerTest {
         @MockBean
         private JwtProvider jwtProvider;
 
+        @MockBean
+        private VerifiedTokenCache verifiedTokenCache;
+
+        @MockBean
+        private TokenRevocationService tokenRevocationService;
+
+        @MockBean
+        private GuestIdService guestIdService;
+
         @Test
         void testSendTestEmailSuccess() throws Exception {
                 doNothing().when(emailService).sendOtpEmail(anyString(), anyString(), any(OtpType.class));
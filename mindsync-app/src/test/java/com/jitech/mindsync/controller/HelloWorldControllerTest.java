@@ -1,6 +1,9 @@
 package com.jitech.mindsync.controller;
 
 import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.GuestIdService;
+import com.jitech.mindsync.service.TokenRevocationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -21,6 +24,15 @@ class HelloWorldControllerTest {
     @MockBean
     private JwtProvider jwtProvider;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private GuestIdService guestIdService;
+
     @Test
     void testHelloWorld() throws Exception {
         mockMvc.perform(get("/hello"))
@@ -0,0 +1,64 @@
+package com.jitech.mindsync.controller;
+
+import com.jitech.mindsync.security.JwtKeyRing;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.GuestIdService;
+import com.jitech.mindsync.service.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JwksController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class JwksControllerTest {
+
+    private static final String JWKS_JSON = "{\"keys\":[{\"kty\":\"EC\",\"kid\":\"2026-01\"}]}";
+    private static final String ETAG = "\"abc123\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtKeyRing keyRing;
+
+    @MockBean
+    private JwtProvider jwtProvider;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private GuestIdService guestIdService;
+
+    @BeforeEach
+    void setUp() {
+        when(keyRing.getJwks()).thenReturn(new JwtKeyRing.JwksDocument(JWKS_JSON, ETAG));
+    }
+
+    @Test
+    void jwks_ShouldReturnKeysWithCacheHeaders() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[0].kid").value("2026-01"))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"));
+    }
+
+    @Test
+    void jwks_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -5,6 +5,7 @@ import com.jitech.mindsync.dto.*;
 import com.jitech.mindsync.model.OtpType;
 import com.jitech.mindsync.security.JwtAuthenticationFilter;
 import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.service.GuestIdService;
 import com.jitech.mindsync.service.OtpService;
 import com.jitech.mindsync.service.ProfileService;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +47,9 @@ class ProfileControllerTest {
         @MockBean
         private JwtProvider jwtProvider;
 
+        @MockBean
+        private GuestIdService guestIdService;
+
         private ProfileResponse sampleProfile;
         private ProfileUpdateRequest updateRequest;
 
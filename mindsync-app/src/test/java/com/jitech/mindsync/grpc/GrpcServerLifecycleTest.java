@@ -0,0 +1,49 @@
+package com.jitech.mindsync.grpc;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GrpcServerLifecycle Unit Tests")
+class GrpcServerLifecycleTest {
+
+    @Test
+    @DisplayName("Should start and gracefully stop the server")
+    void startAndStop_ShouldControlServer() {
+        // Given
+        Server server = InProcessServerBuilder.forName(InProcessServerBuilder.generateName()).build();
+        GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(server, Duration.ofSeconds(1));
+
+        // When
+        lifecycle.start();
+
+        // Then
+        assertTrue(lifecycle.isRunning());
+        assertFalse(server.isShutdown());
+
+        // When
+        lifecycle.stop();
+
+        // Then
+        assertFalse(lifecycle.isRunning());
+        assertTrue(server.isTerminated());
+    }
+
+    @Test
+    @DisplayName("Should fail startup when the server cannot start")
+    void start_WhenServerAlreadyStopped_ShouldThrow() {
+        // Given
+        Server server = InProcessServerBuilder.forName(InProcessServerBuilder.generateName()).build();
+        server.shutdown();
+        GrpcServerLifecycle lifecycle = new GrpcServerLifecycle(server, Duration.ofSeconds(1));
+
+        // When/Then
+        assertThrows(IllegalStateException.class, lifecycle::start);
+        assertFalse(lifecycle.isRunning());
+    }
+}
@@ -0,0 +1,96 @@
+package com.jitech.mindsync.grpc;
+
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GrpcServerSecurity Unit Tests")
+class GrpcServerSecurityTest {
+
+    private static final String TOKEN = "test-grpc-token";
+
+    @Mock
+    private ServerCall<String, String> call;
+
+    @Mock
+    private ServerCallHandler<String, String> next;
+
+    private static Metadata headers(String authorization) {
+        Metadata headers = new Metadata();
+        if (authorization != null) {
+            headers.put(GrpcServerSecurity.AUTHORIZATION, authorization);
+        }
+        return headers;
+    }
+
+    @Test
+    @DisplayName("Should pass calls with the shared secret on")
+    void interceptCall_WithToken_ShouldStartCall() {
+        // Given
+        GrpcServerSecurity security = new GrpcServerSecurity(TOKEN, "", "", "");
+        Metadata headers = headers("Bearer " + TOKEN);
+
+        // When
+        security.interceptCall(call, headers, next);
+
+        // Then
+        verify(next).startCall(call, headers);
+        verify(call, never()).close(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should close calls with a missing or wrong secret as UNAUTHENTICATED")
+    void interceptCall_WithoutToken_ShouldRejectCall() {
+        // Given
+        GrpcServerSecurity security = new GrpcServerSecurity(TOKEN, "", "", "");
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+
+        // When
+        security.interceptCall(call, headers(null), next);
+        security.interceptCall(call, headers("Bearer wrong-token"), next);
+        security.interceptCall(call, headers(TOKEN), next);
+
+        // Then
+        verify(call, times(3)).close(status.capture(), any(Metadata.class));
+        assertTrue(status.getAllValues().stream().allMatch(s -> s.getCode() == Status.Code.UNAUTHENTICATED));
+        verifyNoInteractions(next);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a secret or mutual TLS")
+    void constructor_WithoutAuthentication_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new GrpcServerSecurity(" ", "", "", ""));
+        assertThrows(IllegalArgumentException.class, () -> new GrpcServerSecurity(null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should refuse incomplete TLS settings")
+    void constructor_WithIncompleteTls_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new GrpcServerSecurity(TOKEN, "cert.pem", "", ""));
+        assertThrows(IllegalArgumentException.class, () -> new GrpcServerSecurity("", "", "", "ca.pem"));
+    }
+
+    @Test
+    @DisplayName("Should use plaintext without a certificate and fail on unreadable TLS files")
+    void credentials_ShouldFollowTlsSettings() {
+        assertInstanceOf(InsecureServerCredentials.class,
+                new GrpcServerSecurity(TOKEN, "", "", "").credentials());
+
+        GrpcServerSecurity mutualTls = new GrpcServerSecurity("", "missing-cert.pem", "missing-key.pem",
+                "missing-ca.pem");
+        assertThrows(IllegalStateException.class, mutualTls::credentials);
+    }
+}
@@ -0,0 +1,439 @@
+package com.jitech.mindsync.grpc;
+
+import com.jitech.mindsync.dto.ProfileResponse;
+import com.jitech.mindsync.grpc.proto.FailureReason;
+import com.jitech.mindsync.grpc.proto.GetProfilesRequest;
+import com.jitech.mindsync.grpc.proto.GetProfilesResponse;
+import com.jitech.mindsync.grpc.proto.IntrospectRequest;
+import com.jitech.mindsync.grpc.proto.IntrospectResponse;
+import com.jitech.mindsync.grpc.proto.MindSyncAuthGrpc;
+import com.jitech.mindsync.grpc.proto.Profile;
+import com.jitech.mindsync.security.JwtProvider;
+import com.jitech.mindsync.security.VerifiedTokenCache;
+import com.jitech.mindsync.service.ProfileService;
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MindSyncAuthGrpcService Unit Tests")
+class MindSyncAuthGrpcServiceTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final int MAX_BATCH_SIZE = 3;
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private ProfileService profileService;
+
+    private MeterRegistry meterRegistry;
+    private Server server;
+    private ManagedChannel channel;
+    private MindSyncAuthGrpc.MindSyncAuthBlockingStub blockingStub;
+    private MindSyncAuthGrpc.MindSyncAuthStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        MindSyncAuthGrpcService service = new MindSyncAuthGrpcService(jwtProvider, verifiedTokenCache,
+                tokenRevocationService, profileService, MAX_BATCH_SIZE);
+
+        // In-process transport: the real gRPC stack without a network
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(service, new GrpcMetricsInterceptor(meterRegistry)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        blockingStub = MindSyncAuthGrpc.newBlockingStub(channel);
+        asyncStub = MindSyncAuthGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static VerifiedToken validToken() {
+        Instant now = Instant.ofEpochSecond(1_700_000_000L);
+        return VerifiedToken.valid(USER_ID, now, now.plusSeconds(900), "test-jti", "test-sid");
+    }
+
+    private static IntrospectRequest request(String token) {
+        return IntrospectRequest.newBuilder().setToken(token).build();
+    }
+
+    private static ProfileResponse profile(UUID userId) {
+        return new ProfileResponse(userId, "test@example.com", "Test User", LocalDate.of(2000, 1, 15),
+                "Male", "Student", null);
+    }
+
+    @Nested
+    @DisplayName("Introspect Tests")
+    class IntrospectTests {
+
+        @Test
+        @DisplayName("Should return active response with claims for a valid token")
+        void introspect_WithValidToken_ShouldReturnActive() {
+            // Given
+            when(jwtProvider.verify("valid.jwt.token")).thenReturn(validToken());
+
+            // When
+            IntrospectResponse response = blockingStub.introspect(request("valid.jwt.token"));
+
+            // Then
+            assertTrue(response.getActive());
+            assertEquals(USER_ID, response.getUserId());
+            assertEquals("test-sid", response.getSessionId());
+            assertEquals("test-jti", response.getTokenId());
+            assertEquals(1_700_000_000L, response.getIssuedAt());
+            assertEquals(1_700_000_900L, response.getExpiresAt());
+            assertEquals(FailureReason.FAILURE_REASON_NONE, response.getFailureReason());
+            verify(verifiedTokenCache).put(eq("valid.jwt.token"), any(VerifiedToken.class));
+        }
+
+        @Test
+        @DisplayName("Should use the verified token cache")
+        void introspect_WithCachedToken_ShouldSkipVerification() {
+            // Given
+            when(verifiedTokenCache.get("cached.jwt.token")).thenReturn(validToken());
+
+            // When
+            IntrospectResponse response = blockingStub.introspect(request("cached.jwt.token"));
+
+            // Then
+            assertTrue(response.getActive());
+            verify(jwtProvider, never()).verify(any());
+        }
+
+        @Test
+        @DisplayName("Should map the verification failure reason")
+        void introspect_WithExpiredToken_ShouldReturnInactive() {
+            // Given
+            when(jwtProvider.verify("expired.jwt.token"))
+                    .thenReturn(VerifiedToken.failed(VerifiedToken.FailureReason.EXPIRED));
+
+            // When
+            IntrospectResponse response = blockingStub.introspect(request("expired.jwt.token"));
+
+            // Then
+            assertFalse(response.getActive());
+            assertEquals("", response.getUserId());
+            assertEquals(FailureReason.FAILURE_REASON_EXPIRED, response.getFailureReason());
+            verify(tokenRevocationService, never()).isRevoked(any());
+        }
+
+        @Test
+        @DisplayName("Should report revoked tokens")
+        void introspect_WithRevokedToken_ShouldReturnRevoked() {
+            // Given
+            VerifiedToken verified = validToken();
+            when(jwtProvider.verify("revoked.jwt.token")).thenReturn(verified);
+            when(tokenRevocationService.isRevoked(verified)).thenReturn(true);
+
+            // When
+            IntrospectResponse response = blockingStub.introspect(request("revoked.jwt.token"));
+
+            // Then
+            assertFalse(response.getActive());
+            assertEquals(FailureReason.FAILURE_REASON_REVOKED, response.getFailureReason());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty token without verifying")
+        void introspect_WithEmptyToken_ShouldReturnIllegalArgument() {
+            // When
+            IntrospectResponse response = blockingStub.introspect(request(""));
+
+            // Then
+            assertFalse(response.getActive());
+            assertEquals(FailureReason.FAILURE_REASON_ILLEGAL_ARGUMENT, response.getFailureReason());
+            verifyNoInteractions(jwtProvider, verifiedTokenCache);
+        }
+
+        @Test
+        @DisplayName("Should record call metrics per method and status")
+        void introspect_ShouldRecordMetrics() {
+            // Given
+            when(jwtProvider.verify("valid.jwt.token")).thenReturn(validToken());
+
+            // When
+            blockingStub.introspect(request("valid.jwt.token"));
+
+            // Then
+            assertEquals(1, meterRegistry.get("mindsync.grpc.server.calls")
+                    .tag("method", "Introspect")
+                    .tag("status", "OK")
+                    .timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Introspect Stream Tests")
+    class IntrospectStreamTests {
+
+        @Test
+        @DisplayName("Should answer every request in order on one stream")
+        void introspectStream_ShouldAnswerInOrder() throws InterruptedException {
+            // Given
+            when(jwtProvider.verify("valid.jwt.token")).thenReturn(validToken());
+            when(jwtProvider.verify("bad.jwt.token"))
+                    .thenReturn(VerifiedToken.failed(VerifiedToken.FailureReason.MALFORMED));
+            List<IntrospectResponse> responses = new ArrayList<>();
+            CountDownLatch completed = new CountDownLatch(1);
+
+            // When
+            StreamObserver<IntrospectRequest> requests = asyncStub.introspectStream(new StreamObserver<>() {
+                @Override
+                public void onNext(IntrospectResponse response) {
+                    responses.add(response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    completed.countDown();
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.countDown();
+                }
+            });
+            requests.onNext(request("valid.jwt.token"));
+            requests.onNext(request("bad.jwt.token"));
+            requests.onNext(request("valid.jwt.token"));
+            requests.onCompleted();
+
+            // Then
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertEquals(3, responses.size());
+            assertTrue(responses.get(0).getActive());
+            assertEquals(FailureReason.FAILURE_REASON_MALFORMED, responses.get(1).getFailureReason());
+            assertTrue(responses.get(2).getActive());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Profiles Tests")
+    class GetProfilesTests {
+
+        @Test
+        @DisplayName("Should return found profiles and report missing ids")
+        void getProfiles_ShouldReturnProfilesAndMissingIds() {
+            // Given
+            UUID found = UUID.fromString(USER_ID);
+            UUID unknown = UUID.randomUUID();
+            when(profileService.getProfiles(anyCollection())).thenReturn(List.of(profile(found)));
+
+            // When
+            GetProfilesResponse response = blockingStub.getProfiles(GetProfilesRequest.newBuilder()
+                    .addUserIds(USER_ID)
+                    .addUserIds(unknown.toString())
+                    .addUserIds("not-a-uuid")
+                    .build());
+
+            // Then
+            assertEquals(1, response.getProfilesCount());
+            Profile profile = response.getProfiles(0);
+            assertEquals(USER_ID, profile.getUserId());
+            assertEquals("Test User", profile.getName());
+            assertEquals("2000-01-15", profile.getDob());
+            assertEquals("", profile.getWorkRmt());
+            assertEquals(List.of("not-a-uuid", unknown.toString()), response.getMissingUserIdsList());
+            // One query for the whole batch, with the malformed id filtered out
+            verify(profileService, times(1)).getProfiles(argThat(ids -> ids.size() == 2
+                    && ids.contains(found) && ids.contains(unknown)));
+        }
+
+        @Test
+        @DisplayName("Should reject batches larger than the limit")
+        void getProfiles_WithTooManyIds_ShouldFailWithInvalidArgument() {
+            // Given
+            GetProfilesRequest.Builder request = GetProfilesRequest.newBuilder();
+            for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+                request.addUserIds(UUID.randomUUID().toString());
+            }
+
+            // When
+            StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                    () -> blockingStub.getProfiles(request.build()));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+            verifyNoInteractions(profileService);
+        }
+
+        @Test
+        @DisplayName("Should fail with INTERNAL when the lookup fails")
+        void getProfiles_WhenLookupFails_ShouldFailWithInternal() {
+            // Given
+            when(profileService.getProfiles(anyCollection())).thenThrow(new RuntimeException("DB down"));
+
+            // When
+            StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                    () -> blockingStub.getProfiles(GetProfilesRequest.newBuilder().addUserIds(USER_ID).build()));
+
+            // Then
+            assertEquals(Status.Code.INTERNAL, e.getStatus().getCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Profiles Tests")
+    class StreamProfilesTests {
+
+        private GetProfilesRequest requestFor(int count) {
+            GetProfilesRequest.Builder request = GetProfilesRequest.newBuilder();
+            for (int i = 0; i < count; i++) {
+                request.addUserIds(UUID.randomUUID().toString());
+            }
+            return request.build();
+        }
+
+        private void answerWithProfiles() {
+            when(profileService.getProfiles(anyCollection())).thenAnswer(invocation -> {
+                List<ProfileResponse> profiles = new ArrayList<>();
+                for (Object userId : invocation.getArgument(0, Collection.class)) {
+                    profiles.add(profile((UUID) userId));
+                }
+                return profiles;
+            });
+        }
+
+        @Test
+        @DisplayName("Should load the next batch only once the client reads on")
+        void streamProfiles_ShouldFollowClientDemand() throws InterruptedException {
+            // Given
+            answerWithProfiles();
+            List<Profile> received = new ArrayList<>();
+            AtomicReference<ClientCallStreamObserver<GetProfilesRequest>> requestStream = new AtomicReference<>();
+            CountDownLatch firstReceived = new CountDownLatch(1);
+            CountDownLatch completed = new CountDownLatch(1);
+
+            // When - the client asks for one profile
+            asyncStub.streamProfiles(requestFor(MAX_BATCH_SIZE + 2), new ClientResponseObserver<GetProfilesRequest, Profile>() {
+                @Override
+                public void beforeStart(ClientCallStreamObserver<GetProfilesRequest> stream) {
+                    stream.disableAutoRequestWithInitial(1);
+                    requestStream.set(stream);
+                }
+
+                @Override
+                public void onNext(Profile profile) {
+                    received.add(profile);
+                    firstReceived.countDown();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    completed.countDown();
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.countDown();
+                }
+            });
+
+            // Then - only the first batch was loaded
+            assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+            assertEquals(1, received.size());
+            verify(profileService, times(1)).getProfiles(anyCollection());
+
+            // When - the client reads the rest
+            requestStream.get().request(MAX_BATCH_SIZE + 2);
+
+            // Then
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertEquals(MAX_BATCH_SIZE + 2, received.size());
+            verify(profileService, times(2)).getProfiles(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should fail with INTERNAL when a batch cannot be loaded")
+        void streamProfiles_WhenLookupFails_ShouldFailWithInternal() {
+            // Given
+            when(profileService.getProfiles(anyCollection())).thenThrow(new RuntimeException("DB down"));
+
+            // When
+            Iterator<Profile> profiles = blockingStub.streamProfiles(requestFor(1));
+            StatusRuntimeException e = assertThrows(StatusRuntimeException.class, profiles::hasNext);
+
+            // Then
+            assertEquals(Status.Code.INTERNAL, e.getStatus().getCode());
+        }
+
+        @Test
+        @DisplayName("Should complete an empty stream without a lookup")
+        void streamProfiles_WithoutIds_ShouldComplete() {
+            // When
+            Iterator<Profile> profiles = blockingStub.streamProfiles(requestFor(0));
+
+            // Then
+            assertFalse(profiles.hasNext());
+            verifyNoInteractions(profileService);
+        }
+
+        @Test
+        @DisplayName("Should stream profiles in batches of the configured size")
+        void streamProfiles_ShouldLoadInBatches() {
+            // Given
+            answerWithProfiles();
+
+            // When
+            Iterator<Profile> profiles = blockingStub.streamProfiles(requestFor(MAX_BATCH_SIZE + 2));
+            int count = 0;
+            while (profiles.hasNext()) {
+                profiles.next();
+                count++;
+            }
+
+            // Then
+            assertEquals(MAX_BATCH_SIZE + 2, count);
+            verify(profileService, times(2)).getProfiles(anyCollection());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jitech.mindsync.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HotPathSamplingFilter Unit Tests")
+class HotPathSamplingFilterTest {
+
+    private static final String HOT_LOGGER = "com.jitech.mindsync.security.JwtAuthenticationFilter";
+    private static final String FORMAT = "User authenticated successfully: userId={}";
+
+    private LoggerContext context;
+    private Logger hotLogger;
+    private HotPathSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        hotLogger = context.getLogger(HOT_LOGGER);
+        hotLogger.setLevel(Level.DEBUG);
+
+        filter = new HotPathSamplingFilter();
+        filter.setLoggerPrefixes(" com.jitech.mindsync.security.JwtAuthenticationFilter , ");
+        filter.setMaxPerWindow(2);
+        filter.setWindowMillis(60_000);
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, new Object[] { "user-1" }, null);
+    }
+
+    @Nested
+    @DisplayName("Sampling Tests")
+    class SamplingTests {
+
+        @Test
+        @DisplayName("Should let maxPerWindow lines through and deny the rest")
+        void decide_OverLimit_ShouldDeny() {
+            // When & Then
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(FilterReply.DENY, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(FilterReply.DENY, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(2, filter.suppressed(HOT_LOGGER));
+        }
+
+        @Test
+        @DisplayName("Should sample each message pattern separately")
+        void decide_WithDifferentFormats_ShouldUseSeparateWindows() {
+            // Given
+            decide(hotLogger, Level.INFO, FORMAT);
+            decide(hotLogger, Level.INFO, FORMAT);
+
+            // When & Then
+            assertEquals(FilterReply.DENY, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, "No token found"));
+        }
+
+        @Test
+        @DisplayName("Should start a new window once the window has elapsed")
+        void decide_AfterWindow_ShouldAllowAgain() throws InterruptedException {
+            // Given
+            filter.setWindowMillis(500);
+            decide(hotLogger, Level.INFO, FORMAT);
+            decide(hotLogger, Level.INFO, FORMAT);
+            assertEquals(FilterReply.DENY, decide(hotLogger, Level.INFO, FORMAT));
+
+            // When
+            Thread.sleep(600);
+
+            // Then
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, FORMAT));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pass-Through Tests")
+    class PassThroughTests {
+
+        @Test
+        @DisplayName("Should never sample WARN or ERROR")
+        void decide_WithWarnAndError_ShouldStayNeutral() {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.WARN, FORMAT));
+                assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.ERROR, FORMAT));
+            }
+        }
+
+        @Test
+        @DisplayName("Should ignore loggers outside the configured prefixes")
+        void decide_WithOtherLogger_ShouldStayNeutral() {
+            // Given
+            Logger other = context.getLogger("com.jitech.mindsync.service.AuthService");
+
+            // When & Then
+            for (int i = 0; i < 5; i++) {
+                assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO, FORMAT));
+            }
+        }
+
+        @Test
+        @DisplayName("Should not count isEnabled checks or disabled levels against the window")
+        void decide_WithoutFormatOrBelowLevel_ShouldStayNeutral() {
+            // Given
+            hotLogger.setLevel(Level.INFO);
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, null));
+                assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.DEBUG, FORMAT));
+            }
+
+            // Then
+            assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, FORMAT));
+            assertEquals(0, filter.suppressed(HOT_LOGGER));
+        }
+
+        @Test
+        @DisplayName("Should pass everything through when disabled")
+        void decide_WhenDisabled_ShouldStayNeutral() {
+            // Given
+            filter.setEnabled(false);
+
+            // When & Then
+            for (int i = 0; i < 5; i++) {
+                assertEquals(FilterReply.NEUTRAL, decide(hotLogger, Level.INFO, FORMAT));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should expose suppressed lines per logger, including those before binding")
+        void bindTo_ShouldRegisterSuppressedCounter() {
+            // Given
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            for (int i = 0; i < 3; i++) {
+                decide(hotLogger, Level.INFO, FORMAT);
+            }
+
+            // When
+            filter.bindTo(registry);
+            decide(hotLogger, Level.INFO, FORMAT);
+
+            // Then
+            FunctionCounter counter = registry.find("mindsync.logging.suppressed")
+                    .tag("logger", HOT_LOGGER)
+                    .functionCounter();
+            assertNotNull(counter);
+            assertEquals(2.0, counter.count(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.jitech.mindsync.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MeteredAsyncAppender Unit Tests")
+class MeteredAsyncAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private BlockingAppender target;
+    private MeteredAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("test");
+        target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+        appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.addAppender(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        appender.stop();
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, "message", null, null);
+    }
+
+    /**
+     * Records events and blocks the async worker until released.
+     */
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch received = new CountDownLatch(1);
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Drop Counting Tests")
+    class DropCountingTests {
+
+        @Test
+        @DisplayName("Should count INFO events discarded below the threshold and keep WARN")
+        void doAppend_BelowThreshold_ShouldCountDiscardedInfo() {
+            // Given: threshold above the queue size, so the queue is always "low"
+            appender.setQueueSize(10);
+            appender.setDiscardingThreshold(11);
+            appender.start();
+
+            // When
+            appender.doAppend(event(Level.INFO));
+            appender.doAppend(event(Level.DEBUG));
+            appender.doAppend(event(Level.WARN));
+
+            // Then
+            assertEquals(2, appender.discarded());
+            assertEquals(0, appender.overflowed());
+        }
+
+        @Test
+        @DisplayName("Should count events dropped on a full queue with neverBlock")
+        void doAppend_WithFullQueue_ShouldCountOverflow() throws InterruptedException {
+            // Given
+            appender.setQueueSize(1);
+            appender.setDiscardingThreshold(0);
+            appender.setNeverBlock(true);
+            appender.start();
+            appender.doAppend(event(Level.WARN));
+            assertTrue(target.received.await(5, TimeUnit.SECONDS)); // worker is now blocked
+            appender.doAppend(event(Level.WARN)); // fills the queue
+
+            // When
+            appender.doAppend(event(Level.ERROR));
+
+            // Then
+            assertEquals(1, appender.overflowed());
+            assertEquals(0, appender.discarded());
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should expose dropped counters tagged with appender and cause")
+        void bindTo_ShouldRegisterDroppedCounters() {
+            // Given
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            appender.setQueueSize(10);
+            appender.setDiscardingThreshold(11);
+            appender.start();
+            appender.bindTo(registry);
+
+            // When
+            appender.doAppend(event(Level.INFO));
+
+            // Then
+            FunctionCounter threshold = registry.find("mindsync.logging.async.dropped")
+                    .tags("appender", "ASYNC_TEST", "cause", "threshold")
+                    .functionCounter();
+            assertNotNull(threshold);
+            assertEquals(1.0, threshold.count(), 0.0);
+            assertNotNull(registry.find("mindsync.logging.async.queued").gauge());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ForwardAuthFilter Unit Tests")
+class ForwardAuthFilterTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private MeterRegistry meterRegistry;
+    private ForwardAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ForwardAuthFilter(jwtProvider, verifiedTokenCache, tokenRevocationService, meterRegistry,
+                Duration.ofSeconds(5));
+        request = new MockHttpServletRequest("GET", "/auth/verify");
+        response = new MockHttpServletResponse();
+    }
+
+    private static VerifiedToken validToken(Instant expiresAt) {
+        return VerifiedToken.valid(USER_ID, Instant.now(), expiresAt, "test-jti", "test-sid");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("mindsync.forward_auth.requests").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Allowed Requests")
+    class AllowedTests {
+
+        @Test
+        @DisplayName("Should return 200 with user headers for a valid cookie token")
+        void doFilter_WithValidCookieToken_ShouldReturnUserId() throws ServletException, IOException {
+            // Given
+            request.setCookies(new Cookie("jwt", "valid.jwt.token"));
+            when(jwtProvider.verify("valid.jwt.token")).thenReturn(validToken(Instant.now().plusSeconds(900)));
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(200, response.getStatus());
+            assertEquals(USER_ID, response.getHeader(ForwardAuthFilter.USER_ID_HEADER));
+            assertEquals("test-sid", response.getHeader(ForwardAuthFilter.SESSION_ID_HEADER));
+            assertEquals("max-age=5", response.getHeader("Cache-Control"));
+            assertEquals("Cookie, Authorization", response.getHeader("Vary"));
+            assertEquals(1.0, count("allowed"));
+            verifyNoInteractions(filterChain);
+        }
+
+        @Test
+        @DisplayName("Should accept a Bearer token when there is no cookie")
+        void doFilter_WithBearerToken_ShouldReturnUserId() throws ServletException, IOException {
+            // Given
+            request.addHeader("Authorization", "Bearer header.jwt.token");
+            when(jwtProvider.verify("header.jwt.token")).thenReturn(validToken(Instant.now().plusSeconds(900)));
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(200, response.getStatus());
+            assertEquals(USER_ID, response.getHeader(ForwardAuthFilter.USER_ID_HEADER));
+        }
+
+        @Test
+        @DisplayName("Should serve cached verifications without re-verifying")
+        void doFilter_WithCachedToken_ShouldSkipVerification() throws ServletException, IOException {
+            // Given
+            VerifiedToken cached = validToken(Instant.now().plusSeconds(900));
+            request.setCookies(new Cookie("jwt", "cached.jwt.token"));
+            when(verifiedTokenCache.get("cached.jwt.token")).thenReturn(cached);
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(200, response.getStatus());
+            verify(jwtProvider, never()).verify(any());
+        }
+
+        @Test
+        @DisplayName("Should cap max-age at the token's remaining lifetime")
+        void doFilter_WithTokenAboutToExpire_ShouldShortenMaxAge() throws ServletException, IOException {
+            // Given
+            request.setCookies(new Cookie("jwt", "short.jwt.token"));
+            when(jwtProvider.verify("short.jwt.token")).thenReturn(validToken(Instant.now().plusMillis(2500)));
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(200, response.getStatus());
+            String cacheControl = response.getHeader("Cache-Control");
+            assertTrue("max-age=1".equals(cacheControl) || "max-age=2".equals(cacheControl), cacheControl);
+        }
+    }
+
+    @Nested
+    @DisplayName("Denied Requests")
+    class DeniedTests {
+
+        @Test
+        @DisplayName("Should return 401 without a token")
+        void doFilter_WithoutToken_ShouldReturnUnauthorized() throws ServletException, IOException {
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(401, response.getStatus());
+            assertNull(response.getHeader(ForwardAuthFilter.USER_ID_HEADER));
+            assertEquals("no-store", response.getHeader("Cache-Control"));
+            assertEquals("Bearer", response.getHeader("WWW-Authenticate"));
+            assertEquals(1.0, count("denied"));
+            verifyNoInteractions(jwtProvider, filterChain);
+        }
+
+        @Test
+        @DisplayName("Should return 401 for an invalid token")
+        void doFilter_WithInvalidToken_ShouldReturnUnauthorized() throws ServletException, IOException {
+            // Given
+            request.setCookies(new Cookie("jwt", "expired.jwt.token"));
+            when(jwtProvider.verify("expired.jwt.token"))
+                    .thenReturn(VerifiedToken.failed(VerifiedToken.FailureReason.EXPIRED));
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(401, response.getStatus());
+            verify(tokenRevocationService, never()).isRevoked(any());
+            verifyNoInteractions(filterChain);
+        }
+
+        @Test
+        @DisplayName("Should return 401 for a revoked token")
+        void doFilter_WithRevokedToken_ShouldReturnUnauthorized() throws ServletException, IOException {
+            // Given
+            VerifiedToken verified = validToken(Instant.now().plusSeconds(900));
+            request.setCookies(new Cookie("jwt", "revoked.jwt.token"));
+            when(verifiedTokenCache.get("revoked.jwt.token")).thenReturn(verified);
+            when(tokenRevocationService.isRevoked(verified)).thenReturn(true);
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(401, response.getStatus());
+            assertNull(response.getHeader(ForwardAuthFilter.USER_ID_HEADER));
+        }
+
+        @Test
+        @DisplayName("Should ignore non-Bearer Authorization headers")
+        void doFilter_WithBasicAuthorization_ShouldReturnUnauthorized() throws ServletException, IOException {
+            // Given
+            request.addHeader("Authorization", "Basic dXNlcjpwYXNz");
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertEquals(401, response.getStatus());
+            verifyNoInteractions(jwtProvider);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.service.GuestIdService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GuestSessionFilter Unit Tests")
+class GuestSessionFilterTest {
+
+    private GuestSessionFilter guestSessionFilter;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        guestSessionFilter = new GuestSessionFilter(new GuestIdService(new SimpleMeterRegistry(), "", true));
+        response = new MockHttpServletResponse();
+        filterChain = new MockFilterChain();
+    }
+
+    @Nested
+    @DisplayName("Guest Cookie Tests")
+    class GuestCookieTests {
+
+        @Test
+        @DisplayName("Should mint a guest_id cookie when neither jwt nor guest_id is present")
+        void doFilter_WithoutCookies_ShouldSetGuestIdCookie() throws ServletException, IOException {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/history");
+
+            // When
+            guestSessionFilter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNotNull(response.getCookie("guest_id"));
+        }
+
+        @Test
+        @DisplayName("Should not mint a guest_id cookie when a jwt cookie is present")
+        void doFilter_WithJwtCookie_ShouldNotSetGuestIdCookie() throws ServletException, IOException {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/history");
+            request.addHeader("Cookie", "jwt=a.b.c");
+
+            // When
+            guestSessionFilter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNull(response.getCookie("guest_id"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Route Bypass Tests")
+    class RouteBypassTests {
+
+        @Test
+        @DisplayName("Should not mint a guest_id cookie for actuator scrapes")
+        void doFilter_WithActuatorRoute_ShouldSkip() throws ServletException, IOException {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+
+            // When
+            guestSessionFilter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNull(response.getCookie("guest_id"));
+            assertSame(request, ((MockFilterChain) filterChain).getRequest());
+        }
+
+        @Test
+        @DisplayName("Should not mint a guest_id cookie for CORS preflight")
+        void doFilter_WithPreflight_ShouldSkip() throws ServletException, IOException {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/history");
+
+            // When
+            guestSessionFilter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNull(response.getCookie("guest_id"));
+        }
+
+        @Test
+        @DisplayName("Should still mint a guest_id cookie on the login page flow")
+        void doFilter_WithAuthFlowRoute_ShouldSetGuestIdCookie() throws ServletException, IOException {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+
+            // When
+            guestSessionFilter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNotNull(response.getCookie("guest_id"));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.jitech.mindsync.security;
 
+import com.jitech.mindsync.service.TokenRevocationService;
+import com.jitech.mindsync.verifier.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -17,6 +19,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +31,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private JwtProvider jwtProvider;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -45,6 +54,11 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    private static VerifiedToken validToken(String userId) {
+        Instant now = Instant.now();
+        return VerifiedToken.valid(userId, now, now.plusSeconds(3600), "test-jti");
+    }
+
     @Nested
     @DisplayName("Cookie Token Authentication Tests")
     class CookieTokenTests {
@@ -60,8 +74,7 @@ class JwtAuthenticationFilterTest {
             when(request.getCookies()).thenReturn(new Cookie[] { jwtCookie });
             when(request.getRequestURI()).thenReturn("/profile");
             when(request.getMethod()).thenReturn("GET");
-            when(jwtProvider.validateToken(token)).thenReturn(true);
-            when(jwtProvider.getUserIdFromToken(token)).thenReturn(userId);
+            when(jwtProvider.verify(token)).thenReturn(validToken(userId));
 
             // When
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -71,6 +84,7 @@ class JwtAuthenticationFilterTest {
             assertNotNull(auth);
             assertEquals(userId, auth.getName());
             verify(filterChain, times(1)).doFilter(request, response);
+            verify(jwtProvider, times(1)).verify(token); // single verification per request
         }
 
         @Test
@@ -83,7 +97,7 @@ class JwtAuthenticationFilterTest {
             when(request.getCookies()).thenReturn(new Cookie[] { jwtCookie });
             when(request.getRequestURI()).thenReturn("/profile");
             when(request.getMethod()).thenReturn("GET");
-            when(jwtProvider.validateToken(token)).thenReturn(false);
+            when(jwtProvider.verify(token)).thenReturn(VerifiedToken.failed(VerifiedToken.FailureReason.MALFORMED));
 
             // When
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -92,8 +106,7 @@ class JwtAuthenticationFilterTest {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             assertNull(auth);
             verify(filterChain, times(1)).doFilter(request, response);
-            verify(jwtProvider, never()).getUserIdFromToken(anyString());
-        }
+                    }
 
         @Test
         @DisplayName("Should handle multiple cookies and find JWT")
@@ -110,8 +123,7 @@ class JwtAuthenticationFilterTest {
             when(request.getCookies()).thenReturn(cookies);
             when(request.getRequestURI()).thenReturn("/profile");
             when(request.getMethod()).thenReturn("GET");
-            when(jwtProvider.validateToken(token)).thenReturn(true);
-            when(jwtProvider.getUserIdFromToken(token)).thenReturn(userId);
+            when(jwtProvider.verify(token)).thenReturn(validToken(userId));
 
             // When
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -138,8 +150,7 @@ class JwtAuthenticationFilterTest {
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
             when(request.getRequestURI()).thenReturn("/profile");
             when(request.getMethod()).thenReturn("GET");
-            when(jwtProvider.validateToken(token)).thenReturn(true);
-            when(jwtProvider.getUserIdFromToken(token)).thenReturn(userId);
+            when(jwtProvider.verify(token)).thenReturn(validToken(userId));
 
             // When
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -166,7 +177,7 @@ class JwtAuthenticationFilterTest {
             // Then
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             assertNull(auth);
-            verify(jwtProvider, never()).validateToken(anyString());
+            verify(jwtProvider, never()).verify(anyString());
         }
 
         @Test
@@ -180,14 +191,13 @@ class JwtAuthenticationFilterTest {
             when(request.getCookies()).thenReturn(new Cookie[] { jwtCookie });
             when(request.getRequestURI()).thenReturn("/profile");
             when(request.getMethod()).thenReturn("GET");
-            when(jwtProvider.validateToken(cookieToken)).thenReturn(true);
-            when(jwtProvider.getUserIdFromToken(cookieToken)).thenReturn(userId);
+            when(jwtProvider.verify(cookieToken)).thenReturn(validToken(userId));
 
             // When
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
             // Then
-            verify(jwtProvider, times(1)).validateToken(cookieToken);
+            verify(jwtProvider, times(1)).verify(cookieToken);
         }
     }
 
@@ -211,7 +221,7 @@ class JwtAuthenticationFilterTest {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             assertNull(auth);
             verify(filterChain, times(1)).doFilter(request, response);
-            verify(jwtProvider, never()).validateToken(anyString());
+            verify(jwtProvider, never()).verify(anyString());
         }
 
         @Test
@@ -242,4 +252,134 @@ class JwtAuthenticationFilterTest {
             verify(filterChain, times(1)).doFilter(request, response);
         }
     }
+
+    @Nested
+    @DisplayName("Verified Token Cache Tests")
+    class VerifiedTokenCacheTests {
+
+        @Test
+        @DisplayName("Should authenticate from cache without verifying signature")
+        void doFilterInternal_WithCachedToken_ShouldSkipVerification() throws ServletException, IOException {
+            // Given
+            String token = "cached.jwt.token";
+            String userId = "550e8400-e29b-41d4-a716-446655440000";
+
+            when(request.getCookies()).thenReturn(new Cookie[] { new Cookie("jwt", token) });
+            when(request.getRequestURI()).thenReturn("/profile");
+            when(request.getMethod()).thenReturn("GET");
+            when(verifiedTokenCache.get(token)).thenReturn(validToken(userId));
+
+            // When
+            jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            assertNotNull(auth);
+            assertEquals(userId, auth.getName());
+            verify(jwtProvider, never()).verify(anyString());
+        }
+
+        @Test
+        @DisplayName("Should store verification result on cache miss")
+        void doFilterInternal_WithCacheMiss_ShouldPutResult() throws ServletException, IOException {
+            // Given
+            String token = "valid.jwt.token";
+            VerifiedToken verified = validToken("550e8400-e29b-41d4-a716-446655440000");
+
+            when(request.getCookies()).thenReturn(new Cookie[] { new Cookie("jwt", token) });
+            when(request.getRequestURI()).thenReturn("/profile");
+            when(request.getMethod()).thenReturn("GET");
+            when(verifiedTokenCache.get(token)).thenReturn(null);
+            when(jwtProvider.verify(token)).thenReturn(verified);
+
+            // When
+            jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            verify(verifiedTokenCache, times(1)).put(token, verified);
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Revocation Tests")
+    class TokenRevocationTests {
+
+        @Test
+        @DisplayName("Should not authenticate a revoked token even when cached")
+        void doFilterInternal_WithRevokedCachedToken_ShouldNotAuthenticate() throws ServletException, IOException {
+            // Given
+            String token = "revoked.jwt.token";
+            VerifiedToken verified = validToken("550e8400-e29b-41d4-a716-446655440000");
+
+            when(request.getCookies()).thenReturn(new Cookie[] { new Cookie("jwt", token) });
+            when(request.getRequestURI()).thenReturn("/profile");
+            when(request.getMethod()).thenReturn("GET");
+            when(verifiedTokenCache.get(token)).thenReturn(verified);
+            when(tokenRevocationService.isRevoked(verified)).thenReturn(true);
+
+            // When
+            jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+            verify(filterChain, times(1)).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("Should not consult revocation state for an invalid token")
+        void doFilterInternal_WithInvalidToken_ShouldSkipRevocationCheck() throws ServletException, IOException {
+            // Given
+            String token = "invalid.jwt.token";
+
+            when(request.getCookies()).thenReturn(new Cookie[] { new Cookie("jwt", token) });
+            when(request.getRequestURI()).thenReturn("/profile");
+            when(request.getMethod()).thenReturn("GET");
+            when(jwtProvider.verify(token)).thenReturn(VerifiedToken.failed(VerifiedToken.FailureReason.EXPIRED));
+
+            // When
+            jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+            // Then
+            verify(tokenRevocationService, never()).isRevoked(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Route Bypass Tests")
+    class RouteBypassTests {
+
+        @Test
+        @DisplayName("Should skip CORS preflight requests")
+        void shouldNotFilter_WithPreflight_ShouldReturnTrue() {
+            // Given
+            when(request.getMethod()).thenReturn("OPTIONS");
+
+            // When & Then
+            assertTrue(jwtAuthenticationFilter.shouldNotFilter(request));
+        }
+
+        @Test
+        @DisplayName("Should skip actuator and public OTP endpoints")
+        void shouldNotFilter_WithMonitoringAndPublicRoutes_ShouldReturnTrue() {
+            // Given
+            when(request.getMethod()).thenReturn("GET", "POST");
+            when(request.getRequestURI()).thenReturn("/actuator/prometheus", "/profile/request-otp");
+
+            // When & Then
+            assertTrue(jwtAuthenticationFilter.shouldNotFilter(request));
+            assertTrue(jwtAuthenticationFilter.shouldNotFilter(request));
+        }
+
+        @Test
+        @DisplayName("Should still filter protected and auth flow endpoints")
+        void shouldNotFilter_WithProtectedAndAuthFlowRoutes_ShouldReturnFalse() {
+            // Given
+            when(request.getMethod()).thenReturn("GET", "POST");
+            when(request.getRequestURI()).thenReturn("/profile", "/logout");
+
+            // When & Then
+            assertFalse(jwtAuthenticationFilter.shouldNotFilter(request));
+            assertFalse(jwtAuthenticationFilter.shouldNotFilter(request));
+        }
+    }
 }
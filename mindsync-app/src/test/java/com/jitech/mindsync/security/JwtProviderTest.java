@@ -0,0 +1,498 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.*;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtProvider Unit Tests")
+class JwtProviderTest {
+
+    private JwtProvider jwtProvider;
+    private JwtProvider alternateProvider; // For testing with different keys
+    private JwtKeyRing primaryKeyRing;
+    private PrivateKey alternatePrivateKey;
+
+    private static final int TEST_EXPIRATION = 3600000; // 1 hour in milliseconds
+    private static final String TEST_USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String TEST_USER_ID_2 = "660e8400-e29b-41d4-a716-446655440001";
+
+    // Test RSA key pair (2048-bit)
+    private PrivateKey testPrivateKey;
+    private PublicKey testPublicKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Generate RSA key pairs for testing
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        testPrivateKey = keyPair.getPrivate();
+        testPublicKey = keyPair.getPublic();
+
+        // Generate alternate key pair for testing wrong key scenarios
+        KeyPair alternateKeyPair = keyPairGenerator.generateKeyPair();
+        alternatePrivateKey = alternateKeyPair.getPrivate();
+
+        // Initialize primary provider
+        primaryKeyRing = keyRing("RS256", keyPair);
+        jwtProvider = providerFor(primaryKeyRing, TEST_EXPIRATION);
+
+        // Initialize alternate provider for wrong key tests
+        alternateProvider = providerFor(keyRing("RS256", alternateKeyPair), TEST_EXPIRATION);
+    }
+
+    static JwtKeyRing keyRing(String algorithm, KeyPair keyPair) throws Exception {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "algorithmName", algorithm);
+        ReflectionTestUtils.setField(keyRing, "privateKeyBase64",
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(keyRing, "publicKeyBase64",
+                Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        keyRing.init();
+        return keyRing;
+    }
+
+    private static JwtProvider providerFor(JwtKeyRing keyRing, int expiration) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "keyRing", keyRing);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        provider.init();
+        return provider;
+    }
+
+    @Nested
+    @DisplayName("Token Generation Tests")
+    class TokenGenerationTests {
+
+        @Test
+        @DisplayName("Should generate valid JWT token")
+        void generateToken_ShouldReturnValidToken() {
+            // Given
+            String userId = TEST_USER_ID;
+
+            // When
+            String token = jwtProvider.generateToken(userId);
+
+            // Then
+            assertThat(token).isNotNull();
+            assertThat(token).isNotEmpty();
+            assertThat(token.split("\\.")).hasSize(3); // JWT has 3 parts
+        }
+
+        @Test
+        @DisplayName("Should generate different tokens for different userIds")
+        void generateToken_DifferentUserIds_ShouldReturnDifferentTokens() {
+            // Given
+            String userId1 = TEST_USER_ID;
+            String userId2 = TEST_USER_ID_2;
+
+            // When
+            String token1 = jwtProvider.generateToken(userId1);
+            String token2 = jwtProvider.generateToken(userId2);
+
+            // Then
+            assertThat(token1).isNotEqualTo(token2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Validation Tests")
+    class TokenValidationTests {
+
+        @Test
+        @DisplayName("Should validate correct token")
+        void validateToken_WithValidToken_ShouldReturnTrue() {
+            // Given
+            String userId = TEST_USER_ID;
+            String token = jwtProvider.generateToken(userId);
+
+            // When
+            boolean isValid = jwtProvider.validateToken(token);
+
+            // Then
+            assertThat(isValid).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject invalid token")
+        void validateToken_WithInvalidToken_ShouldReturnFalse() {
+            // Given
+            String invalidToken = "invalid.token.string";
+
+            // When
+            boolean isValid = jwtProvider.validateToken(invalidToken);
+
+            // Then
+            assertThat(isValid).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject null token")
+        void validateToken_WithNullToken_ShouldReturnFalse() {
+            // When
+            boolean isValid = jwtProvider.validateToken(null);
+
+            // Then
+            assertThat(isValid).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject empty token")
+        void validateToken_WithEmptyToken_ShouldReturnFalse() {
+            // When
+            boolean isValid = jwtProvider.validateToken("");
+
+            // Then
+            assertThat(isValid).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject expired token")
+        void validateToken_WithExpiredToken_ShouldReturnFalse() throws Exception {
+            // Given - Create a provider with very short expiration
+            JwtProvider shortExpiryProvider = providerFor(
+                    keyRing("RS256", new KeyPair(testPublicKey, testPrivateKey)), 1); // 1 millisecond
+
+            String token = shortExpiryProvider.generateToken(TEST_USER_ID);
+
+            // Wait for token to expire
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            // When
+            boolean isValid = shortExpiryProvider.validateToken(token);
+
+            // Then
+            assertThat(isValid).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject token signed with different key")
+        void validateToken_WithWrongKey_ShouldReturnFalse() {
+            // Given - Create token with different key pair
+            String token = alternateProvider.generateToken(TEST_USER_ID);
+
+            // When - Validate with original provider (different public key)
+            boolean isValid = jwtProvider.validateToken(token);
+
+            // Then
+            assertThat(isValid).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("UserId Extraction Tests")
+    class UserIdExtractionTests {
+
+        @Test
+        @DisplayName("Should extract userId from valid token")
+        void getUserIdFromToken_WithValidToken_ShouldReturnUserId() {
+            // Given
+            String userId = TEST_USER_ID;
+            String token = jwtProvider.generateToken(userId);
+
+            // When
+            String extractedUserId = jwtProvider.getUserIdFromToken(token);
+
+            // Then
+            assertThat(extractedUserId).isEqualTo(userId);
+        }
+
+        @Test
+        @DisplayName("Should extract correct userId for different users")
+        void getUserIdFromToken_DifferentUsers_ShouldReturnCorrectUserIds() {
+            // Given
+            String userId1 = TEST_USER_ID;
+            String userId2 = TEST_USER_ID_2;
+            String token1 = jwtProvider.generateToken(userId1);
+            String token2 = jwtProvider.generateToken(userId2);
+
+            // When
+            String extractedUserId1 = jwtProvider.getUserIdFromToken(token1);
+            String extractedUserId2 = jwtProvider.getUserIdFromToken(token2);
+
+            // Then
+            assertThat(extractedUserId1).isEqualTo(userId1);
+            assertThat(extractedUserId2).isEqualTo(userId2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Single-pass Verification Tests")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("Should return all claims from one verification")
+        void verify_WithValidToken_ShouldReturnClaims() {
+            // Given
+            String token = jwtProvider.generateToken(TEST_USER_ID);
+
+            // When
+            VerifiedToken verified = jwtProvider.verify(token);
+
+            // Then
+            assertThat(verified.isValid()).isTrue();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.NONE);
+            assertThat(verified.getSubject()).isEqualTo(TEST_USER_ID);
+            assertThat(verified.getTokenId()).isNotBlank();
+            assertThat(verified.getIssuedAt()).isNotNull();
+            assertThat(verified.getExpiresAt()).isAfter(verified.getIssuedAt());
+        }
+
+        @Test
+        @DisplayName("Should assign a unique jti to every token")
+        void verify_TwoTokensSameUser_ShouldHaveDifferentTokenIds() {
+            // Given
+            String token1 = jwtProvider.generateToken(TEST_USER_ID);
+            String token2 = jwtProvider.generateToken(TEST_USER_ID);
+
+            // When/Then
+            assertThat(jwtProvider.verify(token1).getTokenId())
+                    .isNotEqualTo(jwtProvider.verify(token2).getTokenId());
+        }
+
+        @Test
+        @DisplayName("Should carry the session id of the refresh token family")
+        void verify_WithSessionId_ShouldReturnSessionId() {
+            // Given
+            String sessionId = "770e8400-e29b-41d4-a716-446655440002";
+
+            // When
+            VerifiedToken withSession = jwtProvider.verify(jwtProvider.generateToken(TEST_USER_ID, sessionId));
+            VerifiedToken withoutSession = jwtProvider.verify(jwtProvider.generateToken(TEST_USER_ID));
+
+            // Then
+            assertThat(withSession.getSessionId()).isEqualTo(sessionId);
+            assertThat(withoutSession.getSessionId()).isNull();
+            assertThat(jwtProvider.getExpirationSeconds()).isEqualTo(TEST_EXPIRATION / 1000);
+        }
+
+        @Test
+        @DisplayName("Should report invalid signature for token signed with different key")
+        void verify_WithWrongKey_ShouldReportInvalidSignature() {
+            // Given - Known kid in the header, but signed with a different private key
+            String token = Jwts.builder()
+                    .setHeaderParam("kid", primaryKeyRing.getSigningKey().kid())
+                    .setSubject(TEST_USER_ID)
+                    .signWith(alternatePrivateKey, SignatureAlgorithm.RS256)
+                    .compact();
+
+            // When
+            VerifiedToken verified = jwtProvider.verify(token);
+
+            // Then
+            assertThat(verified.isValid()).isFalse();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.INVALID_SIGNATURE);
+            assertThat(verified.getSubject()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should report unsupported for token with unknown key id")
+        void verify_WithUnknownKid_ShouldReportUnsupported() {
+            // Given - Token from another key ring carries a kid this ring doesn't know
+            String token = alternateProvider.generateToken(TEST_USER_ID);
+
+            // When
+            VerifiedToken verified = jwtProvider.verify(token);
+
+            // Then
+            assertThat(verified.isValid()).isFalse();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.UNSUPPORTED);
+        }
+
+        @Test
+        @DisplayName("Should report malformed token")
+        void verify_WithMalformedToken_ShouldReportMalformed() {
+            // When
+            VerifiedToken verified = jwtProvider.verify("invalid.token.string");
+
+            // Then
+            assertThat(verified.isValid()).isFalse();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.MALFORMED);
+        }
+
+        @Test
+        @DisplayName("Should report illegal argument for null token")
+        void verify_WithNullToken_ShouldReportIllegalArgument() {
+            // When
+            VerifiedToken verified = jwtProvider.verify(null);
+
+            // Then
+            assertThat(verified.isValid()).isFalse();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.ILLEGAL_ARGUMENT);
+        }
+    }
+
+    @Nested
+    @DisplayName("Signing Algorithm Tests")
+    class SigningAlgorithmTests {
+
+        private KeyPair generateEcKeyPair() throws Exception {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+
+        private JwtKeyRing configuredKeyRing(String algorithm, KeyPair keyPair) {
+            JwtKeyRing keyRing = new JwtKeyRing();
+            ReflectionTestUtils.setField(keyRing, "algorithmName", algorithm);
+            ReflectionTestUtils.setField(keyRing, "privateKeyBase64",
+                    Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            ReflectionTestUtils.setField(keyRing, "publicKeyBase64",
+                    Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            return keyRing;
+        }
+
+        @Test
+        @DisplayName("Should sign and verify ES256 tokens loaded from configured keys")
+        void init_WithEs256Keys_ShouldSignAndVerify() throws Exception {
+            // Given
+            JwtProvider esProvider = providerFor(keyRing("ES256", generateEcKeyPair()), TEST_EXPIRATION);
+
+            // When
+            String token = esProvider.generateToken(TEST_USER_ID);
+            VerifiedToken verified = esProvider.verify(token);
+
+            // Then
+            assertThat(verified.isValid()).isTrue();
+            assertThat(verified.getSubject()).isEqualTo(TEST_USER_ID);
+            // ES256 signatures are 64 bytes vs 256 for RSA-2048, so tokens are much shorter
+            assertThat(token.length()).isLessThan(jwtProvider.generateToken(TEST_USER_ID).length());
+        }
+
+        @Test
+        @DisplayName("Should accept PEM armoured keys")
+        void init_WithPemArmouredKeys_ShouldLoad() throws Exception {
+            // Given
+            KeyPair keyPair = generateEcKeyPair();
+            JwtKeyRing keyRing = configuredKeyRing("ES256", keyPair);
+            ReflectionTestUtils.setField(keyRing, "publicKeyBase64", "-----BEGIN PUBLIC KEY-----\n"
+                    + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                    + "\n-----END PUBLIC KEY-----\n");
+
+            // When
+            keyRing.init();
+            JwtProvider esProvider = providerFor(keyRing, TEST_EXPIRATION);
+
+            // Then
+            assertThat(esProvider.validateToken(esProvider.generateToken(TEST_USER_ID))).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should still verify tokens of the previous algorithm during migration")
+        void verify_WithPreviousAlgorithmToken_ShouldAccept() throws Exception {
+            // Given - new ES256 provider that still trusts the old RS256 public key
+            JwtKeyRing keyRing = configuredKeyRing("ES256", generateEcKeyPair());
+            ReflectionTestUtils.setField(keyRing, "previousAlgorithmName", "RS256");
+            ReflectionTestUtils.setField(keyRing, "previousPublicKeyBase64",
+                    Base64.getEncoder().encodeToString(testPublicKey.getEncoded()));
+            keyRing.init();
+            JwtProvider esProvider = providerFor(keyRing, TEST_EXPIRATION);
+            String legacyToken = jwtProvider.generateToken(TEST_USER_ID);
+
+            // When
+            VerifiedToken verified = esProvider.verify(legacyToken);
+
+            // Then
+            assertThat(verified.isValid()).isTrue();
+            assertThat(verified.getSubject()).isEqualTo(TEST_USER_ID);
+        }
+
+        @Test
+        @DisplayName("Should reject tokens of another algorithm without a migration key")
+        void verify_WithOtherAlgorithmToken_ShouldReject() throws Exception {
+            // Given
+            JwtProvider esProvider = providerFor(keyRing("ES256", generateEcKeyPair()), TEST_EXPIRATION);
+            String rsaToken = jwtProvider.generateToken(TEST_USER_ID);
+
+            // When
+            VerifiedToken verified = esProvider.verify(rsaToken);
+
+            // Then
+            assertThat(verified.isValid()).isFalse();
+            assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.UNSUPPORTED);
+        }
+
+        @Test
+        @DisplayName("Should fail fast for unsupported algorithms")
+        void resolveAlgorithm_WithUnsupportedAlgorithm_ShouldThrow() {
+            assertThat(JwtKeyRing.resolveAlgorithm("rs256").getValue()).isEqualTo("RS256");
+            assertThatThrownBy(() -> JwtKeyRing.resolveAlgorithm("EdDSA"))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> JwtKeyRing.resolveAlgorithm("HS256"))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Profile Claims Tests")
+    class ProfileClaimsTests {
+
+        private final ProfileClaims profile = new ProfileClaims("Test User", "Male", "Student", "Remote");
+
+        private Claims parse(String token) {
+            return Jwts.parserBuilder().setSigningKey(testPublicKey).build().parseClaimsJws(token).getBody();
+        }
+
+        @Test
+        @DisplayName("Should embed versioned profile claims when enabled")
+        void generateToken_WithProfileClaimsEnabled_ShouldEmbedProfile() {
+            // Given
+            ReflectionTestUtils.setField(jwtProvider, "profileClaimsEnabled", true);
+            ReflectionTestUtils.setField(jwtProvider, "profileClaimsMaxBytes", 256);
+
+            // When
+            Claims claims = parse(jwtProvider.generateToken(TEST_USER_ID, null, profile));
+
+            // Then
+            assertThat(ProfileClaims.fromClaim(claims.get(ProfileClaims.CLAIM))).isEqualTo(profile);
+            assertThat(claims.get(ProfileClaims.CLAIM, Map.class)).containsEntry("v", ProfileClaims.VERSION);
+        }
+
+        @Test
+        @DisplayName("Should not embed profile claims when disabled")
+        void generateToken_WithProfileClaimsDisabled_ShouldOmitProfile() {
+            // When
+            Claims claims = parse(jwtProvider.generateToken(TEST_USER_ID, null, profile));
+
+            // Then
+            assertThat(claims).doesNotContainKey(ProfileClaims.CLAIM);
+            assertThat(jwtProvider.isProfileClaimsEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep profile claims within the size budget")
+        void generateToken_WithSmallBudget_ShouldMarkProfilePartial() {
+            // Given
+            ReflectionTestUtils.setField(jwtProvider, "profileClaimsEnabled", true);
+            ReflectionTestUtils.setField(jwtProvider, "profileClaimsMaxBytes", 48);
+
+            // When
+            @SuppressWarnings("unchecked")
+            Map<String, Object> claim = parse(jwtProvider.generateToken(TEST_USER_ID, null, profile))
+                    .get(ProfileClaims.CLAIM, Map.class);
+
+            // Then
+            assertThat(claim).containsEntry("name", "Test User").containsEntry("partial", true);
+            assertThat(claim).doesNotContainKeys("occupation", "work_rmt");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.model.Genders;
+import com.jitech.mindsync.model.Users;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProfileClaims Unit Tests")
+class ProfileClaimsTest {
+
+    private final ProfileClaims profile = new ProfileClaims("Test User", "Male", "Student", "Remote");
+
+    @Test
+    @DisplayName("Should build claims from a user, leaving out missing lookups")
+    void of_WithPartialUser_ShouldMapFields() {
+        Genders gender = new Genders();
+        gender.setGenderName("Female");
+        Users user = new Users();
+        user.setName("Jane");
+        user.setGender(gender);
+
+        assertThat(ProfileClaims.of(user)).isEqualTo(new ProfileClaims("Jane", "Female", null, null));
+        assertThat(ProfileClaims.of(user).toClaim(256)).containsOnlyKeys("v", "name", "gender");
+    }
+
+    @Test
+    @DisplayName("Should include all fields and the version within budget")
+    void toClaim_WithinBudget_ShouldIncludeAllFields() {
+        Map<String, Object> claim = profile.toClaim(256);
+
+        assertThat(claim).containsEntry("v", ProfileClaims.VERSION)
+                .containsEntry("name", "Test User")
+                .containsEntry("gender", "Male")
+                .containsEntry("occupation", "Student")
+                .containsEntry("work_rmt", "Remote")
+                .doesNotContainKey("partial");
+    }
+
+    @Test
+    @DisplayName("Should drop lowest priority fields first when over budget")
+    void toClaim_OverBudget_ShouldDropFromTheEnd() {
+        assertThat(profile.toClaim(48)).containsOnlyKeys("v", "name", "partial");
+        assertThat(profile.toClaim(5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round-trip and reject unknown versions")
+    void fromClaim_ShouldReadOnlyKnownVersion() {
+        assertThat(ProfileClaims.fromClaim(profile.toClaim(256))).isEqualTo(profile);
+        assertThat(ProfileClaims.fromClaim(Map.of("v", 2, "name", "Test User"))).isNull();
+        assertThat(ProfileClaims.fromClaim(null)).isNull();
+    }
+}
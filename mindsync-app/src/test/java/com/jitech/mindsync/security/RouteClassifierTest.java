@@ -0,0 +1,93 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.security.RouteClassifier.Route;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RouteClassifier Unit Tests")
+class RouteClassifierTest {
+
+    private static Route classify(String method, String uri) {
+        return RouteClassifier.classify(new MockHttpServletRequest(method, uri));
+    }
+
+    @Nested
+    @DisplayName("Classification Tests")
+    class ClassificationTests {
+
+        @Test
+        @DisplayName("Should classify OPTIONS on any path as preflight")
+        void classify_WithOptions_ShouldReturnPreflight() {
+            assertEquals(Route.PREFLIGHT, classify("OPTIONS", "/profile"));
+        }
+
+        @Test
+        @DisplayName("Should classify actuator and H2 console paths as monitoring")
+        void classify_WithMonitoringPaths_ShouldReturnMonitoring() {
+            assertEquals(Route.MONITORING, classify("GET", "/actuator"));
+            assertEquals(Route.MONITORING, classify("GET", "/actuator/health"));
+            assertEquals(Route.MONITORING, classify("GET", "/actuator/prometheus"));
+            assertEquals(Route.MONITORING, classify("GET", "/h2-console/login.do"));
+        }
+
+        @Test
+        @DisplayName("Should not treat paths that only share a prefix as monitoring")
+        void classify_WithPrefixLookalike_ShouldReturnProtected() {
+            assertEquals(Route.PROTECTED, classify("GET", "/actuatorx"));
+        }
+
+        @Test
+        @DisplayName("Should classify OTP, test and JWKS endpoints as stateless public")
+        void classify_WithStatelessPublicPaths_ShouldReturnStatelessPublic() {
+            for (String path : RouteClassifier.STATELESS_PUBLIC_PATHS) {
+                assertEquals(Route.STATELESS_PUBLIC, classify("POST", path), path);
+            }
+        }
+
+        @Test
+        @DisplayName("Should classify login, register, logout and refresh as auth flow")
+        void classify_WithAuthFlowPaths_ShouldReturnAuthFlow() {
+            for (String path : RouteClassifier.AUTH_FLOW_PATHS) {
+                assertEquals(Route.AUTH_FLOW, classify("POST", path), path);
+            }
+        }
+
+        @Test
+        @DisplayName("Should classify everything else as protected")
+        void classify_WithOtherPaths_ShouldReturnProtected() {
+            assertEquals(Route.PROTECTED, classify("GET", "/profile"));
+            assertEquals(Route.PROTECTED, classify("PUT", "/profile/change-password"));
+            assertEquals(Route.PROTECTED, classify("GET", "/hello"));
+        }
+
+        @Test
+        @DisplayName("Should strip the context path before matching")
+        void classify_WithContextPath_ShouldMatchPathWithinApplication() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/actuator/health");
+            request.setContextPath("/api");
+
+            // When & Then
+            assertEquals(Route.MONITORING, RouteClassifier.classify(request));
+        }
+    }
+
+    @Nested
+    @DisplayName("Session Filter Bypass Tests")
+    class BypassTests {
+
+        @Test
+        @DisplayName("Should skip session filters only for preflight, monitoring and stateless public routes")
+        void skipsSessionFilters_ShouldMatchRoutePolicy() {
+            assertTrue(Route.PREFLIGHT.skipsSessionFilters());
+            assertTrue(Route.MONITORING.skipsSessionFilters());
+            assertTrue(Route.STATELESS_PUBLIC.skipsSessionFilters());
+            assertFalse(Route.AUTH_FLOW.skipsSessionFilters());
+            assertFalse(Route.PROTECTED.skipsSessionFilters());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.verifier.TokenVerifier;
+import com.jitech.mindsync.verifier.VerifiedToken;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tokens issued here must verify in downstream services through the
+ * mindsync-token-verifier module, using only the published JWKS document.
+ */
+@DisplayName("TokenVerifier Compatibility Tests")
+class TokenVerifierCompatibilityTest {
+
+    private static final String TEST_USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private HttpServer server;
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        keyRing = JwtProviderTest.keyRing("ES256", generator.generateKeyPair());
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            byte[] body = keyRing.getJwks().json().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should verify issued tokens with the published JWKS")
+    void verify_IssuedToken_ShouldMatchProviderClaims() {
+        // Given
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "keyRing", keyRing);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 900000);
+        ReflectionTestUtils.setField(provider, "profileClaimsEnabled", true);
+        ReflectionTestUtils.setField(provider, "profileClaimsMaxBytes", 256);
+        provider.init();
+        String token = provider.generateToken(TEST_USER_ID, "family-1",
+                new ProfileClaims("Test User", "Male", "Student", "Remote"));
+
+        TokenVerifier verifier = TokenVerifier.builder()
+                .jwksUri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json"))
+                .build();
+
+        // When
+        VerifiedToken downstream = verifier.verify(token);
+        VerifiedToken local = provider.verify(token);
+
+        // Then
+        assertThat(downstream.isValid()).isTrue();
+        assertThat(downstream.getSubject()).isEqualTo(local.getSubject());
+        assertThat(downstream.getTokenId()).isEqualTo(local.getTokenId());
+        assertThat(downstream.getSessionId()).isEqualTo(local.getSessionId());
+        assertThat(downstream.getExpiresAt()).isEqualTo(local.getExpiresAt());
+        assertThat(downstream.getProfile().name()).isEqualTo("Test User");
+        assertThat(downstream.getProfile().workRmt()).isEqualTo("Remote");
+        assertThat(downstream.getProfile().partial()).isFalse();
+    }
+}
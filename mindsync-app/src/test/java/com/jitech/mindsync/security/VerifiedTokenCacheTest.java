@@ -0,0 +1,135 @@
+package com.jitech.mindsync.security;
+
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache Unit Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String TEST_USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private MeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, true, 10);
+    }
+
+    private static VerifiedToken validUntil(Instant expiresAt) {
+        return VerifiedToken.valid(TEST_USER_ID, Instant.now(), expiresAt, "jti");
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should return cached result for the same token")
+        void get_AfterPut_ShouldHit() {
+            // Given
+            VerifiedToken verified = validUntil(Instant.now().plusSeconds(60));
+            cache.put("a.b.c", verified);
+
+            // When
+            VerifiedToken cached = cache.get("a.b.c");
+
+            // Then
+            assertThat(cached).isSameAs(verified);
+            assertThat(count("mindsync.jwt.cache.requests", "result", "hit")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should miss for a different token")
+        void get_WithUnknownToken_ShouldMiss() {
+            // Given
+            cache.put("a.b.c", validUntil(Instant.now().plusSeconds(60)));
+
+            // When
+            VerifiedToken cached = cache.get("x.y.z");
+
+            // Then
+            assertThat(cached).isNull();
+            assertThat(count("mindsync.jwt.cache.requests", "result", "miss")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should evict entry once the token has expired")
+        void get_WithExpiredEntry_ShouldMissAndEvict() {
+            // Given
+            cache.put("a.b.c", validUntil(Instant.now().minusSeconds(1)));
+
+            // When
+            VerifiedToken cached = cache.get("a.b.c");
+
+            // Then
+            assertThat(cached).isNull();
+            assertThat(cache.size()).isZero();
+            assertThat(count("mindsync.jwt.cache.evictions", "cause", "expired")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should return null for null token")
+        void get_WithNullToken_ShouldReturnNull() {
+            assertThat(cache.get(null)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Store Tests")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Should not cache failed verifications")
+        void put_WithFailedToken_ShouldNotCache() {
+            // When
+            cache.put("a.b.c", VerifiedToken.failed(VerifiedToken.FailureReason.INVALID_SIGNATURE));
+
+            // Then
+            assertThat(cache.size()).isZero();
+            assertThat(cache.get("a.b.c")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should do nothing when disabled")
+        void put_WhenDisabled_ShouldNotCache() {
+            // Given
+            VerifiedTokenCache disabled = new VerifiedTokenCache(new SimpleMeterRegistry(), false, 10);
+
+            // When
+            disabled.put("a.b.c", validUntil(Instant.now().plusSeconds(60)));
+
+            // Then
+            assertThat(disabled.isEnabled()).isFalse();
+            assertThat(disabled.size()).isZero();
+            assertThat(disabled.get("a.b.c")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should stay within max entries")
+        void put_BeyondCapacity_ShouldEvict() {
+            // When
+            for (int i = 0; i < 25; i++) {
+                cache.put("token." + i + ".sig", validUntil(Instant.now().plusSeconds(60)));
+            }
+
+            // Then
+            assertThat(cache.size()).isLessThanOrEqualTo(10);
+            assertThat(count("mindsync.jwt.cache.evictions", "cause", "size")).isPositive();
+        }
+    }
+}
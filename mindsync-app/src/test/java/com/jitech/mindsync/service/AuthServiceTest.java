@@ -2,10 +2,13 @@ package com.jitech.mindsync.service;
 
 import com.jitech.mindsync.dto.RegisterRequest;
 import com.jitech.mindsync.model.Genders;
+import com.jitech.mindsync.model.HandoverOutboxEvent;
 import com.jitech.mindsync.model.Occupations;
+import com.jitech.mindsync.model.OtpType;
 import com.jitech.mindsync.model.Users;
 import com.jitech.mindsync.model.WorkRemotes;
 import com.jitech.mindsync.repository.GendersRepository;
+import com.jitech.mindsync.repository.HandoverOutboxRepository;
 import com.jitech.mindsync.repository.OccupationsRepository;
 import com.jitech.mindsync.repository.UserRepository;
 import com.jitech.mindsync.repository.WorkRemotesRepository;
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -51,6 +56,9 @@ class AuthServiceTest {
     @Mock
     private OtpService otpService;
 
+    @Mock
+    private HandoverOutboxRepository handoverOutboxRepository;
+
     @InjectMocks
     private AuthService authService;
 
@@ -109,13 +117,14 @@ class AuthServiceTest {
         @DisplayName("Should register user successfully with valid data")
         void registerUser_WithValidData_ShouldSucceed() {
             // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
             when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
             when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
             when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-            when(userRepository.save(any(Users.class))).thenReturn(testUser);
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
 
             // When
             Users result = authService.registerUser(validRegisterRequest);
@@ -124,14 +133,53 @@ class AuthServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getEmail()).isEqualTo("test@example.com");
             assertThat(result.getName()).isEqualTo("Test User");
-            verify(userRepository, times(1)).save(any(Users.class));
+            verify(userRepository, times(1)).saveAndFlush(any(Users.class));
+            verify(handoverOutboxRepository, never()).save(any(HandoverOutboxEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should record a handover event with the new user when a guest_id is given")
+        void registerUser_WithGuestId_ShouldRecordHandoverEvent() {
+            // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
+            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
+            when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+            when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
+            when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
+            when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
+
+            // When
+            authService.registerUser(validRegisterRequest, "guest-abc-123");
+
+            // Then
+            ArgumentCaptor<HandoverOutboxEvent> captor = ArgumentCaptor.forClass(HandoverOutboxEvent.class);
+            verify(handoverOutboxRepository, times(1)).save(captor.capture());
+            assertThat(captor.getValue().getGuestId()).isEqualTo("guest-abc-123");
+            assertThat(captor.getValue().getUserId()).isEqualTo(testUser.getUserId());
+            assertThat(captor.getValue().getCreatedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should not record a handover event when registration fails")
+        void registerUser_WithGuestIdAndExistingEmail_ShouldNotRecordHandoverEvent() {
+            // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
+            when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+            // When & Then
+            assertThatThrownBy(() -> authService.registerUser(validRegisterRequest, "guest-abc-123"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(handoverOutboxRepository);
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
         }
 
         @Test
         @DisplayName("Should throw exception when email already exists")
         void registerUser_WithExistingEmail_ShouldThrowException() {
             // Given
-            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
             // When/Then
@@ -139,15 +187,16 @@ class AuthServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Email already registered");
 
-            verify(userRepository, never()).save(any(Users.class));
+            verify(userRepository, never()).saveAndFlush(any(Users.class));
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
         }
 
         @Test
         @DisplayName("Should throw exception for invalid gender")
         void registerUser_WithInvalidGender_ShouldThrowException() {
             // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             validRegisterRequest.setGender("InvalidGender");
-            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("InvalidGender")).thenReturn(Optional.empty());
 
@@ -156,15 +205,16 @@ class AuthServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Invalid gender");
 
-            verify(userRepository, never()).save(any(Users.class));
+            verify(userRepository, never()).saveAndFlush(any(Users.class));
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
         }
 
         @Test
         @DisplayName("Should throw exception for invalid occupation")
         void registerUser_WithInvalidOccupation_ShouldThrowException() {
             // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             validRegisterRequest.setOccupation("InvalidOccupation");
-            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
             when(occupationsRepository.findByOccupationName("InvalidOccupation")).thenReturn(Optional.empty());
@@ -174,15 +224,16 @@ class AuthServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("Invalid occupation");
 
-            verify(userRepository, never()).save(any(Users.class));
+            verify(userRepository, never()).saveAndFlush(any(Users.class));
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
         }
 
         @Test
         @DisplayName("Should throw exception for invalid work remote status")
         void registerUser_WithInvalidWorkRemote_ShouldThrowException() {
             // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             validRegisterRequest.setWorkRmt("InvalidWorkRemote");
-            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
             when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
@@ -193,7 +244,8 @@ class AuthServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("Invalid work remote status");
 
-            verify(userRepository, never()).save(any(Users.class));
+            verify(userRepository, never()).saveAndFlush(any(Users.class));
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
         }
 
         @Test
@@ -201,13 +253,14 @@ class AuthServiceTest {
         void registerUser_WithNullOccupation_ShouldUseDefault() {
             // Given
             validRegisterRequest.setOccupation(null);
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
             when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
             when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
             when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-            when(userRepository.save(any(Users.class))).thenReturn(testUser);
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
 
             // When
             Users result = authService.registerUser(validRegisterRequest);
@@ -222,13 +275,14 @@ class AuthServiceTest {
         void registerUser_WithNullWorkRemote_ShouldUseDefault() {
             // Given
             validRegisterRequest.setWorkRmt(null);
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
             when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
             when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
             when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
             when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
             when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
             when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-            when(userRepository.save(any(Users.class))).thenReturn(testUser);
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
 
             // When
             Users result = authService.registerUser(validRegisterRequest);
@@ -239,17 +293,78 @@ class AuthServiceTest {
         }
 
         @Test
-        @DisplayName("Should throw exception for invalid OTP")
+        @DisplayName("Should reject an invalid OTP before looking at the account or hashing the password")
         void registerUser_WithInvalidOtp_ShouldThrowException() {
             // Given
-            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(false);
+            when(otpService.verifyOtpWithoutConsuming("test@example.com", "123456", OtpType.SIGNUP))
+                    .thenReturn("invalid");
 
             // When/Then
             assertThatThrownBy(() -> authService.registerUser(validRegisterRequest))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Invalid or expired OTP");
 
-            verify(userRepository, never()).save(any(Users.class));
+            verifyNoInteractions(userRepository, passwordEncoder, handoverOutboxRepository);
+            verify(otpService, never()).validateAndUseOtp(anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should not reveal an existing account to a request with an invalid OTP")
+        void registerUser_WithInvalidOtpAndExistingEmail_ShouldReportInvalidOtp() {
+            // Given
+            when(otpService.verifyOtpWithoutConsuming("test@example.com", "123456", OtpType.SIGNUP))
+                    .thenReturn("invalid");
+
+            // When/Then
+            assertThatThrownBy(() -> authService.registerUser(validRegisterRequest))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid or expired OTP");
+
+            verify(userRepository, never()).findByEmail(anyString());
+        }
+
+        @Test
+        @DisplayName("Should fail when a concurrent registration used the OTP first")
+        void registerUser_WhenOtpUsedConcurrently_ShouldThrowException() {
+            // Given
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
+            when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+            when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
+            when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
+            when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
+            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(false);
+
+            // When/Then: the exception rolls back the user row written before the consume
+            assertThatThrownBy(() -> authService.registerUser(validRegisterRequest))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid or expired OTP");
+        }
+
+        @Test
+        @DisplayName("Should check the OTP first but use it up only after the user row and handover event are written")
+        void registerUser_ShouldConsumeOtpLast() {
+            // Given
+            when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+            when(gendersRepository.findByGenderName("Male")).thenReturn(Optional.of(testGender));
+            when(occupationsRepository.findByOccupationName("Student")).thenReturn(Optional.of(testOccupation));
+            when(workRemotesRepository.findByWorkRmtName("In-person")).thenReturn(Optional.of(testWorkRemote));
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+            when(userRepository.saveAndFlush(any(Users.class))).thenReturn(testUser);
+            when(otpService.verifyOtpWithoutConsuming(anyString(), anyString(), any())).thenReturn("valid");
+            when(otpService.validateAndUseOtp(anyString(), anyString(), any())).thenReturn(true);
+
+            // When
+            authService.registerUser(validRegisterRequest, "guest-abc-123");
+
+            // Then
+            InOrder inOrder = inOrder(userRepository, handoverOutboxRepository, otpService);
+            inOrder.verify(otpService).verifyOtpWithoutConsuming("test@example.com", "123456", OtpType.SIGNUP);
+            inOrder.verify(userRepository).findByEmail("test@example.com");
+            inOrder.verify(userRepository).saveAndFlush(any(Users.class));
+            inOrder.verify(handoverOutboxRepository).save(any(HandoverOutboxEvent.class));
+            inOrder.verify(otpService).validateAndUseOtp("test@example.com", "123456", OtpType.SIGNUP);
         }
     }
 
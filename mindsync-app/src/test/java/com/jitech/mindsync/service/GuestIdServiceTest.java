@@ -0,0 +1,160 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.service.GuestIdService.Verification;
+import com.jitech.mindsync.util.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GuestIdService Unit Tests")
+class GuestIdServiceTest {
+
+    private static final String SECRET = "test-guest-id-secret";
+    private static final Duration MAX_AGE = Duration.ofHours(48);
+
+    private SimpleMeterRegistry meterRegistry;
+    private GuestIdService signing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        signing = new GuestIdService(meterRegistry, SECRET, true, MAX_AGE, Clock.systemUTC());
+    }
+
+    private static GuestIdService at(Instant now) {
+        return new GuestIdService(new SimpleMeterRegistry(), SECRET, true, MAX_AGE,
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Nested
+    @DisplayName("Signed Guest ID Tests")
+    class SignedTests {
+
+        @Test
+        @DisplayName("Should issue a v7 UUID with a tag that verifies")
+        void issue_ShouldVerifyAsValid() {
+            // When
+            String guestId = signing.issue();
+
+            // Then
+            assertEquals(36 + 1 + 16, guestId.length());
+            assertEquals(7, UUID.fromString(guestId.substring(0, 36)).version());
+            assertEquals(Verification.VALID, signing.verify(guestId));
+        }
+
+        @Test
+        @DisplayName("Should reject a tampered UUID or tag as forged")
+        void verify_WithTamperedId_ShouldReturnForged() {
+            // Given
+            String guestId = signing.issue();
+            String otherUuid = UuidV7.generate().toString();
+
+            // When & Then
+            assertEquals(Verification.FORGED, signing.verify(otherUuid + guestId.substring(36)));
+            char last = guestId.charAt(guestId.length() - 1);
+            String badTag = guestId.substring(0, guestId.length() - 1) + (last == 'A' ? 'B' : 'A');
+            assertEquals(Verification.FORGED, signing.verify(badTag));
+        }
+
+        @Test
+        @DisplayName("Should reject ids signed with another secret")
+        void verify_WithOtherSecret_ShouldReturnForged() {
+            // Given
+            GuestIdService other = new GuestIdService(new SimpleMeterRegistry(), "other-secret", true);
+
+            // When & Then
+            assertEquals(Verification.FORGED, signing.verify(other.issue()));
+        }
+
+        @Test
+        @DisplayName("Should reject ids older than the guest cookie lifetime")
+        void verify_WithStaleId_ShouldReturnExpired() {
+            // Given
+            String guestId = signing.issue();
+
+            // When & Then
+            assertEquals(Verification.VALID, at(Instant.now().plus(MAX_AGE).minusSeconds(60)).verify(guestId));
+            assertEquals(Verification.EXPIRED, at(Instant.now().plus(MAX_AGE).plusSeconds(60)).verify(guestId));
+            assertEquals(Verification.EXPIRED, at(Instant.now().minus(Duration.ofMinutes(10))).verify(guestId));
+        }
+
+        @Test
+        @DisplayName("Should count verification results")
+        void verify_ShouldCountResults() {
+            // When
+            signing.verify(signing.issue());
+            signing.verify("garbage");
+
+            // Then
+            assertEquals(1.0, meterRegistry.get("mindsync.guest_id.verifications")
+                    .tag("result", "valid").counter().count(), 0.0);
+            assertEquals(1.0, meterRegistry.get("mindsync.guest_id.verifications")
+                    .tag("result", "malformed").counter().count(), 0.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Unsigned and Malformed Guest ID Tests")
+    class UnsignedTests {
+
+        @Test
+        @DisplayName("Should issue plain UUIDs when no secret is configured")
+        void issue_WithoutSecret_ShouldReturnPlainUuid() {
+            // Given
+            GuestIdService unsigned = new GuestIdService(new SimpleMeterRegistry(), "", true);
+
+            // When
+            String guestId = unsigned.issue();
+
+            // Then
+            assertFalse(unsigned.isSigning());
+            assertEquals(7, UUID.fromString(guestId).version());
+            assertEquals(Verification.UNSIGNED, unsigned.verify(guestId));
+        }
+
+        @Test
+        @DisplayName("Should accept legacy unsigned ids only while allowed")
+        void verify_WithLegacyUuid_ShouldDependOnAcceptUnsigned() {
+            // Given
+            String legacy = UUID.randomUUID().toString();
+            GuestIdService strict = new GuestIdService(new SimpleMeterRegistry(), SECRET, false);
+
+            // When & Then
+            assertEquals(Verification.UNSIGNED, signing.verify(legacy));
+            assertTrue(signing.verify(legacy).isAccepted());
+            assertEquals(Verification.UNSIGNED_REJECTED, strict.verify(legacy));
+            assertFalse(strict.verify(legacy).isAccepted());
+        }
+
+        @Test
+        @DisplayName("Should reject values that are not guest ids")
+        void verify_WithMalformedValues_ShouldReturnMalformed() {
+            assertEquals(Verification.MALFORMED, signing.verify(null));
+            assertEquals(Verification.MALFORMED, signing.verify("guest-abc-123"));
+            assertEquals(Verification.MALFORMED, signing.verify("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"));
+            assertEquals(Verification.MALFORMED, signing.verify(UuidV7.generate() + ".!!notbase64!!"));
+            assertEquals(Verification.MALFORMED, signing.verify(UuidV7.generate() + ".c2hvcnQ"));
+            assertEquals(Verification.MALFORMED, signing.verify(UUID.randomUUID() + "." + "A".repeat(16)));
+        }
+
+        @Test
+        @DisplayName("Should reject signed-looking ids when signing is off")
+        void verify_WithTagButNoSecret_ShouldReturnMalformed() {
+            // Given
+            GuestIdService unsigned = new GuestIdService(new SimpleMeterRegistry(), "", true);
+
+            // When & Then
+            assertEquals(Verification.MALFORMED, unsigned.verify(signing.issue()));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.model.HandoverOutboxEvent;
+import com.jitech.mindsync.repository.HandoverOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HandoverOutboxRelay Unit Tests")
+class HandoverOutboxRelayTest {
+
+    @Mock
+    private HandoverOutboxRepository outboxRepository;
+
+    @Mock
+    private ValkeyService valkeyService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HandoverOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new HandoverOutboxRelay(outboxRepository, valkeyService, transactionManager, meterRegistry,
+                2, 10, 1000, 3, 60_000);
+    }
+
+    private static HandoverOutboxEvent event(long eventId, String guestId) {
+        HandoverOutboxEvent event = new HandoverOutboxEvent(guestId, UUID.randomUUID(),
+                LocalDateTime.now().minusSeconds(1));
+        event.setEventId(eventId);
+        return event;
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should send claimed events and delete them")
+        void relayBatch_WhenAllSent_ShouldDeleteRows() {
+            // Given
+            HandoverOutboxEvent first = event(1L, "guest-1");
+            HandoverOutboxEvent second = event(2L, "guest-2");
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class))).thenReturn(List.of(first, second));
+            when(valkeyService.sendHandoverMessages(anyList(), eq(1000L))).thenReturn(List.of("1-0", "1-1"));
+
+            // When
+            int claimed = relay.relayBatch();
+
+            // Then
+            assertEquals(2, claimed);
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Map<String, String>>> bodies = ArgumentCaptor.forClass(List.class);
+            verify(valkeyService).sendHandoverMessages(bodies.capture(), eq(1000L));
+            assertEquals("guest-1", bodies.getValue().get(0).get("guest_id"));
+            assertEquals("1", bodies.getValue().get(0).get("event_id"));
+            assertEquals(second.getUserId().toString(), bodies.getValue().get(1).get("user_id"));
+            verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+            verify(outboxRepository, never()).incrementAttempts(any());
+            assertEquals(2.0, counter("mindsync.handover.outbox.relayed"));
+            assertEquals(2, meterRegistry.get("mindsync.handover.outbox.lag").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should keep failed events for retry and stop the run")
+        void relayBatch_WithPartialFailure_ShouldKeepFailedRows() {
+            // Given
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(event(1L, "guest-1"), event(2L, "guest-2")));
+            when(valkeyService.sendHandoverMessages(anyList(), anyLong())).thenReturn(Arrays.asList("1-0", null));
+
+            // When
+            int claimed = relay.relayBatch();
+
+            // Then
+            assertEquals(-1, claimed);
+            verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+            verify(outboxRepository).incrementAttempts(List.of(2L));
+            assertEquals(1.0, counter("mindsync.handover.outbox.relayed"));
+            assertEquals(1.0, counter("mindsync.handover.outbox.failed"));
+        }
+
+        @Test
+        @DisplayName("Should keep every event without using up attempts when Valkey is unavailable")
+        void relayBatch_WhenValkeyUnavailable_ShouldKeepAllRows() {
+            // Given
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(event(1L, "guest-1"), event(2L, "guest-2")));
+            when(valkeyService.sendHandoverMessages(anyList(), anyLong())).thenReturn(List.of());
+
+            // When
+            int claimed = relay.relayBatch();
+
+            // Then
+            assertEquals(-1, claimed);
+            verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+            verify(outboxRepository, never()).incrementAttempts(any());
+            assertEquals(2.0, counter("mindsync.handover.outbox.failed"));
+        }
+
+        @Test
+        @DisplayName("Should park an event whose send failed max-attempts times")
+        void relayBatch_WhenAttemptsUsedUp_ShouldParkEvent() {
+            // Given
+            HandoverOutboxEvent poisoned = event(1L, "guest-1");
+            poisoned.setAttempts(2);
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(poisoned, event(2L, "guest-2")));
+            when(valkeyService.sendHandoverMessages(anyList(), anyLong())).thenReturn(Arrays.asList(null, null));
+
+            // When
+            relay.relayBatch();
+
+            // Then
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Collection<Long>> failedIds = ArgumentCaptor.forClass(Collection.class);
+            verify(outboxRepository).incrementAttempts(failedIds.capture());
+            assertEquals(List.of(1L, 2L), failedIds.getValue());
+            assertEquals(1.0, counter("mindsync.handover.outbox.parked.total"));
+        }
+
+        @Test
+        @DisplayName("Should not call Valkey when the outbox is empty")
+        void relayBatch_WhenEmpty_ShouldDoNothing() {
+            // Given
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class))).thenReturn(List.of());
+
+            // When
+            int claimed = relay.relayBatch();
+
+            // Then
+            assertEquals(0, claimed);
+            verifyNoInteractions(valkeyService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Relay Run Tests")
+    class RelayRunTests {
+
+        @Test
+        @DisplayName("Should keep claiming full batches until the outbox is drained")
+        void relay_ShouldDrainFullBatches() {
+            // Given
+            when(valkeyService.isAvailable()).thenReturn(true);
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(event(1L, "guest-1"), event(2L, "guest-2")))
+                    .thenReturn(List.of(event(3L, "guest-3")));
+            when(valkeyService.sendHandoverMessages(anyList(), anyLong()))
+                    .thenReturn(List.of("1-0", "1-1"))
+                    .thenReturn(List.of("1-2"));
+
+            // When
+            relay.relay();
+
+            // Then
+            verify(outboxRepository, times(2)).claimBatch(eq(3), any(Pageable.class));
+            verify(transactionManager, times(2)).commit(any());
+            assertEquals(3.0, counter("mindsync.handover.outbox.relayed"));
+            verify(outboxRepository, never()).count();
+            verify(outboxRepository, never()).findOldestCreatedAt(anyInt());
+        }
+
+        @Test
+        @DisplayName("Should not claim anything while the Valkey circuit breaker is open")
+        void relay_WhenValkeyUnavailable_ShouldNotClaim() {
+            // Given
+            when(valkeyService.isAvailable()).thenReturn(false);
+
+            // When
+            relay.relay();
+
+            // Then
+            verifyNoInteractions(outboxRepository, transactionManager);
+            verify(valkeyService, never()).sendHandoverMessages(anyList(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should back off after a failed batch instead of retrying on the next poll")
+        void relay_AfterFailedBatch_ShouldBackOff() {
+            // Given
+            when(valkeyService.isAvailable()).thenReturn(true);
+            when(outboxRepository.claimBatch(eq(3), any(Pageable.class)))
+                    .thenReturn(List.of(event(1L, "guest-1")));
+            when(valkeyService.sendHandoverMessages(anyList(), anyLong())).thenReturn(List.of());
+
+            // When
+            relay.relay();
+            relay.relay();
+
+            // Then - the second poll falls inside the pause
+            verify(outboxRepository, times(1)).claimBatch(eq(3), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should publish backlog size, oldest event age and parked events")
+        void refreshBacklog_ShouldPublishGauges() {
+            // Given
+            when(outboxRepository.count()).thenReturn(7L);
+            when(outboxRepository.countByAttemptsGreaterThanEqual(3)).thenReturn(2L);
+            when(outboxRepository.findOldestCreatedAt(3)).thenReturn(LocalDateTime.now().minusSeconds(30));
+
+            // When
+            relay.refreshBacklog();
+
+            // Then
+            assertEquals(5.0, meterRegistry.get("mindsync.handover.outbox.backlog").gauge().value());
+            assertEquals(2.0, meterRegistry.get("mindsync.handover.outbox.parked").gauge().value());
+            assertTrue(meterRegistry.get("mindsync.handover.outbox.oldest.age").gauge().value() >= 30.0);
+        }
+    }
+}
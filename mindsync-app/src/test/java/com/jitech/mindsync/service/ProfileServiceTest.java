@@ -11,6 +11,7 @@ import com.jitech.mindsync.repository.GendersRepository;
 import com.jitech.mindsync.repository.OccupationsRepository;
 import com.jitech.mindsync.repository.UserRepository;
 import com.jitech.mindsync.repository.WorkRemotesRepository;
+import com.jitech.mindsync.security.ProfileClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -55,6 +57,12 @@ class ProfileServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private ProfileService profileService;
 
@@ -151,6 +159,70 @@ class ProfileServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Profile Claims Tests")
+    class ProfileClaimsTests {
+
+        @Test
+        @DisplayName("Should load profile claims with a single fetch query")
+        void getProfileClaims_WithValidUserId_ShouldReturnClaims() {
+            // Given
+            when(userRepository.findWithProfileById(testUser.getUserId())).thenReturn(Optional.of(testUser));
+
+            // When
+            ProfileClaims result = profileService.getProfileClaims(testUser.getUserId());
+
+            // Then
+            assertEquals(new ProfileClaims("Test User", "Male", "Student", "Remote"), result);
+            verify(userRepository, never()).findById(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should return null when user not found")
+        void getProfileClaims_WithInvalidUserId_ShouldReturnNull() {
+            // Given
+            UUID nonExistentId = UUID.randomUUID();
+            when(userRepository.findWithProfileById(nonExistentId)).thenReturn(Optional.empty());
+
+            // When/Then
+            assertNull(profileService.getProfileClaims(nonExistentId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Profiles (Batch) Tests")
+    class GetProfilesTests {
+
+        @Test
+        @DisplayName("Should load all requested profiles with a single query")
+        void getProfiles_ShouldUseSingleBatchQuery() {
+            // Given
+            UUID unknown = UUID.randomUUID();
+            List<UUID> userIds = List.of(testUser.getUserId(), unknown);
+            when(userRepository.findAllWithProfileByIdIn(userIds)).thenReturn(List.of(testUser));
+
+            // When
+            List<ProfileResponse> result = profileService.getProfiles(userIds);
+
+            // Then
+            assertEquals(1, result.size());
+            assertEquals(testUser.getUserId(), result.get(0).getUserId());
+            assertEquals("Male", result.get(0).getGender());
+            verify(userRepository, never()).findById(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should not query for an empty id list")
+        void getProfiles_WithNoIds_ShouldReturnEmpty() {
+            // When
+            List<ProfileResponse> result = profileService.getProfiles(List.of());
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(userRepository);
+        }
+    }
+
     @Nested
     @DisplayName("Update Profile Tests")
     class UpdateProfileTests {
@@ -357,6 +429,8 @@ class ProfileServiceTest {
             verify(otpService, times(1)).validateAndUseOtp("test@example.com", "123456", OtpType.PASSWORD_RESET);
             verify(userRepository, times(1)).save(testUser);
             verify(emailService, times(1)).sendPasswordChangedEmail("test@example.com");
+            verify(refreshTokenService, times(1)).revokeAllForUser(testUser.getUserId());
+            verify(tokenRevocationService, times(1)).revokeAllForUser(testUser.getUserId().toString());
         }
 
         @Test
@@ -436,6 +510,8 @@ class ProfileServiceTest {
             verify(passwordEncoder, times(1)).matches("oldPassword123", "hashedPassword");
             verify(userRepository, times(1)).save(testUser);
             verify(emailService, times(1)).sendPasswordChangedEmail("test@example.com");
+            verify(refreshTokenService, times(1)).revokeAllForUser(testUser.getUserId());
+            verify(tokenRevocationService, times(1)).revokeAllForUser(testUser.getUserId().toString());
         }
 
         @Test
@@ -453,6 +529,7 @@ class ProfileServiceTest {
             assertFalse(result);
             verify(userRepository, never()).save(any(Users.class));
             verify(emailService, never()).sendPasswordChangedEmail(anyString());
+            verify(tokenRevocationService, never()).revokeAllForUser(anyString());
         }
 
         @Test
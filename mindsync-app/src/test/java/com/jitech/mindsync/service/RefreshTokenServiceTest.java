@@ -0,0 +1,262 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.model.RefreshToken;
+import com.jitech.mindsync.repository.RefreshTokenRepository;
+import com.jitech.mindsync.service.RefreshTokenService.IssuedRefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    private static final long REFRESH_EXPIRATION_MS = 14L * 24 * 60 * 60 * 1000;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private RefreshTokenService refreshTokenService;
+
+    private UUID userId;
+    private UUID familyId;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationService,
+                REFRESH_EXPIRATION_MS);
+        userId = UUID.randomUUID();
+        familyId = UUID.randomUUID();
+    }
+
+    private RefreshToken storedToken(String rawToken, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken(RefreshTokenService.hash(rawToken), userId, familyId,
+                LocalDateTime.now().minusHours(1), expiresAt);
+        token.setTokenId(1L);
+        return token;
+    }
+
+    @Nested
+    @DisplayName("Issue Tests")
+    class IssueTests {
+
+        @Test
+        @DisplayName("Should store only the hash of a new token in a new family")
+        void issue_ShouldStoreHashedToken() {
+            // When
+            IssuedRefreshToken issued = refreshTokenService.issue(userId);
+
+            // Then
+            ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenRepository).save(captor.capture());
+            RefreshToken saved = captor.getValue();
+            assertNotEquals(issued.token(), saved.getTokenHash());
+            assertEquals(RefreshTokenService.hash(issued.token()), saved.getTokenHash());
+            assertEquals(userId, saved.getUserId());
+            assertEquals(issued.familyId(), saved.getFamilyId());
+            assertFalse(saved.isRevoked());
+            assertTrue(issued.expiresAt().isAfter(LocalDateTime.now().plusDays(13)));
+        }
+
+        @Test
+        @DisplayName("Should issue unique tokens and families")
+        void issue_Twice_ShouldReturnDifferentTokens() {
+            // When
+            IssuedRefreshToken first = refreshTokenService.issue(userId);
+            IssuedRefreshToken second = refreshTokenService.issue(userId);
+
+            // Then
+            assertNotEquals(first.token(), second.token());
+            assertNotEquals(first.familyId(), second.familyId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rotate Tests")
+    class RotateTests {
+
+        @Test
+        @DisplayName("Should rotate a valid token within the same family")
+        void rotate_WithValidToken_ShouldReturnNewTokenInSameFamily() {
+            // Given
+            RefreshToken current = storedToken("current", LocalDateTime.now().plusDays(1));
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("current")))
+                    .thenReturn(Optional.of(current));
+            when(refreshTokenRepository.markRotated(eq(1L), anyString())).thenReturn(1);
+
+            // When
+            IssuedRefreshToken rotated = refreshTokenService.rotate("current");
+
+            // Then
+            assertNotEquals("current", rotated.token());
+            assertEquals(userId, rotated.userId());
+            assertEquals(familyId, rotated.familyId());
+            verify(refreshTokenRepository).markRotated(1L, RefreshTokenService.hash(rotated.token()));
+            verify(refreshTokenRepository).save(any(RefreshToken.class));
+            verify(refreshTokenRepository, never()).revokeFamily(any());
+        }
+
+        @Test
+        @DisplayName("Should revoke the whole family when a rotated token is reused")
+        void rotate_WithReusedToken_ShouldRevokeFamily() {
+            // Given
+            RefreshToken reused = storedToken("reused", LocalDateTime.now().plusDays(1));
+            reused.setRevoked(true);
+            reused.setReplacedBy(RefreshTokenService.hash("successor"));
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("reused")))
+                    .thenReturn(Optional.of(reused));
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> refreshTokenService.rotate("reused"));
+            assertEquals("Refresh token has been revoked", exception.getMessage());
+            verify(refreshTokenRepository).revokeFamily(familyId);
+            verify(tokenRevocationService).revokeSession(familyId.toString());
+            verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        }
+
+        @Test
+        @DisplayName("Should keep the family when a concurrent refresh of a valid token won the race")
+        void rotate_WhenRotatedConcurrently_ShouldNotRevokeFamily() {
+            // Given: the token was still valid when this request read it
+            RefreshToken current = storedToken("current", LocalDateTime.now().plusDays(1));
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("current")))
+                    .thenReturn(Optional.of(current));
+            when(refreshTokenRepository.markRotated(eq(1L), anyString())).thenReturn(0);
+
+            // When/Then
+            assertThrows(RefreshTokenService.ConcurrentRotationException.class,
+                    () -> refreshTokenService.rotate("current"));
+            verify(refreshTokenRepository, never()).revokeFamily(any());
+            verifyNoInteractions(tokenRevocationService);
+            verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        }
+
+        @Test
+        @DisplayName("Should reject a token revoked by logout without touching the family")
+        void rotate_WithRevokedToken_ShouldThrow() {
+            // Given
+            RefreshToken revoked = storedToken("revoked", LocalDateTime.now().plusDays(1));
+            revoked.setRevoked(true);
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("revoked")))
+                    .thenReturn(Optional.of(revoked));
+
+            // When/Then
+            assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("revoked"));
+            verify(refreshTokenRepository, never()).revokeFamily(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void rotate_WithExpiredToken_ShouldThrow() {
+            // Given
+            RefreshToken expired = storedToken("expired", LocalDateTime.now().minusMinutes(1));
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired")))
+                    .thenReturn(Optional.of(expired));
+
+            // When/Then
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> refreshTokenService.rotate("expired"));
+            assertEquals("Refresh token has expired", exception.getMessage());
+            verify(refreshTokenRepository, never()).markRotated(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject unknown and missing tokens")
+        void rotate_WithUnknownOrMissingToken_ShouldThrow() {
+            // Given
+            when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("unknown"));
+            assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(null));
+            assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate(" "));
+        }
+    }
+
+    @Nested
+    @DisplayName("Revocation Tests")
+    class RevocationTests {
+
+        @Test
+        @DisplayName("Should revoke a family and its access tokens")
+        void revokeFamily_ShouldRevokeRefreshAndAccessTokens() {
+            // When
+            refreshTokenService.revokeFamily(familyId);
+
+            // Then
+            verify(refreshTokenRepository).revokeFamily(familyId);
+            verify(tokenRevocationService).revokeSession(familyId.toString());
+        }
+
+        @Test
+        @DisplayName("Should revoke the family of a presented refresh token")
+        void revokeFamilyOf_WithActiveToken_ShouldRevokeFamily() {
+            // Given
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("current")))
+                    .thenReturn(Optional.of(storedToken("current", LocalDateTime.now().plusDays(1))));
+
+            // When
+            refreshTokenService.revokeFamilyOf("current");
+
+            // Then
+            verify(refreshTokenRepository).revokeFamily(familyId);
+            verify(tokenRevocationService).revokeSession(familyId.toString());
+        }
+
+        @Test
+        @DisplayName("Should ignore missing, unknown and already revoked refresh tokens")
+        void revokeFamilyOf_WithoutActiveFamily_ShouldDoNothing() {
+            // Given
+            RefreshToken revoked = storedToken("revoked", LocalDateTime.now().plusDays(1));
+            revoked.setRevoked(true);
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("revoked")))
+                    .thenReturn(Optional.of(revoked));
+            when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("unknown")))
+                    .thenReturn(Optional.empty());
+
+            // When
+            refreshTokenService.revokeFamilyOf(null);
+            refreshTokenService.revokeFamilyOf("unknown");
+            refreshTokenService.revokeFamilyOf("revoked");
+
+            // Then
+            verify(refreshTokenRepository, never()).revokeFamily(any());
+            verifyNoInteractions(tokenRevocationService);
+        }
+
+        @Test
+        @DisplayName("Should revoke all tokens of a user")
+        void revokeAllForUser_ShouldDelegateToRepository() {
+            // When
+            refreshTokenService.revokeAllForUser(userId);
+
+            // Then
+            verify(refreshTokenRepository).revokeAllForUser(userId);
+        }
+
+        @Test
+        @DisplayName("Should expose the refresh token lifetime in seconds")
+        void getExpirationSeconds_ShouldConvertMilliseconds() {
+            assertEquals(14 * 24 * 60 * 60, refreshTokenService.getExpirationSeconds());
+        }
+    }
+}
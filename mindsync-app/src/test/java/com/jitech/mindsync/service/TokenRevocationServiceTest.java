@@ -0,0 +1,334 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.verifier.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    private static final long ACCESS_TOKEN_LIFETIME_MS = 900_000;
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    @Mock
+    private ValkeyService valkeyService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(valkeyService.setWithExpiry(anyString(), anyString(), anyLong())).thenReturn(true);
+        lenient().when(valkeyService.publish(anyString(), anyString())).thenReturn(true);
+        tokenRevocationService = new TokenRevocationService(valkeyService, meterRegistry,
+                ACCESS_TOKEN_LIFETIME_MS, 1000, 0.001);
+    }
+
+    private static VerifiedToken token(Instant issuedAt, String jti, String sid) {
+        return VerifiedToken.valid(USER_ID, issuedAt, issuedAt.plusSeconds(900), jti, sid);
+    }
+
+    private double rejections(String type) {
+        return meterRegistry.get("mindsync.jwt.revocation.rejections").tag("type", type).counter().count();
+    }
+
+    @Nested
+    @DisplayName("User Epoch Tests")
+    class UserEpochTests {
+
+        @Test
+        @DisplayName("Should reject tokens issued before a password change")
+        void isRevoked_WithTokenIssuedBeforeEpoch_ShouldReturnTrue() {
+            // Given
+            VerifiedToken old = token(Instant.now().minusSeconds(60), "jti-1", null);
+
+            // When
+            tokenRevocationService.revokeAllForUser(USER_ID);
+
+            // Then
+            assertTrue(tokenRevocationService.isRevoked(old));
+            assertEquals(1.0, rejections("epoch"));
+            verify(valkeyService).setWithExpiry(startsWith("revocation:epoch:" + USER_ID), anyString(), eq(900L));
+            verify(valkeyService).publish(eq(TokenRevocationService.CHANNEL), startsWith("epoch:" + USER_ID + "="));
+        }
+
+        @Test
+        @DisplayName("Should accept tokens issued after the epoch")
+        void isRevoked_WithTokenIssuedAfterEpoch_ShouldReturnFalse() {
+            // Given
+            tokenRevocationService.revokeAllForUser(USER_ID);
+            VerifiedToken fresh = token(Instant.now().plusSeconds(1), "jti-2", null);
+
+            // When/Then
+            assertFalse(tokenRevocationService.isRevoked(fresh));
+        }
+
+        @Test
+        @DisplayName("Should reject tokens issued in the same second as the epoch")
+        void isRevoked_WithTokenIssuedInEpochSecond_ShouldReturnTrue() {
+            // Given
+            ArgumentCaptor<String> epochCaptor = ArgumentCaptor.forClass(String.class);
+            tokenRevocationService.revokeAllForUser(USER_ID);
+            verify(valkeyService).setWithExpiry(eq("revocation:epoch:" + USER_ID), epochCaptor.capture(), eq(900L));
+            Instant epoch = Instant.ofEpochSecond(Long.parseLong(epochCaptor.getValue()));
+
+            // When/Then
+            assertTrue(tokenRevocationService.isRevoked(token(epoch, "jti-4", null)));
+            assertFalse(tokenRevocationService.isRevoked(token(epoch.plusSeconds(1), "jti-5", null)));
+        }
+
+        @Test
+        @DisplayName("Should not affect other users")
+        void isRevoked_ForOtherUser_ShouldReturnFalse() {
+            // Given
+            tokenRevocationService.revokeAllForUser("other-user");
+
+            // When/Then
+            assertFalse(tokenRevocationService.isRevoked(token(Instant.now().minusSeconds(60), "jti-3", null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Denylist Tests")
+    class DenylistTests {
+
+        @Test
+        @DisplayName("Should reject a revoked jti once confirmed by Valkey")
+        void isRevoked_WithRevokedJti_ShouldReturnTrue() {
+            // Given
+            Instant expiresAt = Instant.now().plusSeconds(300);
+            tokenRevocationService.revokeToken("jti-1", expiresAt);
+            when(valkeyService.exists("revocation:jti:jti-1")).thenReturn(true);
+
+            // When/Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-1", null)));
+            assertEquals(1.0, rejections("denylist"));
+            verify(valkeyService).setWithExpiry(eq("revocation:jti:jti-1"), eq("1"), longThat(ttl -> ttl <= 301));
+            verify(valkeyService).publish(TokenRevocationService.CHANNEL, "jti:jti-1=1");
+        }
+
+        @Test
+        @DisplayName("Should reject every token of a revoked session")
+        void isRevoked_WithRevokedSession_ShouldReturnTrue() {
+            // Given
+            tokenRevocationService.revokeSession("family-1");
+            when(valkeyService.exists("revocation:sid:family-1")).thenReturn(true);
+
+            // When/Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-2", "family-1")));
+        }
+
+        @Test
+        @DisplayName("Should not call Valkey for tokens that are not in the denylist")
+        void isRevoked_WithUnknownToken_ShouldSkipValkey() {
+            // When/Then
+            assertFalse(tokenRevocationService.isRevoked(token(Instant.now(), "jti-3", "family-3")));
+            verify(valkeyService, never()).exists(anyString());
+        }
+
+        @Test
+        @DisplayName("Should accept the token when Valkey does not confirm a Bloom filter hit")
+        void isRevoked_WithFalsePositive_ShouldReturnFalse() {
+            // Given: the entry is in the filter but has already expired in Valkey
+            tokenRevocationService.revokeToken("jti-4", Instant.now().plusSeconds(300));
+            when(valkeyService.exists("revocation:jti:jti-4")).thenReturn(false);
+
+            // When/Then
+            assertFalse(tokenRevocationService.isRevoked(token(Instant.now(), "jti-4", null)));
+            assertEquals(1.0, meterRegistry.get("mindsync.jwt.revocation.false-positives").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should fail closed on a Bloom filter hit when Valkey is unavailable")
+        void isRevoked_WithValkeyUnavailable_ShouldReturnTrue() {
+            // Given
+            tokenRevocationService.revokeToken("jti-5", Instant.now().plusSeconds(300));
+            when(valkeyService.exists("revocation:jti:jti-5")).thenReturn(null);
+
+            // When/Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-5", null)));
+        }
+
+        @Test
+        @DisplayName("Should skip already expired tokens")
+        void revokeToken_WithExpiredToken_ShouldDoNothing() {
+            // When
+            tokenRevocationService.revokeToken("jti-6", Instant.now().minusSeconds(5));
+
+            // Then
+            verifyNoInteractions(valkeyService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Synchronization Tests")
+    class SynchronizationTests {
+
+        @Test
+        @DisplayName("Should load stored revocations and subscribe on startup")
+        void init_ShouldLoadStoredEntriesAndSubscribe() {
+            // Given
+            long epoch = Instant.now().getEpochSecond() + 5;
+            when(valkeyService.scanValues("revocation:*")).thenReturn(Map.of(
+                    "revocation:epoch:" + USER_ID, Long.toString(epoch),
+                    "revocation:sid:family-1", "1"));
+            when(valkeyService.subscribe(eq(TokenRevocationService.CHANNEL), any())).thenReturn(true);
+            when(valkeyService.exists("revocation:sid:family-1")).thenReturn(true);
+
+            // When
+            tokenRevocationService.init();
+
+            // Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-1", null)));
+            tokenRevocationService.rotate();
+            verify(valkeyService, times(1)).subscribe(eq(TokenRevocationService.CHANNEL), any());
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now().plusSeconds(10), "jti-2", "family-1")));
+        }
+
+        @Test
+        @DisplayName("Should apply revocations published by other nodes")
+        @SuppressWarnings("unchecked")
+        void onMessage_ShouldApplyRemoteRevocation() {
+            // Given
+            ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+            when(valkeyService.subscribe(eq(TokenRevocationService.CHANNEL), listener.capture())).thenReturn(true);
+            when(valkeyService.exists("revocation:jti:remote")).thenReturn(true);
+            tokenRevocationService.init();
+
+            // When
+            listener.getValue().accept("jti:remote=1");
+            listener.getValue().accept("epoch:" + USER_ID + "=" + (Instant.now().getEpochSecond() + 5));
+            listener.getValue().accept("malformed");
+
+            // Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now().plusSeconds(10), "remote", null)));
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "local", null)));
+        }
+
+        @Test
+        @DisplayName("Should retry the subscription on rotation if it failed at startup")
+        void rotate_WhenNotSubscribed_ShouldRetrySubscription() {
+            // Given
+            when(valkeyService.subscribe(eq(TokenRevocationService.CHANNEL), any())).thenReturn(false, true);
+            tokenRevocationService.init();
+
+            // When
+            tokenRevocationService.rotate();
+            tokenRevocationService.rotate();
+
+            // Then
+            verify(valkeyService, times(2)).subscribe(eq(TokenRevocationService.CHANNEL), any());
+        }
+
+        @Test
+        @DisplayName("Should reload stored revocations once a late subscription is established")
+        void rotate_WhenSubscribedLate_ShouldReloadRevocations() {
+            // Given - Valkey is down at startup, and a session is revoked by another node meanwhile
+            long epoch = Instant.now().getEpochSecond() + 5;
+            when(valkeyService.subscribe(eq(TokenRevocationService.CHANNEL), any())).thenReturn(false, true);
+            when(valkeyService.scanValues("revocation:*")).thenReturn(Map.of(), Map.of(
+                    "revocation:epoch:" + USER_ID, Long.toString(epoch),
+                    "revocation:sid:family-1", "1"));
+            when(valkeyService.exists("revocation:sid:family-1")).thenReturn(true);
+            tokenRevocationService.init();
+            assertFalse(tokenRevocationService.isRevoked(token(Instant.now().plusSeconds(10), "jti-1", "family-1")));
+
+            // When
+            tokenRevocationService.rotate();
+            tokenRevocationService.rotate();
+
+            // Then - reloaded once, on the rotation that subscribed
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-2", null)));
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now().plusSeconds(10), "jti-3", "family-1")));
+            verify(valkeyService, times(2)).scanValues("revocation:*");
+        }
+
+        @Test
+        @DisplayName("Should keep denylist entries for one rotation and drop them after two")
+        void rotate_ShouldAgeOutDenylistGenerations() {
+            // Given
+            tokenRevocationService.revokeToken("jti-1", Instant.now().plusSeconds(300));
+            lenient().when(valkeyService.exists("revocation:jti:jti-1")).thenReturn(true);
+
+            // When/Then
+            tokenRevocationService.rotate();
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-1", null)));
+            tokenRevocationService.rotate();
+            assertFalse(tokenRevocationService.isRevoked(token(Instant.now(), "jti-1", null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Valkey Outage Tests")
+    class ValkeyOutageTests {
+
+        @Test
+        @DisplayName("Should keep rejecting a token revoked while Valkey was down after Valkey is back")
+        void isRevoked_WithRevocationMadeDuringOutage_ShouldReturnTrue() {
+            // Given - the write fails, and once Valkey is back it does not have the entry
+            when(valkeyService.setWithExpiry(eq("revocation:jti:jti-1"), anyString(), anyLong())).thenReturn(false);
+            tokenRevocationService.revokeToken("jti-1", Instant.now().plusSeconds(300));
+            lenient().when(valkeyService.exists("revocation:jti:jti-1")).thenReturn(false);
+
+            // When/Then
+            assertTrue(tokenRevocationService.isRevoked(token(Instant.now(), "jti-1", null)));
+            assertEquals(0.0, meterRegistry.get("mindsync.jwt.revocation.false-positives").counter().count());
+            assertEquals(1.0, meterRegistry.get("mindsync.jwt.revocation.pending-writes").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should write and publish pending revocations once Valkey is back")
+        void retryPendingWrites_WhenValkeyIsBack_ShouldWriteAndPublish() {
+            // Given
+            when(valkeyService.setWithExpiry(eq("revocation:sid:family-1"), eq("1"), anyLong()))
+                    .thenReturn(false, true);
+            when(valkeyService.setWithExpiry(startsWith("revocation:epoch:"), anyString(), anyLong()))
+                    .thenReturn(false, true);
+            tokenRevocationService.revokeSession("family-1");
+            tokenRevocationService.revokeAllForUser(USER_ID);
+            verify(valkeyService, never()).publish(anyString(), anyString());
+
+            // When
+            tokenRevocationService.retryPendingWrites();
+
+            // Then
+            verify(valkeyService, times(2)).setWithExpiry(eq("revocation:sid:family-1"), eq("1"),
+                    longThat(ttl -> ttl > 0 && ttl <= 901));
+            verify(valkeyService).publish(TokenRevocationService.CHANNEL, "sid:family-1=1");
+            verify(valkeyService).publish(eq(TokenRevocationService.CHANNEL), startsWith("epoch:" + USER_ID + "="));
+            assertEquals(0.0, meterRegistry.get("mindsync.jwt.revocation.pending-writes").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should keep a revocation pending while it cannot be published")
+        void retryPendingWrites_WhenPublishFails_ShouldKeepPending() {
+            // Given - stored, but the other nodes were not told
+            when(valkeyService.publish(TokenRevocationService.CHANNEL, "jti:jti-2=1")).thenReturn(false);
+            tokenRevocationService.revokeToken("jti-2", Instant.now().plusSeconds(300));
+
+            // When
+            tokenRevocationService.retryPendingWrites();
+
+            // Then
+            verify(valkeyService, times(2)).publish(TokenRevocationService.CHANNEL, "jti:jti-2=1");
+            assertEquals(1.0, meterRegistry.get("mindsync.jwt.revocation.pending-writes").gauge().value());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ValkeyHealthIndicator Unit Tests")
+class ValkeyHealthIndicatorTest {
+
+    @Mock
+    private ValkeyService valkeyService;
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ValkeyHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(valkeyService.getMode()).thenReturn(ValkeyService.Mode.STANDALONE);
+        meterRegistry = new SimpleMeterRegistry();
+        indicator = new ValkeyHealthIndicator(valkeyService, meterRegistry, 10_000, now::get);
+    }
+
+    @Test
+    @DisplayName("Should report UP with PING latency when Valkey answers")
+    void health_WhenPingSucceeds_ShouldBeUp() {
+        // Given
+        when(valkeyService.isConnected()).thenReturn(true);
+        when(valkeyService.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(valkeyService.ping()).thenReturn(Duration.ofMillis(2));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(2.0, health.getDetails().get("latencyMs"));
+        assertEquals("closed", health.getDetails().get("circuit"));
+        assertEquals("standalone", health.getDetails().get("mode"));
+    }
+
+    @Test
+    @DisplayName("Should report DOWN without pinging while the circuit breaker is open")
+    void health_WhenCircuitOpen_ShouldBeDownWithoutPing() {
+        // Given
+        when(valkeyService.isConnected()).thenReturn(true);
+        when(valkeyService.getCircuitState()).thenReturn(CircuitBreaker.State.OPEN);
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.DOWN, health.getStatus());
+        verify(valkeyService, never()).ping();
+    }
+
+    @Test
+    @DisplayName("Should report DOWN when not connected")
+    void health_WhenDisconnected_ShouldBeDown() {
+        // Given
+        when(valkeyService.isConnected()).thenReturn(false);
+        when(valkeyService.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+
+        // When/Then
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report DOWN when PING fails")
+    void health_WhenPingFails_ShouldBeDown() {
+        // Given
+        when(valkeyService.isConnected()).thenReturn(true);
+        when(valkeyService.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(valkeyService.ping()).thenReturn(null);
+
+        // When/Then
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached result until the TTL passes")
+    void health_WithinTtl_ShouldNotPingAgain() {
+        // Given
+        when(valkeyService.isConnected()).thenReturn(true);
+        when(valkeyService.getCircuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        when(valkeyService.ping()).thenReturn(Duration.ofMillis(1));
+
+        // When
+        indicator.health();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        indicator.health();
+        assertEquals(1.0, meterRegistry.get("mindsync.valkey.up").gauge().value());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        indicator.health();
+
+        // Then
+        verify(valkeyService, times(2)).ping();
+    }
+}
@@ -0,0 +1,546 @@
+package com.jitech.mindsync.service;
+
+import com.jitech.mindsync.util.CircuitBreaker;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ValkeyService Unit Tests")
+class ValkeyServiceTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ValkeyConnections connections;
+    private ValkeyService valkeyService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        connections = connections("standalone", "upstream");
+        // Breaker opens after 3 failures in a row and stays open for a minute
+        valkeyService = service(connections);
+    }
+
+    @Nested
+    @DisplayName("Connection Tests")
+    class ConnectionTests {
+
+        @Test
+        @DisplayName("Should connect to Valkey on startup")
+        void connect_ShouldEstablishConnection() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            when(connection.isOpen()).thenReturn(true);
+
+            // When
+            boolean result = valkeyService.isConnected();
+
+            // Then
+            assertTrue(result);
+        }
+
+        @Test
+        @DisplayName("Should return connected status when connection is open")
+        void isConnected_WithOpenConnection_ShouldReturnTrue() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            when(connection.isOpen()).thenReturn(true);
+
+            // When
+            boolean result = valkeyService.isConnected();
+
+            // Then
+            assertTrue(result);
+        }
+
+        @Test
+        @DisplayName("Should return disconnected status when connection is null")
+        void isConnected_WithNullConnection_ShouldReturnFalse() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(null));
+
+            // When
+            boolean result = valkeyService.isConnected();
+
+            // Then
+            assertFalse(result);
+        }
+
+        @Test
+        @DisplayName("Should return disconnected status when connection is closed")
+        void isConnected_WithClosedConnection_ShouldReturnFalse() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            when(connection.isOpen()).thenReturn(false);
+
+            // When
+            boolean result = valkeyService.isConnected();
+
+            // Then
+            assertFalse(result);
+        }
+
+        @Test
+        @DisplayName("Should handle exception when checking connection status")
+        void isConnected_WithException_ShouldReturnFalse() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            when(connection.isOpen()).thenThrow(new RuntimeException("Connection error"));
+
+            // When
+            boolean result = valkeyService.isConnected();
+
+            // Then
+            assertFalse(result);
+        }
+
+        @Test
+        @DisplayName("Should close connection and shutdown client on disconnect")
+        void disconnect_ShouldCloseConnectionAndShutdownClient() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            useClient(redisClient);
+
+            // When
+            valkeyService.disconnect();
+
+            // Then
+            verify(connection, times(1)).close();
+            verify(redisClient, times(1)).shutdown();
+        }
+
+        @Test
+        @DisplayName("Should handle null connection gracefully on disconnect")
+        void disconnect_WithNullConnection_ShouldNotThrow() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(null));
+            useClient(redisClient);
+
+            // When/Then
+            assertDoesNotThrow(() -> valkeyService.disconnect());
+            verify(redisClient, times(1)).shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pipelined Handover Tests")
+    class PipelinedHandoverTests {
+
+        @Mock
+        private StatefulRedisConnection<String, String> pipelineConnection;
+
+        @Mock
+        private RedisAsyncCommands<String, String> asyncCommands;
+
+        @Mock
+        private RedisFuture<String> firstReply;
+
+        @Mock
+        private RedisFuture<String> secondReply;
+
+        private final List<Map<String, String>> bodies = List.of(
+                Map.of("guest_id", "guest-1", "user_id", "user-1"),
+                Map.of("guest_id", "guest-2", "user_id", "user-2"));
+
+        @BeforeEach
+        void setUpPipeline() {
+            useClient(redisClient);
+            when(redisClient.connect()).thenReturn(pipelineConnection);
+            when(pipelineConnection.async()).thenReturn(asyncCommands);
+            when(asyncCommands.xadd(eq("handover_stream"), any(XAddArgs.class), anyMap()))
+                    .thenReturn(firstReply, secondReply);
+        }
+
+        @Test
+        @DisplayName("Should write every XADD before flushing once")
+        void sendHandoverMessages_ShouldPipelineAndReturnIds() throws Exception {
+            // Given
+            when(firstReply.get(anyLong(), any(TimeUnit.class))).thenReturn("1-0");
+            when(secondReply.get(anyLong(), any(TimeUnit.class))).thenReturn("1-1");
+
+            // When
+            List<String> messageIds = valkeyService.sendHandoverMessages(bodies, 1000);
+
+            // Then
+            assertEquals(List.of("1-0", "1-1"), messageIds);
+            verify(pipelineConnection).setAutoFlushCommands(false);
+            verify(asyncCommands, times(2)).xadd(eq("handover_stream"), any(XAddArgs.class), anyMap());
+            verify(pipelineConnection, times(1)).flushCommands();
+        }
+
+        @Test
+        @DisplayName("Should return null only for the entries that failed or timed out")
+        void sendHandoverMessages_WithPartialFailure_ShouldReturnNullForFailed() throws Exception {
+            // Given
+            when(firstReply.get(anyLong(), any(TimeUnit.class)))
+                    .thenThrow(new ExecutionException(new RedisCommandExecutionException("OOM command not allowed")));
+            when(secondReply.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+
+            // When
+            List<String> messageIds = valkeyService.sendHandoverMessages(bodies, 1000);
+
+            // Then
+            assertEquals(2, messageIds.size());
+            assertNull(messageIds.get(0));
+            assertNull(messageIds.get(1));
+        }
+
+        @Test
+        @DisplayName("Should return an empty list when Valkey answers none of the batch")
+        void sendHandoverMessages_WhenNothingAnswered_ShouldReturnEmpty() throws Exception {
+            // Given
+            when(firstReply.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+            when(secondReply.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+
+            // When
+            List<String> messageIds = valkeyService.sendHandoverMessages(bodies, 1000);
+
+            // Then
+            assertTrue(messageIds.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reuse the pipeline connection across batches")
+        void sendHandoverMessages_CalledTwice_ShouldConnectOnce() throws Exception {
+            // Given
+            when(firstReply.get(anyLong(), any(TimeUnit.class))).thenReturn("1-0");
+            when(secondReply.get(anyLong(), any(TimeUnit.class))).thenReturn("1-1");
+
+            // When
+            valkeyService.sendHandoverMessages(List.of(bodies.get(0)), 1000);
+            valkeyService.sendHandoverMessages(List.of(bodies.get(1)), 1000);
+
+            // Then
+            verify(redisClient, times(1)).connect();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return an empty list for a pipelined batch when Valkey is unavailable")
+    void sendHandoverMessages_WithoutClient_ShouldReturnEmpty() {
+        // Given
+        useClient(null);
+
+        // When & Then
+        assertTrue(valkeyService.sendHandoverMessages(List.of(Map.of("guest_id", "g", "user_id", "u")), 1000)
+                .isEmpty());
+    }
+
+    @Nested
+    @DisplayName("Key/Value and Pub/Sub Tests")
+    class KeyValueTests {
+
+        @BeforeEach
+        void setUpConnection() {
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            lenient().when(connection.sync()).thenReturn(redisCommands);
+        }
+
+        @Test
+        @DisplayName("Should set a key with an expiry")
+        void setWithExpiry_ShouldSetKey() {
+            // When
+            boolean result = valkeyService.setWithExpiry("revocation:jti:abc", "1", 60);
+
+            // Then
+            assertTrue(result);
+            verify(redisCommands, times(1)).set(eq("revocation:jti:abc"), eq("1"), any(SetArgs.class));
+        }
+
+        @Test
+        @DisplayName("Should return false when setting a key fails")
+        void setWithExpiry_WhenCommandFails_ShouldReturnFalse() {
+            // Given
+            when(redisCommands.set(anyString(), anyString(), any(SetArgs.class)))
+                    .thenThrow(new RuntimeException("Connection refused"));
+
+            // When/Then
+            assertFalse(valkeyService.setWithExpiry("key", "value", 60));
+        }
+
+        @Test
+        @DisplayName("Should report whether a key exists")
+        void exists_ShouldReturnKeyPresence() {
+            // Given
+            when(redisCommands.exists("present")).thenReturn(1L);
+            when(redisCommands.exists("absent")).thenReturn(0L);
+
+            // When/Then
+            assertEquals(Boolean.TRUE, valkeyService.exists("present"));
+            assertEquals(Boolean.FALSE, valkeyService.exists("absent"));
+        }
+
+        @Test
+        @DisplayName("Should return null from exists when Valkey is unavailable")
+        void exists_WithNullConnection_ShouldReturnNull() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(null));
+
+            // When/Then
+            assertNull(valkeyService.exists("key"));
+        }
+
+        @Test
+        @DisplayName("Should publish a message to a channel")
+        void publish_ShouldPublishMessage() {
+            // When
+            boolean result = valkeyService.publish("token_revocations", "jti:abc=1");
+
+            // Then
+            assertTrue(result);
+            verify(redisCommands, times(1)).publish("token_revocations", "jti:abc=1");
+        }
+
+        @Test
+        @DisplayName("Should return an empty map when scanning without a connection")
+        void scanValues_WithNullConnection_ShouldReturnEmptyMap() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(null));
+
+            // When
+            Map<String, String> values = valkeyService.scanValues("revocation:*");
+
+            // Then
+            assertTrue(values.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return false when subscribing without a client")
+        void subscribe_WithNullClient_ShouldReturnFalse() {
+            // Given
+            useClient(null);
+
+            // When/Then
+            assertFalse(valkeyService.subscribe("token_revocations", message -> {
+            }));
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit Breaker Tests")
+    class CircuitBreakerTests {
+
+        @BeforeEach
+        void setUpConnection() {
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            lenient().when(connection.sync()).thenReturn(redisCommands);
+        }
+
+        @Test
+        @DisplayName("Should fail fast without calling Valkey once the breaker opens")
+        void commands_AfterRepeatedFailures_ShouldFailFast() {
+            // Given
+            when(redisCommands.exists(anyString())).thenThrow(new RuntimeException("Command timed out"));
+            for (int i = 0; i < 3; i++) {
+                assertNull(valkeyService.exists("key"));
+            }
+
+            // When
+            Boolean result = valkeyService.exists("key");
+
+            // Then
+            assertNull(result);
+            assertEquals(CircuitBreaker.State.OPEN, valkeyService.getCircuitState());
+            verify(redisCommands, times(3)).exists(anyString());
+            assertEquals(1.0, meterRegistry.get("mindsync.valkey.rejected").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should skip pipelined batches while the breaker is open")
+        void sendHandoverMessages_WhenBreakerOpen_ShouldReturnEmptyWithoutConnecting() {
+            // Given
+            useClient(redisClient);
+            when(redisCommands.publish(anyString(), anyString())).thenThrow(new RuntimeException("Connection reset"));
+            for (int i = 0; i < 3; i++) {
+                valkeyService.publish("channel", "message");
+            }
+
+            // When
+            List<String> messageIds = valkeyService.sendHandoverMessages(
+                    List.of(Map.of("guest_id", "g", "user_id", "u")), 1000);
+
+            // Then
+            assertTrue(messageIds.isEmpty());
+            verify(redisClient, never()).connect();
+        }
+
+        @Test
+        @DisplayName("Should keep the breaker closed when failures are not consecutive")
+        void commands_WithIntermittentFailures_ShouldStayClosed() {
+            // Given
+            when(redisCommands.exists(anyString()))
+                    .thenThrow(new RuntimeException("Command timed out"))
+                    .thenThrow(new RuntimeException("Command timed out"))
+                    .thenReturn(1L)
+                    .thenThrow(new RuntimeException("Command timed out"));
+
+            // When
+            for (int i = 0; i < 4; i++) {
+                valkeyService.exists("key");
+            }
+
+            // Then
+            assertEquals(CircuitBreaker.State.CLOSED, valkeyService.getCircuitState());
+        }
+
+        @Test
+        @DisplayName("Should record command latency per command and outcome")
+        void commands_ShouldRecordLatency() {
+            // Given
+            when(redisCommands.exists("key")).thenReturn(1L);
+
+            // When
+            valkeyService.exists("key");
+
+            // Then
+            assertEquals(1, meterRegistry.get("mindsync.valkey.command")
+                    .tags("command", "exists", "outcome", "success").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should report PING round-trip time")
+        void ping_WhenConnected_ShouldReturnLatency() {
+            // Given
+            when(redisCommands.ping()).thenReturn("PONG");
+
+            // When/Then
+            assertNotNull(valkeyService.ping());
+        }
+
+        @Test
+        @DisplayName("Should return null from PING without a connection")
+        void ping_WithNullConnection_ShouldReturnNull() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(null));
+
+            // When/Then
+            assertNull(valkeyService.ping());
+        }
+    }
+
+    @Nested
+    @DisplayName("Topology Tests")
+    class TopologyTests {
+
+        @Mock
+        private StatefulRedisClusterConnection<String, String> clusterConnection;
+
+        @Mock
+        private RedisAdvancedClusterCommands<String, String> clusterCommands;
+
+        private ValkeyService create(String mode, String readFrom) {
+            return service(connections(mode, readFrom));
+        }
+
+        @Test
+        @DisplayName("Should accept every supported mode, case-insensitively")
+        void constructor_WithSupportedModes_ShouldParse() {
+            assertEquals(ValkeyService.Mode.STANDALONE, create("standalone", "upstream").getMode());
+            assertEquals(ValkeyService.Mode.SENTINEL, create("Sentinel", "upstream").getMode());
+            assertEquals(ValkeyService.Mode.CLUSTER, create(" CLUSTER ", "replica-preferred").getMode());
+        }
+
+        @Test
+        @DisplayName("Should refuse to start with an unknown mode")
+        void constructor_WithUnknownMode_ShouldThrow() {
+            assertThrows(IllegalArgumentException.class, () -> create("replicated", "upstream"));
+        }
+
+        @Test
+        @DisplayName("Should refuse to start with an unknown read-from setting")
+        void constructor_WithUnknownReadFrom_ShouldThrow() {
+            assertThrows(IllegalArgumentException.class, () -> create("cluster", "sometimes"));
+        }
+
+        @Test
+        @DisplayName("Should run commands over a cluster connection")
+        void exists_WithClusterConnection_ShouldUseClusterCommands() {
+            // Given
+            ValkeyConnections clusterConnections = connections("cluster", "upstream");
+            ValkeyService clusterService = service(clusterConnections);
+            ReflectionTestUtils.setField(clusterConnections, "connection", new AtomicReference<>(clusterConnection));
+            when(clusterConnection.sync()).thenReturn(clusterCommands);
+            when(clusterCommands.exists("revocation:jti:abc")).thenReturn(1L);
+
+            // When/Then
+            assertEquals(Boolean.TRUE, clusterService.exists("revocation:jti:abc"));
+        }
+
+        @Test
+        @DisplayName("Should hand the previous cursor back to SCAN so cluster scans can move between nodes")
+        void scanValues_WithSeveralPages_ShouldPassCursorBack() {
+            // Given
+            ReflectionTestUtils.setField(connections, "connection", new AtomicReference<>(connection));
+            when(connection.sync()).thenReturn(redisCommands);
+            KeyScanCursor<String> firstPage = new KeyScanCursor<>();
+            firstPage.getKeys().add("revocation:a");
+            firstPage.setCursor("17");
+            KeyScanCursor<String> lastPage = new KeyScanCursor<>();
+            lastPage.getKeys().add("revocation:b");
+            lastPage.setCursor("0");
+            lastPage.setFinished(true);
+            when(redisCommands.scan(any(ScanArgs.class))).thenReturn(firstPage);
+            when(redisCommands.scan(same(firstPage), any(ScanArgs.class))).thenReturn(lastPage);
+            when(redisCommands.mget("revocation:a")).thenReturn(List.of(KeyValue.just("revocation:a", "1")));
+            when(redisCommands.mget("revocation:b")).thenReturn(List.of(KeyValue.just("revocation:b", "2")));
+
+            // When
+            Map<String, String> values = valkeyService.scanValues("revocation:*");
+
+            // Then
+            assertEquals(Map.of("revocation:a", "1", "revocation:b", "2"), values);
+        }
+    }
+
+    private ValkeyService service(ValkeyConnections valkeyConnections) {
+        return new ValkeyService(meterRegistry, valkeyConnections, new HandoverPipeline(valkeyConnections), 3, 60_000);
+    }
+
+    private void useClient(RedisClient client) {
+        ReflectionTestUtils.setField(ReflectionTestUtils.getField(connections, "topology"), "redisClient", client);
+    }
+
+    private ValkeyConnections connections(String mode, String readFrom) {
+        return new ValkeyConnections(meterRegistry, mode, "redis://localhost:6379", readFrom, 60_000, 1000, 500,
+                30_000);
+    }
+}
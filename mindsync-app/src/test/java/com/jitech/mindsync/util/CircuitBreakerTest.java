@@ -0,0 +1,136 @@
+package com.jitech.mindsync.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker("test", 3, 1000, now::get);
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.recordFailure();
+        }
+    }
+
+    @Test
+    @DisplayName("Should allow requests while closed")
+    void allowRequest_WhenClosed_ShouldReturnTrue() {
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should open after the configured number of consecutive failures")
+    void recordFailure_AtThreshold_ShouldOpen() {
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on success")
+    void recordSuccess_ShouldResetFailures() {
+        fail(2);
+        breaker.recordSuccess();
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one probe through after the open duration")
+    void allowRequest_AfterOpenDuration_ShouldAllowOneProbe() {
+        fail(3);
+        advanceMillis(999);
+        assertFalse(breaker.allowRequest());
+
+        advanceMillis(1);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should report availability without taking the probe")
+    void isAvailable_ShouldNotTakeTheProbe() {
+        assertTrue(breaker.isAvailable());
+        fail(3);
+        assertFalse(breaker.isAvailable());
+
+        advanceMillis(1000);
+
+        assertTrue(breaker.isAvailable());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.isAvailable());
+    }
+
+    @Test
+    @DisplayName("Should close when the probe succeeds")
+    void recordSuccess_WhenHalfOpen_ShouldClose() {
+        fail(3);
+        advanceMillis(1000);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should reopen when the probe fails")
+    void recordFailure_WhenHalfOpen_ShouldReopen() {
+        fail(3);
+        advanceMillis(1000);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        advanceMillis(999);
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should allow another probe if the previous one never reported back")
+    void allowRequest_WithLostProbe_ShouldProbeAgain() {
+        fail(3);
+        advanceMillis(1000);
+        assertTrue(breaker.allowRequest());
+
+        advanceMillis(1000);
+
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive failure threshold")
+    void constructor_WithInvalidThreshold_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("test", 0, 1000));
+    }
+}
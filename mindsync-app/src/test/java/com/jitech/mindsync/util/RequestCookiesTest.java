@@ -0,0 +1,163 @@
+package com.jitech.mindsync.util;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RequestCookies Unit Tests")
+class RequestCookiesTest {
+
+    private static RequestCookies parse(String... cookieHeaders) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (String header : cookieHeaders) {
+            request.addHeader("Cookie", header);
+        }
+        return RequestCookies.of(request);
+    }
+
+    @Nested
+    @DisplayName("Cookie Header Parsing Tests")
+    class HeaderParsingTests {
+
+        @Test
+        @DisplayName("Should read all known cookies from one header")
+        void of_WithAllKnownCookies_ShouldReadValues() {
+            // When
+            RequestCookies cookies = parse("jwt=a.b.c; guest_id=guest-123; refresh_token=refresh-456");
+
+            // Then
+            assertEquals("a.b.c", cookies.jwt());
+            assertEquals("guest-123", cookies.guestId());
+            assertEquals("refresh-456", cookies.refreshToken());
+        }
+
+        @Test
+        @DisplayName("Should ignore unknown cookies and names that only share a prefix")
+        void of_WithSimilarNames_ShouldOnlyMatchExactNames() {
+            // When
+            RequestCookies cookies = parse("_ga=GA1.2.3; jwtx=1; xjwt=2; guest_idx=3");
+
+            // Then
+            assertNull(cookies.jwt());
+            assertNull(cookies.guestId());
+            assertNull(cookies.refreshToken());
+        }
+
+        @Test
+        @DisplayName("Should trim whitespace and unquote values")
+        void of_WithWhitespaceAndQuotes_ShouldNormalizeValue() {
+            // When
+            RequestCookies cookies = parse("  theme=dark ;  jwt = \"a.b.c\"  ;guest_id=g");
+
+            // Then
+            assertEquals("a.b.c", cookies.jwt());
+            assertEquals("g", cookies.guestId());
+        }
+
+        @Test
+        @DisplayName("Should keep the first occurrence of a duplicated cookie")
+        void of_WithDuplicateCookie_ShouldKeepFirst() {
+            // When
+            RequestCookies cookies = parse("jwt=first; jwt=second");
+
+            // Then
+            assertEquals("first", cookies.jwt());
+        }
+
+        @Test
+        @DisplayName("Should keep '=' inside values and skip attributes without a value")
+        void of_WithEqualsInValueAndFlags_ShouldParse() {
+            // When
+            RequestCookies cookies = parse("flag; refresh_token=abc==; jwt=");
+
+            // Then
+            assertEquals("abc==", cookies.refreshToken());
+            assertEquals("", cookies.jwt());
+        }
+
+        @Test
+        @DisplayName("Should read cookies split over several headers")
+        void of_WithMultipleHeaders_ShouldReadAll() {
+            // When
+            RequestCookies cookies = parse("jwt=a.b.c", "guest_id=guest-123");
+
+            // Then
+            assertEquals("a.b.c", cookies.jwt());
+            assertEquals("guest-123", cookies.guestId());
+        }
+
+        @Test
+        @DisplayName("Should return nulls without cookies")
+        void of_WithoutCookies_ShouldReturnNulls() {
+            // When
+            RequestCookies cookies = parse();
+
+            // Then
+            assertNull(cookies.jwt());
+            assertNull(cookies.guestId());
+            assertNull(cookies.refreshToken());
+        }
+    }
+
+    @Nested
+    @DisplayName("Request Scope Tests")
+    class RequestScopeTests {
+
+        @Test
+        @DisplayName("Should parse once per request and reuse the result")
+        void of_CalledTwice_ShouldReturnSameInstance() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Cookie", "jwt=a.b.c");
+
+            // When
+            RequestCookies first = RequestCookies.of(request);
+            RequestCookies second = RequestCookies.of(request);
+
+            // Then
+            assertSame(first, second);
+        }
+
+        @Test
+        @DisplayName("Should never build Cookie objects when the header is present")
+        void of_WithCookieHeader_ShouldNotCallGetCookies() {
+            // Given
+            HttpServletRequest request = mock(HttpServletRequest.class);
+            when(request.getHeaders("Cookie")).thenReturn(Collections.enumeration(
+                    Collections.singletonList("jwt=a.b.c")));
+
+            // When
+            RequestCookies cookies = RequestCookies.of(request);
+
+            // Then
+            assertEquals("a.b.c", cookies.jwt());
+            verify(request, never()).getCookies();
+        }
+
+        @Test
+        @DisplayName("Should fall back to getCookies() when there is no Cookie header")
+        void of_WithoutCookieHeader_ShouldFallBackToGetCookies() {
+            // Given
+            HttpServletRequest request = mock(HttpServletRequest.class);
+            when(request.getCookies()).thenReturn(new Cookie[] {
+                    new Cookie("other", "x"),
+                    new Cookie("guest_id", "guest-123")
+            });
+
+            // When
+            RequestCookies cookies = RequestCookies.of(request);
+
+            // Then
+            assertNull(cookies.jwt());
+            assertEquals("guest-123", cookies.guestId());
+        }
+    }
+}
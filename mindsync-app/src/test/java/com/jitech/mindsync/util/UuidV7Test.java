@@ -0,0 +1,98 @@
+package com.jitech.mindsync.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7 Unit Tests")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should set version 7 and the IETF variant")
+    void generate_ShouldSetVersionAndVariant() {
+        UUID uuid = UuidV7.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    @DisplayName("Should embed the current time in milliseconds")
+    void generate_ShouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        long timestamp = UuidV7.timestampMillis(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp: " + timestamp);
+    }
+
+    @Test
+    @DisplayName("Should be strictly increasing within a thread, including within one millisecond")
+    void generate_InBurst_ShouldBeStrictlyIncreasing() {
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.generate();
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should borrow the next millisecond when the sequence is exhausted")
+    void of_AtSequenceLimit_ShouldKeepOrdering() {
+        UUID last = UuidV7.of(1_000L, 0xFFF, -1L);
+        UUID borrowed = UuidV7.of(1_001L, 0, 0L);
+
+        assertTrue(compareUnsigned(last, borrowed) < 0);
+        assertEquals(1_000L, UuidV7.timestampMillis(last));
+    }
+
+    @Test
+    @DisplayName("Should produce unique ids across threads")
+    void generate_AcrossThreads_ShouldBeUnique() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(UuidV7.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should reject reading a timestamp from a non-v7 UUID")
+    void timestampMillis_WithRandomUuid_ShouldThrow() {
+        UUID random = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(random));
+    }
+
+    // Byte order, as databases and the string form compare them (UUID.compareTo is signed)
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,256 @@
+package com.jitech.mindsync.verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Public keys from the auth service's JWKS endpoint (/.well-known/jwks.json).
+ * <p>
+ * Keys are cached for the endpoint's Cache-Control max-age (or a default TTL)
+ * and looked up by kid. A token with an unknown kid triggers one refetch, so a
+ * key rotated in upstream is picked up immediately; refetches are rate limited
+ * so a flood of forged kids cannot turn into a flood of requests. If a refetch
+ * fails, the keys already known keep working.
+ */
+public final class JwksKeySource {
+
+    private static final System.Logger LOGGER = System.getLogger(JwksKeySource.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration defaultTtl;
+    private final Duration minRefetchInterval;
+    private final Duration requestTimeout;
+    private final Clock clock;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object refreshLock = new Object();
+    // Guarded by refreshLock
+    private Instant lastAttempt = Instant.EPOCH;
+
+    /**
+     * @param jwksUri            URL of the JWKS document
+     * @param httpClient         Client used for fetching
+     * @param defaultTtl         Cache lifetime when the response has no max-age
+     * @param minRefetchInterval Minimum time between two fetches
+     * @param requestTimeout     Timeout of a single fetch
+     * @param clock              Time source
+     */
+    public JwksKeySource(URI jwksUri, HttpClient httpClient, Duration defaultTtl, Duration minRefetchInterval,
+            Duration requestTimeout, Clock clock) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.defaultTtl = defaultTtl;
+        this.minRefetchInterval = minRefetchInterval;
+        this.requestTimeout = requestTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Find the key for a token header. Tokens without a kid are matched by
+     * algorithm when exactly one known key fits.
+     *
+     * @throws UnsupportedJwtException if no key matches, even after a refetch
+     * @throws JwtException            if the keys could never be loaded
+     */
+    public PublicKey resolve(String kid, String algorithm) {
+        Snapshot current = snapshot.get();
+        if (current == null || !current.expiresAt().isAfter(clock.instant())) {
+            current = refresh(current);
+        }
+        PublicKey key = current.find(kid, algorithm);
+        if (key == null) {
+            // Unknown kid: the key may have been rotated in since the last fetch
+            current = refresh(current);
+            key = current.find(kid, algorithm);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("No verification key for kid " + kid + " and alg " + algorithm);
+        }
+        return key;
+    }
+
+    /**
+     * Fetch the keys now, e.g. at startup so the first request doesn't pay
+     * for it. Failures are logged, not thrown.
+     */
+    public void preload() {
+        try {
+            refresh(snapshot.get());
+        }
+        catch (JwtException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "JWKS preload failed: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Number of keys currently known.
+     */
+    public int size() {
+        Snapshot current = snapshot.get();
+        return current == null ? 0 : current.keys().size();
+    }
+
+    private Snapshot refresh(Snapshot seen) {
+        synchronized (refreshLock) {
+            Snapshot current = snapshot.get();
+            if (current == null ? seen != null : !current.equals(seen)) {
+                return current; // another thread refreshed while we waited
+            }
+            Instant now = clock.instant();
+            if (current != null && lastAttempt.plus(minRefetchInterval).isAfter(now)) {
+                return current;
+            }
+            lastAttempt = now;
+            try {
+                Snapshot fetched = fetch(now);
+                snapshot.set(fetched);
+                LOGGER.log(System.Logger.Level.DEBUG, "Loaded {0} keys from {1}", fetched.keys().size(), jwksUri);
+                return fetched;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return keepOrFail(current, e);
+            }
+            catch (IOException | RuntimeException e) {
+                return keepOrFail(current, e);
+            }
+        }
+    }
+
+    private Snapshot keepOrFail(Snapshot current, Exception e) {
+        if (current == null) {
+            throw new JwtException("JWKS could not be loaded from " + jwksUri + ": " + e.getMessage(), e);
+        }
+        LOGGER.log(System.Logger.Level.WARNING, "JWKS refetch from {0} failed, keeping {1} known keys: {2}",
+                jwksUri, current.keys().size(), e.getMessage());
+        return current;
+    }
+
+    private Snapshot fetch(Instant now) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        Duration ttl = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(matcher -> matcher.find())
+                .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+                .orElse(defaultTtl);
+        return new Snapshot(parse(response.body()), now.plus(ttl));
+    }
+
+    static Map<String, JwkKey> parse(String json) throws IOException {
+        JsonNode keys = MAPPER.readTree(json).path("keys");
+        if (!keys.isArray()) {
+            throw new IOException("JWKS document has no keys array");
+        }
+        Map<String, JwkKey> parsed = new LinkedHashMap<>();
+        for (JsonNode jwk : keys) {
+            String kid = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (kid == null || !"sig".equals(use)) {
+                continue;
+            }
+            try {
+                parsed.put(kid, new JwkKey(kid, jwk.path("alg").asText(null), toPublicKey(jwk)));
+            }
+            catch (GeneralSecurityException | IllegalArgumentException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Skipping JWK {0}: {1}", kid, e.getMessage());
+            }
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    private static PublicKey toPublicKey(JsonNode jwk) throws GeneralSecurityException {
+        String kty = jwk.path("kty").asText();
+        switch (kty) {
+            case "RSA":
+                return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        unsigned(jwk, "n"), unsigned(jwk, "e")));
+            case "EC":
+                if (!"P-256".equals(jwk.path("crv").asText())) {
+                    throw new GeneralSecurityException("Unsupported curve " + jwk.path("crv").asText());
+                }
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                ECPoint point = new ECPoint(unsigned(jwk, "x"), unsigned(jwk, "y"));
+                return KeyFactory.getInstance("EC").generatePublic(
+                        new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+            default:
+                throw new GeneralSecurityException("Unsupported key type " + kty);
+        }
+    }
+
+    private static BigInteger unsigned(JsonNode jwk, String member) {
+        String value = jwk.path(member).asText(null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing member " + member);
+        }
+        return new BigInteger(1, BASE64_URL.decode(value));
+    }
+
+    record JwkKey(String kid, String algorithm, PublicKey publicKey) {
+    }
+
+    private record Snapshot(Map<String, JwkKey> keys, Instant expiresAt) {
+
+        PublicKey find(String kid, String algorithm) {
+            if (kid != null) {
+                JwkKey key = keys.get(kid);
+                return key != null && matches(key, algorithm) ? key.publicKey() : null;
+            }
+            // No kid: only unambiguous when a single key has this algorithm
+            JwkKey match = null;
+            for (JwkKey key : keys.values()) {
+                if (matches(key, algorithm)) {
+                    if (match != null) {
+                        return null;
+                    }
+                    match = key;
+                }
+            }
+            return match != null ? match.publicKey() : null;
+        }
+
+        private static boolean matches(JwkKey key, String algorithm) {
+            return key.algorithm() == null || key.algorithm().equals(algorithm);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jitech.mindsync.verifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Verifies MindSync access tokens in-process, without a call to the auth
+ * service per request.
+ * <p>
+ * The parser is built once and shared; keys come from the auth service's JWKS
+ * endpoint through {@link JwksKeySource}. An optional cache of verified tokens
+ * skips the signature check for tokens seen before. Instances are thread-safe
+ * and meant to be created once per application:
+ *
+ * <pre>
+ * TokenVerifier verifier = TokenVerifier.builder()
+ *         .jwksUri(URI.create("https://auth.mindsync.my/.well-known/jwks.json"))
+ *         .cacheMaxEntries(10_000)
+ *         .build();
+ *
+ * VerifiedToken token = verifier.verify(rawToken);
+ * if (token.isValid()) {
+ *     String userId = token.getSubject();
+ * }
+ * </pre>
+ */
+public final class TokenVerifier {
+
+    private static final System.Logger LOGGER = System.getLogger(TokenVerifier.class.getName());
+
+    // Claims set by the auth service, see JwtProvider and ProfileClaims there
+    static final String SESSION_ID_CLAIM = "sid";
+    static final String PROFILE_CLAIM = "prf";
+
+    private final JwksKeySource keySource;
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
+
+    private TokenVerifier(Builder builder) {
+        this.keySource = builder.keySource != null ? builder.keySource
+                : new JwksKeySource(builder.jwksUri, builder.httpClient, builder.jwksTtl,
+                        builder.jwksMinRefetchInterval, builder.jwksRequestTimeout, builder.clock);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keySource.resolve(header.getKeyId(), header.getAlgorithm());
+                    }
+                })
+                .setAllowedClockSkewSeconds(builder.allowedClockSkew.toSeconds())
+                .setClock(() -> Date.from(builder.clock.instant()))
+                .build();
+        this.cache = builder.cacheMaxEntries > 0 ? new VerifiedTokenCache(builder.cacheMaxEntries, builder.clock)
+                : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Verify a token: one parse and signature check, or a cache lookup.
+     *
+     * @param token The raw JWT, e.g. from the jwt cookie or a Bearer header
+     * @return The verification result; never null
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.failed(VerifiedToken.FailureReason.ILLEGAL_ARGUMENT);
+        }
+        if (cache != null) {
+            VerifiedToken cached = cache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        VerifiedToken verified = parse(token);
+        if (cache != null) {
+            cache.put(token, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Fetch the signing keys now instead of on the first verification.
+     */
+    public void preloadKeys() {
+        keySource.preload();
+    }
+
+    int cacheSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return VerifiedToken.valid(
+                    claims.getSubject(),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()),
+                    claims.getId(),
+                    claims.get(SESSION_ID_CLAIM, String.class),
+                    VerifiedToken.Profile.fromClaim(claims.get(PROFILE_CLAIM)));
+        }
+        catch (ExpiredJwtException e) {
+            return failed(VerifiedToken.FailureReason.EXPIRED, e);
+        }
+        catch (MalformedJwtException e) {
+            return failed(VerifiedToken.FailureReason.MALFORMED, e);
+        }
+        catch (UnsupportedJwtException e) {
+            return failed(VerifiedToken.FailureReason.UNSUPPORTED, e);
+        }
+        catch (io.jsonwebtoken.security.SecurityException e) {
+            return failed(VerifiedToken.FailureReason.INVALID_SIGNATURE, e);
+        }
+        catch (IllegalArgumentException e) {
+            return failed(VerifiedToken.FailureReason.ILLEGAL_ARGUMENT, e);
+        }
+        catch (JwtException e) {
+            return failed(VerifiedToken.FailureReason.INVALID, e);
+        }
+    }
+
+    private static VerifiedToken failed(VerifiedToken.FailureReason reason, Exception e) {
+        LOGGER.log(System.Logger.Level.DEBUG, "Token verification failed ({0}): {1}", reason, e.getMessage());
+        return VerifiedToken.failed(reason);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    /**
+     * Settings for a {@link TokenVerifier}. Either a jwksUri or a keySource is
+     * required; everything else has a default.
+     */
+    public static final class Builder {
+
+        private URI jwksUri;
+        private JwksKeySource keySource;
+        private HttpClient httpClient;
+        private Duration jwksTtl = Duration.ofMinutes(5);
+        private Duration jwksMinRefetchInterval = Duration.ofSeconds(30);
+        private Duration jwksRequestTimeout = Duration.ofSeconds(5);
+        private Duration allowedClockSkew = Duration.ofSeconds(30);
+        private int cacheMaxEntries;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+        }
+
+        /**
+         * The auth service's JWKS endpoint, e.g. https://host/.well-known/jwks.json.
+         */
+        public Builder jwksUri(URI uri) {
+            this.jwksUri = uri;
+            return this;
+        }
+
+        /**
+         * Use an existing key source instead of creating one from jwksUri,
+         * e.g. to share it between verifiers.
+         */
+        public Builder keySource(JwksKeySource source) {
+            this.keySource = source;
+            return this;
+        }
+
+        public Builder httpClient(HttpClient client) {
+            this.httpClient = client;
+            return this;
+        }
+
+        /**
+         * How long keys are cached when the endpoint sends no max-age. Default 5 minutes.
+         */
+        public Builder jwksTtl(Duration ttl) {
+            this.jwksTtl = ttl;
+            return this;
+        }
+
+        /**
+         * Minimum time between two JWKS fetches, also for unknown kids. Default 30 seconds.
+         */
+        public Builder jwksMinRefetchInterval(Duration interval) {
+            this.jwksMinRefetchInterval = interval;
+            return this;
+        }
+
+        public Builder jwksRequestTimeout(Duration timeout) {
+            this.jwksRequestTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Tolerance for clock differences on exp / nbf. Default 30 seconds.
+         */
+        public Builder allowedClockSkew(Duration skew) {
+            this.allowedClockSkew = skew;
+            return this;
+        }
+
+        /**
+         * Size of the verified-token cache; 0 (the default) disables it.
+         */
+        public Builder cacheMaxEntries(int maxEntries) {
+            this.cacheMaxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder clock(Clock timeSource) {
+            this.clock = timeSource;
+            return this;
+        }
+
+        public TokenVerifier build() {
+            if (keySource == null && jwksUri == null) {
+                throw new IllegalStateException("jwksUri or keySource is required");
+            }
+            if (keySource == null && httpClient == null) {
+                httpClient = HttpClient.newBuilder()
+                        .connectTimeout(jwksRequestTimeout)
+                        .build();
+            }
+            return new TokenVerifier(this);
+        }
+    }
+}
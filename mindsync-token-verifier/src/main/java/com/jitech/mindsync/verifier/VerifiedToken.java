@@ -0,0 +1,130 @@
+package com.jitech.mindsync.verifier;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Result of verifying a MindSync access token: the claims a consumer needs,
+ * or the reason verification failed. Instances are immutable. The auth
+ * service uses the same type for its own verifications.
+ */
+public final class VerifiedToken {
+
+    public enum FailureReason {
+        NONE,
+        EXPIRED,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID_SIGNATURE,
+        ILLEGAL_ARGUMENT,
+        INVALID
+    }
+
+    /**
+     * Profile fields embedded by the auth service (the "prf" claim, version 1).
+     * partial is true when fields were left out to keep the token small; fetch
+     * the full profile in that case.
+     */
+    public record Profile(String name, String gender, String occupation, String workRmt, boolean partial) {
+
+        static final int VERSION = 1;
+
+        /**
+         * Read the "prf" claim, or null when it is missing or of another version.
+         */
+        public static Profile fromClaim(Object value) {
+            if (!(value instanceof Map<?, ?> claim) || !(claim.get("v") instanceof Number version)
+                    || version.intValue() != VERSION) {
+                return null;
+            }
+            return new Profile(
+                    asString(claim.get("name")),
+                    asString(claim.get("gender")),
+                    asString(claim.get("occupation")),
+                    asString(claim.get("work_rmt")),
+                    Boolean.TRUE.equals(claim.get("partial")));
+        }
+
+        private static String asString(Object value) {
+            return value instanceof String s ? s : null;
+        }
+    }
+
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final String tokenId;
+    private final String sessionId;
+    private final Profile profile;
+    private final FailureReason failureReason;
+
+    private VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, String tokenId, String sessionId,
+            Profile profile, FailureReason failureReason) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.tokenId = tokenId;
+        this.sessionId = sessionId;
+        this.profile = profile;
+        this.failureReason = failureReason;
+    }
+
+    public static VerifiedToken valid(String subject, Instant issuedAt, Instant expiresAt, String tokenId) {
+        return valid(subject, issuedAt, expiresAt, tokenId, null, null);
+    }
+
+    public static VerifiedToken valid(String subject, Instant issuedAt, Instant expiresAt, String tokenId,
+            String sessionId) {
+        return valid(subject, issuedAt, expiresAt, tokenId, sessionId, null);
+    }
+
+    public static VerifiedToken valid(String subject, Instant issuedAt, Instant expiresAt, String tokenId,
+            String sessionId, Profile profile) {
+        return new VerifiedToken(subject, issuedAt, expiresAt, tokenId, sessionId, profile, FailureReason.NONE);
+    }
+
+    public static VerifiedToken failed(FailureReason reason) {
+        return new VerifiedToken(null, null, null, null, null, null, reason);
+    }
+
+    public boolean isValid() {
+        return failureReason == FailureReason.NONE;
+    }
+
+    /**
+     * The user id the token was issued to.
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * The session (refresh token family) the token belongs to, or null.
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Embedded profile fields, or null when the token carries none.
+     */
+    public Profile getProfile() {
+        return profile;
+    }
+
+    public FailureReason getFailureReason() {
+        return failureReason;
+    }
+}
@@ -0,0 +1,132 @@
+package com.jitech.mindsync.verifier;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of successfully verified tokens, keyed by a SHA-256 hash of
+ * the raw token (the token itself is never stored) and kept until the token
+ * expires. Used by {@link TokenVerifier} and by the auth service, which
+ * exports metrics through a {@link Listener}.
+ */
+public final class VerifiedTokenCache {
+
+    /**
+     * Told about every lookup and eviction, e.g. to count them. Called on the
+     * caller's thread, so implementations must be cheap and thread-safe.
+     */
+    public interface Listener {
+
+        Listener NONE = new Listener() {
+        };
+
+        default void onHit() {
+        }
+
+        default void onMiss() {
+        }
+
+        /**
+         * @param expired true if the token had expired, false if it was dropped to make room
+         */
+        default void onEviction(boolean expired) {
+        }
+    }
+
+    // Evict down to 90% of capacity so a full cache is not scanned on every put
+    private static final double EVICTION_TARGET_RATIO = 0.9;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Listener listener;
+    private final Map<TokenKey, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        this(maxEntries, clock, Listener.NONE);
+    }
+
+    public VerifiedTokenCache(int maxEntries, Clock clock, Listener listener) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    /**
+     * @return The cached result for a token, or null on a miss
+     */
+    public VerifiedToken get(String token) {
+        TokenKey key = keyOf(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            listener.onMiss();
+            return null;
+        }
+        if (!cached.getExpiresAt().isAfter(clock.instant())) {
+            if (entries.remove(key, cached)) {
+                listener.onEviction(true);
+            }
+            listener.onMiss();
+            return null;
+        }
+        listener.onHit();
+        return cached;
+    }
+
+    /**
+     * Remember a result. Only valid tokens with an expiry are cached;
+     * failures always go back through full verification.
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (!verified.isValid() || verified.getExpiresAt() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(keyOf(token), verified);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        int target = (int) (maxEntries * EVICTION_TARGET_RATIO);
+        Iterator<VerifiedToken> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            VerifiedToken entry = iterator.next();
+            boolean expired = !entry.getExpiresAt().isAfter(clock.instant());
+            if (expired || entries.size() > target) {
+                iterator.remove();
+                listener.onEviction(expired);
+            }
+        }
+    }
+
+    private static TokenKey keyOf(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenKey(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * First 128 bits of the token's SHA-256 hash.
+     */
+    private record TokenKey(long high, long low) {
+    }
+}
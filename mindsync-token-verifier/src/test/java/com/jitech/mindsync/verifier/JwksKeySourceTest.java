@@ -0,0 +1,187 @@
+package com.jitech.mindsync.verifier;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwksKeySource Unit Tests")
+class JwksKeySourceTest {
+
+    private JwksServer server;
+    private MutableClock clock;
+    private KeyPair rsaKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new JwksServer();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        rsaKey = generator.generateKeyPair();
+        server.serve(Map.of("kid-1", rsaKey));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private JwksKeySource keySource(Duration minRefetchInterval) {
+        return new JwksKeySource(server.uri(), HttpClient.newHttpClient(), Duration.ofMinutes(5),
+                minRefetchInterval, Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    @DisplayName("Should fetch once and serve later lookups from the cache")
+    void resolve_ShouldCacheKeys() {
+        JwksKeySource keySource = keySource(Duration.ofSeconds(30));
+
+        assertThat(keySource.resolve("kid-1", "RS256")).isEqualTo(rsaKey.getPublic());
+        assertThat(keySource.resolve("kid-1", "RS256")).isEqualTo(rsaKey.getPublic());
+        assertThat(server.requests()).isEqualTo(1);
+        assertThat(keySource.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refetch after the Cache-Control max-age")
+    void resolve_AfterMaxAge_ShouldRefetch() {
+        server.cacheControl("public, max-age=60");
+        JwksKeySource keySource = keySource(Duration.ZERO);
+        keySource.resolve("kid-1", "RS256");
+
+        clock.advance(Duration.ofSeconds(59));
+        keySource.resolve("kid-1", "RS256");
+        assertThat(server.requests()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(2));
+        keySource.resolve("kid-1", "RS256");
+        assertThat(server.requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refetch once for an unknown kid to pick up a rotated key")
+    void resolve_WithRotatedKey_ShouldRefetch() throws Exception {
+        JwksKeySource keySource = keySource(Duration.ZERO);
+        keySource.resolve("kid-1", "RS256");
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ecKey = generator.generateKeyPair();
+        server.serve(Map.of("kid-1", rsaKey, "kid-2", ecKey));
+
+        assertThat(keySource.resolve("kid-2", "ES256")).isEqualTo(ecKey.getPublic());
+        assertThat(server.requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should rate limit refetches for unknown kids")
+    void resolve_WithUnknownKids_ShouldNotRefetchWithinInterval() {
+        JwksKeySource keySource = keySource(Duration.ofSeconds(30));
+        keySource.resolve("kid-1", "RS256");
+
+        for (int i = 0; i < 5; i++) {
+            String kid = "forged-" + i;
+            assertThatThrownBy(() -> keySource.resolve(kid, "RS256")).isInstanceOf(UnsupportedJwtException.class);
+        }
+        assertThat(server.requests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a kid whose key has another algorithm")
+    void resolve_WithAlgorithmMismatch_ShouldThrow() {
+        JwksKeySource keySource = keySource(Duration.ofSeconds(30));
+
+        assertThatThrownBy(() -> keySource.resolve("kid-1", "ES256")).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should match a token without kid by algorithm")
+    void resolve_WithoutKid_ShouldMatchSingleKeyByAlgorithm() {
+        JwksKeySource keySource = keySource(Duration.ofSeconds(30));
+
+        assertThat(keySource.resolve(null, "RS256")).isEqualTo(rsaKey.getPublic());
+    }
+
+    @Test
+    @DisplayName("Should keep known keys when a refetch fails")
+    void resolve_WhenRefetchFails_ShouldKeepKnownKeys() {
+        server.cacheControl("max-age=1");
+        JwksKeySource keySource = keySource(Duration.ZERO);
+        keySource.resolve("kid-1", "RS256");
+
+        server.status(503);
+        clock.advance(Duration.ofSeconds(5));
+
+        assertThat(keySource.resolve("kid-1", "RS256")).isEqualTo(rsaKey.getPublic());
+        assertThat(server.requests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail when keys were never loaded")
+    void resolve_WhenFirstFetchFails_ShouldThrow() {
+        server.status(500);
+        JwksKeySource keySource = keySource(Duration.ZERO);
+
+        assertThatThrownBy(() -> keySource.resolve("kid-1", "RS256")).isInstanceOf(JwtException.class);
+        keySource.preload(); // logs, does not throw
+        assertThat(keySource.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip unsupported and encryption keys")
+    void parse_ShouldSkipUnusableKeys() throws Exception {
+        server.serveRaw("{\"keys\":[{\"kty\":\"oct\",\"kid\":\"a\",\"k\":\"AA\"},"
+                + "{\"kty\":\"RSA\",\"kid\":\"b\",\"use\":\"enc\",\"n\":\"AQAB\",\"e\":\"AQAB\"},"
+                + "{\"kty\":\"RSA\",\"n\":\"AQAB\",\"e\":\"AQAB\"}]}");
+        JwksKeySource keySource = keySource(Duration.ZERO);
+
+        keySource.preload();
+
+        assertThat(keySource.size()).isZero();
+        assertThatThrownBy(() -> JwksKeySource.parse("{}")).isInstanceOf(java.io.IOException.class);
+    }
+
+    static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.jitech.mindsync.verifier;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal JWKS endpoint for tests, serving whatever keys it is given.
+ */
+final class JwksServer implements AutoCloseable {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String body = "{\"keys\":[]}";
+    private volatile String cacheControl;
+    private volatile int status = 200;
+
+    JwksServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (cacheControl != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+    }
+
+    /**
+     * Serve the given keys, kid -> key pair. The alg is RS256 or ES256 by key type.
+     */
+    void serve(Map<String, KeyPair> keys) {
+        StringJoiner joiner = new StringJoiner(",", "{\"keys\":[", "]}");
+        keys.forEach((kid, keyPair) -> joiner.add(jwk(kid, keyPair)));
+        body = joiner.toString();
+    }
+
+    void serveRaw(String json) {
+        body = json;
+    }
+
+    void cacheControl(String value) {
+        cacheControl = value;
+    }
+
+    void status(int value) {
+        status = value;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static String jwk(String kid, KeyPair keyPair) {
+        if (keyPair.getPublic() instanceof RSAPublicKey rsa) {
+            return "{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"RS256\",\"n\":\""
+                    + unsigned(rsa.getModulus()) + "\",\"e\":\"" + unsigned(rsa.getPublicExponent()) + "\"}";
+        }
+        ECPublicKey ec = (ECPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"EC\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"alg\":\"ES256\",\"crv\":\"P-256\",\"x\":\""
+                + unsigned(ec.getW().getAffineX()) + "\",\"y\":\"" + unsigned(ec.getW().getAffineY()) + "\"}";
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+}
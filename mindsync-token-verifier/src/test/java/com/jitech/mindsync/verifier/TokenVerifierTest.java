@@ -0,0 +1,178 @@
+package com.jitech.mindsync.verifier;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenVerifier Unit Tests")
+class TokenVerifierTest {
+
+    private static final String USER_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private JwksServer server;
+    private KeyPair signingKey;
+    private KeyPair otherKey;
+    private TokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new JwksServer();
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        signingKey = generator.generateKeyPair();
+        otherKey = generator.generateKeyPair();
+        server.serve(Map.of("kid-1", signingKey));
+        verifier = TokenVerifier.builder()
+                .jwksUri(server.uri())
+                .cacheMaxEntries(100)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private static String token(KeyPair keyPair, String kid, Instant expiresAt, Map<String, Object> claims) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .addClaims(claims)
+                .setSubject(USER_ID)
+                .setId("jti-1")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(expiresAt))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("Should return the claims of a valid token")
+    void verify_WithValidToken_ShouldReturnClaims() {
+        String token = token(signingKey, "kid-1", Instant.now().plusSeconds(900), Map.of(
+                "sid", "family-1",
+                "prf", Map.of("v", 1, "name", "Test User", "gender", "Male", "partial", true)));
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.getSubject()).isEqualTo(USER_ID);
+        assertThat(verified.getTokenId()).isEqualTo("jti-1");
+        assertThat(verified.getSessionId()).isEqualTo("family-1");
+        assertThat(verified.getIssuedAt()).isNotNull();
+        assertThat(verified.getExpiresAt()).isAfter(Instant.now());
+        assertThat(verified.getProfile())
+                .isEqualTo(new VerifiedToken.Profile("Test User", "Male", null, null, true));
+    }
+
+    @Test
+    @DisplayName("Should ignore profile claims of an unknown version")
+    void verify_WithUnknownProfileVersion_ShouldOmitProfile() {
+        String token = token(signingKey, "kid-1", Instant.now().plusSeconds(900),
+                Map.of("prf", Map.of("v", 2, "name", "Test User")));
+
+        assertThat(verifier.verify(token).getProfile()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated tokens from the cache")
+    void verify_SameTokenTwice_ShouldUseCache() {
+        String token = token(signingKey, "kid-1", Instant.now().plusSeconds(900), Map.of());
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifier.cacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache failed verifications")
+    void verify_WithInvalidToken_ShouldNotCache() {
+        String token = token(otherKey, "kid-1", Instant.now().plusSeconds(900), Map.of());
+
+        assertThat(verifier.verify(token).getFailureReason())
+                .isEqualTo(VerifiedToken.FailureReason.INVALID_SIGNATURE);
+        assertThat(verifier.cacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report expired tokens")
+    void verify_WithExpiredToken_ShouldReportExpired() {
+        String token = token(signingKey, "kid-1", Instant.now().minusSeconds(300), Map.of());
+
+        assertThat(verifier.verify(token).getFailureReason()).isEqualTo(VerifiedToken.FailureReason.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("Should report tokens signed with an unknown key")
+    void verify_WithUnknownKid_ShouldReportUnsupported() {
+        String token = token(otherKey, "kid-unknown", Instant.now().plusSeconds(900), Map.of());
+
+        assertThat(verifier.verify(token).getFailureReason()).isEqualTo(VerifiedToken.FailureReason.UNSUPPORTED);
+    }
+
+    @Test
+    @DisplayName("Should report malformed and missing tokens")
+    void verify_WithMalformedOrMissingToken_ShouldFail() {
+        assertThat(verifier.verify("not.a.token").getFailureReason())
+                .isEqualTo(VerifiedToken.FailureReason.MALFORMED);
+        assertThat(verifier.verify(null).getFailureReason())
+                .isEqualTo(VerifiedToken.FailureReason.ILLEGAL_ARGUMENT);
+        assertThat(verifier.verify(" ").isValid()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report tokens when the keys cannot be loaded")
+    void verify_WhenJwksUnavailable_ShouldReportInvalid() {
+        server.status(503);
+        TokenVerifier unavailable = TokenVerifier.builder()
+                .jwksUri(server.uri())
+                .jwksTtl(Duration.ofSeconds(1))
+                .build();
+
+        VerifiedToken verified = unavailable.verify(token(signingKey, "kid-1", Instant.now().plusSeconds(900),
+                Map.of()));
+
+        assertThat(verified.getFailureReason()).isEqualTo(VerifiedToken.FailureReason.INVALID);
+        assertThat(verified.getSubject()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should preload keys and share a key source")
+    void preloadKeys_ShouldFetchBeforeFirstVerification() {
+        verifier.preloadKeys();
+        assertThat(server.requests()).isEqualTo(1);
+
+        JwksKeySource shared = new JwksKeySource(server.uri(), java.net.http.HttpClient.newHttpClient(),
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(5), java.time.Clock.systemUTC());
+        TokenVerifier withShared = TokenVerifier.builder().keySource(shared).build();
+        assertThat(withShared.verify(token(signingKey, "kid-1", Instant.now().plusSeconds(900), Map.of()))
+                .isValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should require a JWKS location")
+    void build_WithoutJwksUri_ShouldThrow() {
+        assertThatThrownBy(() -> TokenVerifier.builder().build()).isInstanceOf(IllegalStateException.class);
+        assertThat(TokenVerifier.builder().jwksUri(URI.create("http://localhost/jwks.json"))
+                .allowedClockSkew(Duration.ZERO)
+                .jwksRequestTimeout(Duration.ofSeconds(1))
+                .jwksMinRefetchInterval(Duration.ofSeconds(1))
+                .build()).isNotNull();
+    }
+}
@@ -1,13 +0,0 @@
-package com.jitech.mindsync.repository;
-
-import com.jitech.mindsync.model.Users;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-import java.util.Optional;
-import java.util.UUID;
-
-@Repository
-public interface UserRepository extends JpaRepository<Users, UUID> {
-    Optional<Users> findByEmail(String email);
-    Optional<Users> findByUsername(String username);
-}
\ No newline at end of file